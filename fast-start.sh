@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Fast-start build for the Banking API: Spring AOT (prod profile) + a CDS class archive.
+#
+#   ./fast-start.sh                 # build, train, write target/fast-start/app.args
+#   java @target/fast-start/app.args
+#
+# The archive is only valid for the JDK and the exact classpath it was created with,
+# so re-run this script after every build or JDK change.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+OUT="$(pwd)/target/fast-start"
+MAIN=com.banking.accountmanagementapis.AccountManagementApisApplication
+
+echo "Building with AOT processing..."
+rm -rf "$OUT"
+mvn -B -q -Pfast-start clean package -DskipTests
+
+# CDS can only archive classes from jar files, so run from the plain (not repackaged) jar
+cp target/account-management-apis-1.0.0.jar.original "$OUT/app.jar"
+CLASSPATH="$OUT/app.jar"
+for jar in "$OUT"/lib/*.jar; do
+    CLASSPATH="$CLASSPATH:$jar"
+done
+
+echo "Training run to record loaded classes..."
+"$JAVA" -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Xlog:cds=off \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -cp "$CLASSPATH" "$MAIN" \
+    --spring.profiles.active=prod \
+    --spring.datasource.url="jdbc:sqlite:$OUT/training.db" \
+    --logging.file.name="$OUT/training.log"
+rm -f "$OUT"/training.db*
+
+cat > "$OUT/app.args" <<EOF
+-XX:SharedArchiveFile=$OUT/app.jsa
+-Dspring.aot.enabled=true
+-Dspring.profiles.active=prod
+-cp $CLASSPATH
+$MAIN
+EOF
+
+echo "Done. Start with: java @target/fast-start/app.args"
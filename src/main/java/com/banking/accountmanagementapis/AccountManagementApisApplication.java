@@ -2,6 +2,7 @@ package com.banking.accountmanagementapis;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Main Spring Boot Application class for Banking Account Management APIs.
@@ -11,8 +12,17 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class AccountManagementApisApplication {
 
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
         System.out.println("Starting Banking Account Management APIs...");
-        SpringApplication.run(AccountManagementApisApplication.class, args);
+        SpringApplication application = new SpringApplication(AccountManagementApisApplication.class);
+        // Startup steps have to be recorded before the environment exists, so this is an
+        // env var / system property rather than an application property
+        if (Boolean.getBoolean("banking.startup-report")
+                || Boolean.parseBoolean(System.getenv("BANKING_STARTUP_REPORT"))) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        }
+        application.run(args);
     }
-}
\ No newline at end of file
+}
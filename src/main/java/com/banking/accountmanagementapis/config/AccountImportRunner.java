@@ -0,0 +1,38 @@
+package com.banking.accountmanagementapis.config;
+
+import com.banking.accountmanagementapis.service.AccountImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs a bulk account import at startup when {@code banking.import.file} is set, e.g.
+ *
+ * <pre>
+ * java -jar account-management-apis.jar --spring.main.web-application-type=none \
+ *      --banking.sample-data.enabled=false --banking.import.file=/data/legacy-accounts.csv
+ * </pre>
+ *
+ * Re-running the same command after an interruption resumes from the checkpoint.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "banking.import.file")
+public class AccountImportRunner implements CommandLineRunner {
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Value("${banking.import.file}")
+    private Path importFile;
+
+    @Override
+    public void run(String... args) throws Exception {
+        accountImportService.importFile(importFile);
+    }
+}
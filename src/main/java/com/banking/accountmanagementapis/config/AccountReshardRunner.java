@@ -0,0 +1,45 @@
+package com.banking.accountmanagementapis.config;
+
+import com.banking.accountmanagementapis.service.AccountReshardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Re-shards existing databases at startup when {@code banking.reshard.source} is set, e.g.
+ * moving a single-file database onto four shards:
+ *
+ * <pre>
+ * java -jar account-management-apis.jar --spring.main.web-application-type=none \
+ *      --banking.sample-data.enabled=false --banking.outbox.relay.enabled=false \
+ *      --banking.sharding.enabled=true --banking.sharding.shards=4 \
+ *      --banking.sharding.url=jdbc:sqlite:/data/banking_accounts.shard{shard}.db \
+ *      --banking.reshard.source=/data/banking_accounts.db
+ * </pre>
+ *
+ * The files of an existing shard set are listed comma-separated in shard order. Sources are
+ * only read; the application must not be running against them, and must have migrated them
+ * to the current schema.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "banking.reshard.source")
+public class AccountReshardRunner implements CommandLineRunner {
+
+    @Autowired
+    private AccountReshardService accountReshardService;
+
+    @Value("${banking.reshard.source}")
+    private List<String> sourceFiles;
+
+    @Override
+    public void run(String... args) throws Exception {
+        accountReshardService.reshard(sourceFiles.stream().map(file -> Path.of(file.trim())).toList());
+    }
+}
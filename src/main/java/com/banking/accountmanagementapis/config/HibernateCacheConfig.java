@@ -0,0 +1,79 @@
+package com.banking.accountmanagementapis.config;
+
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache for accounts, on in-memory Caffeine caches.
+ *
+ * Accounts, their metadata collections and the results of the cacheable AccountRepository
+ * queries each get a region bounded to {@code banking.cache.*.max-entries} entries, which
+ * expire {@code banking.cache.*.ttl} after they were written. Changes made through Hibernate
+ * keep the regions current by themselves; JDBC writes evict through AccountCacheService.
+ *
+ * The caches are created here rather than on demand, so a region without settings fails
+ * at startup instead of growing unbounded. Hibernate closes the cache manager with the
+ * session factory.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(
+            @Value("${banking.cache.account.max-entries:10000}") long accountMaxEntries,
+            @Value("${banking.cache.account.ttl:10m}") Duration accountTtl,
+            @Value("${banking.cache.query.max-entries:1000}") long queryMaxEntries,
+            @Value("${banking.cache.query.ttl:1m}") Duration queryTtl) {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+            createCache(cacheManager, Account.CACHE_REGION, accountMaxEntries, accountTtl);
+            createCache(cacheManager, Account.METADATA_CACHE_REGION, accountMaxEntries, accountTtl);
+            createCache(cacheManager, AccountRepository.QUERY_CACHE_REGION, queryMaxEntries, queryTtl);
+            // Hibernate always creates the default query region, though no query here uses it
+            createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxEntries, queryTtl);
+            // One entry per table; evicting or expiring one would let stale query results through
+            createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null, null);
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            // Per-region hit and miss counts for AccountCacheService's report
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, Long maxEntries, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate's cache entries are immutable; copying them on every get and put buys nothing
+        configuration.setStoreByValue(false);
+        if (maxEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.accountmanagementapis.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson settings that cannot be expressed in application.properties.
+ *
+ * Jackson's default buffer recycling is per thread, which gives every virtual thread its own
+ * fresh set of output buffers. A shared bounded pool hands the same buffers to whichever
+ * thread is writing a response, so encoding a page never starts from cold buffers.
+ *
+ * Service-to-service callers can ask for CBOR ({@code Accept: application/cbor}) or Smile
+ * ({@code Accept: application/x-jackson-smile}) instead of JSON. Both converters are built
+ * from the same configured builder as the JSON one, so the model, inclusion rules and date
+ * handling are identical; JSON stays first and is what clients get by default.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer pooledBufferCustomizer() {
+        return builder -> builder.factory(JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.sharedBoundedPool())
+            .build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+            .factory(CBORFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build())
+            .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder
+            .factory(SmileFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build())
+            .build());
+    }
+}
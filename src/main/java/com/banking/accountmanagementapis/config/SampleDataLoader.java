@@ -3,33 +3,53 @@ package com.banking.accountmanagementapis.config;
 import com.banking.accountmanagementapis.entity.Account;
 import com.banking.accountmanagementapis.dto.*;
 import com.banking.accountmanagementapis.repository.AccountRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.banking.accountmanagementapis.service.AccountAggregateService;
+import com.banking.accountmanagementapis.service.AccountCustomerSketchService;
+import com.banking.accountmanagementapis.service.AccountLeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Sample Data Loader - Creates sample accounts when the application starts
+ * Sample Data Loader - Creates sample accounts when the application starts.
+ * Disable with {@code banking.sample-data.enabled=false}.
+ *
+ * Each account is saved in its own transaction on its customer's shard.
  */
 @Component
+@ConditionalOnProperty(name = "banking.sample-data.enabled", havingValue = "true", matchIfMissing = true)
 public class SampleDataLoader implements CommandLineRunner {
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private AccountCustomerSketchService customerSketchService;
+
+    @Autowired
+    private AccountLeaderboardService leaderboardService;
+
     @Override
-    @Transactional
     public void run(String... args) throws Exception {
-        if (accountRepository.count() == 0) {
+        if (countAccounts() == 0) {
             System.out.println("🏦 Creating sample banking data...");
             createSampleAccounts();
             System.out.println("✅ Sample data created successfully!");
-            System.out.println("📊 Total accounts created: " + accountRepository.count());
+            System.out.println("📊 Total accounts created: " + countAccounts());
         } else {
             System.out.println("📋 Database already contains data. Skipping sample data creation.");
         }
@@ -56,7 +76,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account1.setAccountNickname("Primary Checking");
         account1.setBranchId("NYC-001");
         account1.setMetadata(metadata1);
-        accountRepository.save(account1);
+        save(account1);
 
         // Account 2 - Jane Doe - Savings Account
         Map<String, String> metadata2 = new HashMap<>();
@@ -79,7 +99,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account2.setAccountNickname("Emergency Fund");
         account2.setBranchId("LA-002");
         account2.setMetadata(metadata2);
-        accountRepository.save(account2);
+        save(account2);
 
         // Account 3 - Robert Johnson - Money Market Account
         Map<String, String> metadata3 = new HashMap<>();
@@ -102,7 +122,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account3.setAccountNickname("Investment Fund");
         account3.setBranchId("CHI-003");
         account3.setMetadata(metadata3);
-        accountRepository.save(account3);
+        save(account3);
 
         // Account 4 - John Smith's Second Account (Savings)
         Map<String, String> metadata4 = new HashMap<>();
@@ -125,7 +145,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account4.setAccountNickname("Vacation Fund");
         account4.setBranchId("NYC-001");
         account4.setMetadata(metadata4);
-        accountRepository.save(account4);
+        save(account4);
 
         // Account 5 - Maria Garcia - Certificate of Deposit
         Map<String, String> metadata5 = new HashMap<>();
@@ -149,7 +169,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account5.setAccountNickname("5-Year CD");
         account5.setBranchId("MIA-004");
         account5.setMetadata(metadata5);
-        accountRepository.save(account5);
+        save(account5);
 
         // Account 6 - David Wilson - Investment Account
         Map<String, String> metadata6 = new HashMap<>();
@@ -172,7 +192,7 @@ public class SampleDataLoader implements CommandLineRunner {
         account6.setAccountNickname("Retirement Portfolio");
         account6.setBranchId("SF-005");
         account6.setMetadata(metadata6);
-        accountRepository.save(account6);
+        save(account6);
 
         System.out.println("📝 Sample accounts created:");
         System.out.println("   • John Smith: Checking ($1,500) + Savings ($2,500)");
@@ -183,6 +203,23 @@ public class SampleDataLoader implements CommandLineRunner {
         System.out.println("   💰 Total sample funds: $59,000");
     }
 
+    private long countAccounts() {
+        long count = 0;
+        for (long shardCount : shardRouter.onEveryShard(shard -> accountRepository.count())) {
+            count += shardCount;
+        }
+        return count;
+    }
+
+    private void save(Account account) {
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(account.getCustomerId())) {
+            accountRepository.save(account);
+        }
+        aggregateService.added(List.of(account));
+        customerSketchService.added(List.of(account));
+        leaderboardService.added(List.of(account));
+    }
+
     private String generateAccountNumber() {
         // Generate a simple 10-digit account number
         return String.format("%010d", (int) (Math.random() * 1000000000));
@@ -0,0 +1,167 @@
+package com.banking.accountmanagementapis.config;
+
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharded persistence: accounts are spread over {@code banking.sharding.shards} SQLite files,
+ * each with its own connection pool and so its own writer lock.
+ *
+ * The application DataSource routes every connection to the shard that
+ * {@link AccountShardRouter} selected for the current thread. It hands out connections lazily,
+ * so a transaction - JPA or JDBC - does not touch a shard until its first statement, by which
+ * time the service has selected one. Using a connection with no shard selected fails rather
+ * than silently landing on some default shard.
+ *
+ * Flyway migrates every shard; Hibernate's own schema update is switched off because it only
+ * sees the routing DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(Environment environment, AccountShardRouter shardRouter) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            // Every shard gets the pool settings of spring.datasource.hikari, SQLite pragmas included
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setJdbcUrl(shardRouter.jdbcUrl(shard));
+            dataSource.setDriverClassName(environment.getProperty("spring.datasource.driver-class-name"));
+            dataSource.setPoolName("banking-shard-" + shard);
+            shards.add(dataSource);
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, new SqliteTransactionModeConfig.TransactionModeDataSource(shards.get(shard)));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.afterPropertiesSet();
+
+        // Known defaults, so the proxy does not open a connection (with no shard selected) to look them up
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    /**
+     * What Flyway's auto-configuration inspects; the migration strategy below covers every shard
+     */
+    @Bean
+    @FlywayDataSource
+    public DataSource flywayDataSource(ShardDataSources shards) {
+        return shards.get(0);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardDataSources shards) {
+        return flyway -> {
+            for (int shard = 0; shard < shards.size(); shard++) {
+                Flyway.configure().configuration(flyway.getConfiguration())
+                    .dataSource(shards.get(shard))
+                    .load()
+                    .migrate();
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaManagement() {
+        return properties -> {
+            properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            // The dialect is configured, so Hibernate need not open a connection to inspect the database
+            properties.put("hibernate.temp.use_jdbc_metadata_defaults", false);
+        };
+    }
+
+    /**
+     * Replaces the default database health check, which would open an unrouted connection
+     */
+    @Bean
+    public HealthContributor dbHealthContributor(ShardDataSources shards) {
+        Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            contributors.put("shard" + shard, new DataSourceHealthIndicator(shards.get(shard)));
+        }
+        return CompositeHealthContributor.fromMap(contributors);
+    }
+
+    /**
+     * The per-shard connection pools, in shard order
+     */
+    public static final class ShardDataSources {
+
+        private final List<HikariDataSource> shards;
+
+        ShardDataSources(List<HikariDataSource> shards) {
+            this.shards = shards;
+        }
+
+        public int size() {
+            return shards.size();
+        }
+
+        public HikariDataSource get(int shard) {
+            return shards.get(shard);
+        }
+
+        public void close() {
+            for (HikariDataSource shard : shards) {
+                shard.close();
+            }
+        }
+    }
+
+    private static final class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return AccountShardRouter.currentShard();
+        }
+
+        @Override
+        protected DataSource determineTargetDataSource() {
+            if (AccountShardRouter.currentShard() == null) {
+                throw new IllegalStateException("No account shard selected for this connection; " +
+                    "select one with AccountShardRouter before the first statement");
+            }
+            return super.determineTargetDataSource();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.banking.accountmanagementapis.config;
+
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Starts read-write SQLite transactions with BEGIN IMMEDIATE.
+ *
+ * A default (deferred) transaction that reads first and writes later - findById followed
+ * by save in AccountService - only asks for the write lock at the first write. If another
+ * connection has committed in between, SQLite fails that upgrade straight away with
+ * SQLITE_BUSY / SQLITE_BUSY_SNAPSHOT instead of waiting out the busy timeout. Taking the
+ * write lock at BEGIN makes concurrent writers queue on the busy timeout instead.
+ *
+ * Read-only transactions (Spring marks their connection read-only before BEGIN) stay
+ * deferred so readers never contend for the write lock.
+ *
+ * The sharded DataSource (see {@link ShardingConfig}) wraps each of its shards itself: its
+ * connections are only bound to a shard on first use, so they must not be inspected here.
+ */
+@Configuration
+public class SqliteTransactionModeConfig {
+
+    @Bean
+    public static BeanPostProcessor sqliteTransactionModePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TransactionModeDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new TransactionModeDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Hands out connections that pick the SQLite transaction mode when auto-commit is turned off
+     */
+    static class TransactionModeDataSource extends DelegatingDataSource {
+
+        TransactionModeDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) throws SQLException {
+            if (!connection.isWrapperFor(SQLiteConnection.class)) {
+                return connection;
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new TransactionModeHandler(connection));
+        }
+    }
+
+    private static final class TransactionModeHandler implements InvocationHandler {
+
+        private final Connection target;
+        private boolean readOnly;
+
+        TransactionModeHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "setReadOnly":
+                    // The SQLite driver rejects read-only changes on an open connection, but the
+                    // intent is all that is needed here
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly;
+                case "setAutoCommit":
+                    // The driver builds BEGIN from the connection config when auto-commit goes off
+                    if (!((Boolean) args[0])) {
+                        setTransactionMode(readOnly
+                            ? SQLiteConfig.TransactionMode.DEFERRED
+                            : SQLiteConfig.TransactionMode.IMMEDIATE);
+                    }
+                    break;
+                case "commit":
+                case "rollback":
+                    // The driver begins the next transaction straight after ending this one; that
+                    // one must not hold the write lock until the pool turns auto-commit back on
+                    if (args == null) {
+                        setTransactionMode(SQLiteConfig.TransactionMode.DEFERRED);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private void setTransactionMode(SQLiteConfig.TransactionMode mode) throws SQLException {
+            target.unwrap(SQLiteConnection.class).getConnectionConfig().setTransactionMode(mode);
+        }
+    }
+}
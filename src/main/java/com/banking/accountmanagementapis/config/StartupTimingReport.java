@@ -0,0 +1,133 @@
+package com.banking.accountmanagementapis.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs where startup time went - per phase and for the slowest beans - once the
+ * application is ready. Only active when started with {@code BANKING_STARTUP_REPORT=true}
+ * (or {@code -Dbanking.startup-report=true}), which makes main() record startup steps.
+ *
+ * Bean times are reported both including and excluding the beans created while
+ * resolving their dependencies ("self").
+ */
+@Component
+public class StartupTimingReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    private static final int TOP_BEANS = 25;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        logger.info("Startup timing report (ready in {} ms):{}",
+            event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+            format(buffering.getBufferedTimeline()));
+    }
+
+    private String format(StartupTimeline timeline) {
+        Map<String, PhaseTotal> phases = new LinkedHashMap<>();
+        List<BeanTiming> beans = new ArrayList<>();
+        Map<Long, BeanTiming> beansByStepId = new HashMap<>();
+
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            long nanos = event.getDuration().toNanos();
+            if (BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                BeanTiming bean = new BeanTiming(tag(step, "beanName"), nanos);
+                beans.add(bean);
+                beansByStepId.put(step.getId(), bean);
+            } else {
+                phases.computeIfAbsent(step.getName(), name -> new PhaseTotal()).add(nanos);
+            }
+        }
+        // Subtract nested bean creation (dependencies) from the bean that triggered it
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            BeanTiming parent = step.getParentId() != null ? beansByStepId.get(step.getParentId()) : null;
+            if (parent != null && BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                parent.selfNanos -= event.getDuration().toNanos();
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-60s %6s %10s%n", "phase", "count", "total ms"));
+        phases.entrySet().stream()
+            .sorted(Map.Entry.<String, PhaseTotal>comparingByValue(
+                Comparator.comparingLong(PhaseTotal::nanos)).reversed())
+            .forEach(phase -> report.append(String.format("%-60s %6d %10.1f%n",
+                phase.getKey(), phase.getValue().count, millis(phase.getValue().nanos))));
+
+        report.append(String.format("%n%-60s %10s %10s%n", "bean (slowest " + TOP_BEANS + ")", "self ms", "total ms"));
+        beans.stream()
+            .sorted(Comparator.comparingLong((BeanTiming bean) -> bean.selfNanos).reversed())
+            .limit(TOP_BEANS)
+            .forEach(bean -> report.append(String.format("%-60s %10.1f %10.1f%n",
+                abbreviate(bean.name), millis(bean.selfNanos), millis(bean.totalNanos))));
+        report.append(String.format("%d beans instantiated", beans.size()));
+        return report.toString();
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static String abbreviate(String name) {
+        return name.length() <= 60 ? name : "..." + name.substring(name.length() - 57);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+
+    private static final class PhaseTotal {
+        private int count;
+        private long nanos;
+
+        void add(long duration) {
+            count++;
+            nanos += duration;
+        }
+
+        long nanos() {
+            return nanos;
+        }
+    }
+
+    private static final class BeanTiming {
+        private final String name;
+        private final long totalNanos;
+        private long selfNanos;
+
+        BeanTiming(String name, long nanos) {
+            this.name = name;
+            this.totalNanos = nanos;
+            this.selfNanos = nanos;
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.banking.accountmanagementapis.controller;
 
 import com.banking.accountmanagementapis.dto.*;
+import com.banking.accountmanagementapis.service.AccountAggregateService;
+import com.banking.accountmanagementapis.service.AccountChangeFeedService;
+import com.banking.accountmanagementapis.service.AccountCustomerSketchService;
+import com.banking.accountmanagementapis.service.AccountExportService;
+import com.banking.accountmanagementapis.service.AccountLeaderboardService;
 import com.banking.accountmanagementapis.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,16 +16,24 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -33,11 +46,30 @@ import java.util.UUID;
 public class SimpleAccountController {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleAccountController.class);
+    private static final String METADATA_FILTER_PREFIX = "metadata.";
     private final AccountService accountService;
+    private final AccountExportService accountExportService;
+    private final AccountChangeFeedService accountChangeFeedService;
+    private final AccountAggregateService accountAggregateService;
+    private final AccountCustomerSketchService accountCustomerSketchService;
+    private final AccountLeaderboardService accountLeaderboardService;
+    /** X-Admin-Token value that bank-wide reads require; empty refuses them */
+    private final String adminToken;
     
     @Autowired
-    public SimpleAccountController(AccountService accountService) {
+    public SimpleAccountController(AccountService accountService, AccountExportService accountExportService,
+                                   AccountChangeFeedService accountChangeFeedService,
+                                   AccountAggregateService accountAggregateService,
+                                   AccountCustomerSketchService accountCustomerSketchService,
+                                   AccountLeaderboardService accountLeaderboardService,
+                                   @Value("${banking.admin.token:}") String adminToken) {
         this.accountService = accountService;
+        this.accountExportService = accountExportService;
+        this.accountChangeFeedService = accountChangeFeedService;
+        this.accountAggregateService = accountAggregateService;
+        this.accountCustomerSketchService = accountCustomerSketchService;
+        this.accountLeaderboardService = accountLeaderboardService;
+        this.adminToken = adminToken;
     }
 
     /**
@@ -66,7 +98,7 @@ public class SimpleAccountController {
         @ApiResponse(responseCode = "401", description = "Unauthorized access")
     })
     @GetMapping
-    public ResponseEntity<Map<String, Object>> listAccounts(
+    public ResponseEntity<?> listAccounts(
             @Parameter(description = "Customer ID for filtering accounts") @RequestHeader(value = "X-Customer-ID") String customerId,
             @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
             @Parameter(description = "Filter by account type") @RequestParam(required = false) AccountType accountType,
@@ -75,29 +107,35 @@ public class SimpleAccountController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Comma-separated fields to return, e.g. accountType,status,balance (accountId is always included)") @RequestParam(required = false) String fields,
+            @Parameter(description = "Search archived accounts (closed longer than the retention period) instead of current ones") @RequestParam(defaultValue = "false") boolean archived,
+            @Parameter(description = "Filter by metadata as metadata.<key>=<value>, e.g. metadata.preferredBranch=NYC-001; every pair must match") @RequestParam Map<String, String> parameters) {
         
-        logger.info("List accounts request - CustomerId: {}, RequestId: {}", customerId, requestId);
+        logger.info("List accounts request - CustomerId: {}, Archived: {}, RequestId: {}", customerId, archived, requestId);
         
         try {
             // Create pageable with sorting
             Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            Map<String, String> metadata = metadataFilters(parameters);
             
-            // Get accounts with filters
-            Page<AccountResponse> accountsPage = accountService.getAccountsWithFilters(
-                customerId, accountType, status, currency, pageable);
+            // Get accounts with filters, selecting only the requested fields when given;
+            // the archive and metadata filters are only read through the projection query
+            Page<AccountResponse> accountsPage = fields == null && !archived && metadata.isEmpty()
+                ? accountService.getAccountsWithFilters(customerId, accountType, status, currency, pageable)
+                : accountService.getAccountsWithFilters(customerId, accountType, status, currency, metadata,
+                    AccountField.parse(fields), archived, pageable);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("accounts", accountsPage.getContent());
-            response.put("totalElements", accountsPage.getTotalElements());
-            response.put("totalPages", accountsPage.getTotalPages());
-            response.put("currentPage", accountsPage.getNumber());
-            response.put("size", accountsPage.getSize());
-            response.put("hasNext", accountsPage.hasNext());
-            response.put("hasPrevious", accountsPage.hasPrevious());
+            AccountPageResponse response = AccountPageResponse.of(accountsPage);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid list request: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid request parameters");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             logger.error("Error listing accounts for customer: {}", customerId, e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -107,6 +145,206 @@ public class SimpleAccountController {
         }
     }
 
+    /**
+     * Export accounts endpoint - streams every matching account without paging
+     */
+    @Operation(summary = "Export Accounts", description = "Stream the customer's accounts matching the filters as NDJSON or CSV; " +
+        "with X-Admin-Token instead, every customer's accounts, e.g. for month-end reconciliation")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export stream started"),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+        @ApiResponse(responseCode = "401", description = "Neither X-Customer-ID nor a valid X-Admin-Token given"),
+        @ApiResponse(responseCode = "403", description = "Access denied: customerId names another customer")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(
+            @Parameter(description = "Customer ID whose accounts are exported") @RequestHeader(value = "X-Customer-ID", required = false) String customerHeader,
+            @Parameter(description = "Admin token, for exporting every customer's accounts") @RequestHeader(value = "X-Admin-Token", required = false) String adminHeader,
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Filter by customer ID; with X-Customer-ID it must be the same customer") @RequestParam(required = false) String customerId,
+            @Parameter(description = "Filter by branch ID") @RequestParam(required = false) String branchId,
+            @Parameter(description = "Filter by account type") @RequestParam(required = false) AccountType accountType,
+            @Parameter(description = "Filter by account status") @RequestParam(required = false) AccountStatus status,
+            @Parameter(description = "Filter by currency") @RequestParam(required = false) String currency) {
+        
+        logger.info("Export accounts request - Format: {}, CustomerId: {}, BranchId: {}, Status: {}, RequestId: {}", 
+                   format, customerHeader, branchId, status, requestId);
+        
+        if (!isAdmin(adminHeader)) {
+            HttpStatus denied = customerScopeError(customerHeader, customerId);
+            if (denied != null) {
+                return ResponseEntity.status(denied).build();
+            }
+            customerId = customerHeader;
+        }
+        String exportedCustomerId = customerId;
+        StreamingResponseBody body = out -> accountExportService.exportAccounts(
+            format, exportedCustomerId, branchId, accountType, status, currency, out);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"accounts." + format.getFileExtension() + "\"")
+            .body(body);
+    }
+
+    /**
+     * Account change feed endpoint - Server-Sent Events instead of polling listAccounts
+     */
+    @Operation(summary = "Account Change Feed", description = "Stream creates, updates, status changes and closures of the customer's accounts " +
+        "as Server-Sent Events; with X-Admin-Token instead, of every customer's accounts. " +
+        "Each event ID is a log position (one sequence number per shard when sharded); reconnect with Last-Event-ID (or from) to resume without gaps")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream started"),
+        @ApiResponse(responseCode = "400", description = "Unknown event ID"),
+        @ApiResponse(responseCode = "401", description = "Neither X-Customer-ID nor a valid X-Admin-Token given"),
+        @ApiResponse(responseCode = "403", description = "Access denied: customerId names another customer"),
+        @ApiResponse(responseCode = "503", description = "Too many subscribers, retry later")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<SseEmitter> streamAccountChanges(
+            @Parameter(description = "Customer ID whose changes are streamed") @RequestHeader(value = "X-Customer-ID", required = false) String customerHeader,
+            @Parameter(description = "Admin token, for every customer's changes") @RequestHeader(value = "X-Admin-Token", required = false) String adminHeader,
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Last event ID received, sent by EventSource on reconnect") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Start after this event ID; omit to receive new changes only") @RequestParam(required = false) String from,
+            @Parameter(description = "Only changes for this customer; with X-Customer-ID it must be the same customer") @RequestParam(required = false) String customerId) {
+        
+        logger.info("Change feed request - CustomerId: {}, LastEventId: {}, From: {}, RequestId: {}", 
+                   customerHeader != null ? customerHeader : customerId, lastEventId, from, requestId);
+        
+        if (!isAdmin(adminHeader)) {
+            HttpStatus denied = customerScopeError(customerHeader, customerId);
+            if (denied != null) {
+                return ResponseEntity.status(denied).build();
+            }
+            customerId = customerHeader;
+        }
+        SseEmitter emitter;
+        try {
+            emitter = accountChangeFeedService.subscribe(customerId, lastEventId != null ? lastEventId : from);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid change feed position: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Account aggregates endpoint - live counts and balance totals without scanning accounts
+     */
+    @Operation(summary = "Account Aggregates", description = "Account counts and balance totals (per currency) grouped by any of " +
+        "branchId, accountType, currency and status, kept up to date as accounts change and served from memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved aggregates"),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+        @ApiResponse(responseCode = "503", description = "Aggregates are still being loaded, retry later")
+    })
+    @GetMapping("/aggregates")
+    public ResponseEntity<?> getAggregates(
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Comma-separated dimensions to group by, e.g. branchId,accountType; omit for the grand total") @RequestParam(required = false) String groupBy,
+            @Parameter(description = "Filter by branch ID") @RequestParam(required = false) String branchId,
+            @Parameter(description = "Filter by account type") @RequestParam(required = false) AccountType accountType,
+            @Parameter(description = "Filter by currency") @RequestParam(required = false) String currency,
+            @Parameter(description = "Filter by account status") @RequestParam(required = false) AccountStatus status) {
+        
+        logger.info("Aggregates request - GroupBy: {}, BranchId: {}, AccountType: {}, Currency: {}, Status: {}, RequestId: {}", 
+                   groupBy, branchId, accountType, currency, status, requestId);
+        
+        try {
+            return accountAggregateService.getAggregates(AccountAggregateDimension.parse(groupBy),
+                    branchId, accountType, currency, status)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid aggregates request: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid request parameters");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Distinct customers endpoint - approximate COUNT(DISTINCT customer_id) from sketches
+     */
+    @Operation(summary = "Distinct Customers", description = "Estimated number of distinct customers grouped by branchId and/or accountType, " +
+        "from HyperLogLog sketches; relativeStandardError is the relative standard error of every estimate")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved customer counts"),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+        @ApiResponse(responseCode = "503", description = "Sketches are still being loaded, retry later")
+    })
+    @GetMapping("/distinct-customers")
+    public ResponseEntity<?> getDistinctCustomers(
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Comma-separated dimensions to group by: branchId, accountType; omit for the grand total") @RequestParam(required = false) String groupBy,
+            @Parameter(description = "Filter by branch ID") @RequestParam(required = false) String branchId,
+            @Parameter(description = "Filter by account type") @RequestParam(required = false) AccountType accountType) {
+        
+        logger.info("Distinct customers request - GroupBy: {}, BranchId: {}, AccountType: {}, RequestId: {}", 
+                   groupBy, branchId, accountType, requestId);
+        
+        try {
+            return accountCustomerSketchService.getCustomerCounts(AccountAggregateDimension.parse(groupBy), branchId, accountType)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid distinct customers request: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid request parameters");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Balance leaderboard endpoint - highest balances without sorting the accounts
+     */
+    @Operation(summary = "Balance Leaderboard", description = "Highest balances of the accounts that are not closed, in one currency, " +
+        "for a branch and/or account type or across all of them; accounts with equal balances share a rank. Requires X-Admin-Token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard"),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+        @ApiResponse(responseCode = "401", description = "No valid X-Admin-Token given"),
+        @ApiResponse(responseCode = "503", description = "Leaderboards are still being built, retry later")
+    })
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(
+            @Parameter(description = "Admin token; leaderboards list other customers' accounts") @RequestHeader(value = "X-Admin-Token", required = false) String adminHeader,
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Branch ID; omit for all branches") @RequestParam(required = false) String branchId,
+            @Parameter(description = "Account type; omit for all types") @RequestParam(required = false) AccountType accountType,
+            @Parameter(description = "Currency the balances are ranked in") @RequestParam(defaultValue = "USD") String currency,
+            @Parameter(description = "Number of accounts, at most banking.leaderboard.size (the default)") @RequestParam(required = false) Integer limit) {
+        
+        logger.info("Leaderboard request - BranchId: {}, AccountType: {}, Currency: {}, Limit: {}, RequestId: {}", 
+                   branchId, accountType, currency, limit, requestId);
+        
+        if (!isAdmin(adminHeader)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Unauthorized");
+            errorResponse.put("message", "Leaderboards require a valid X-Admin-Token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+        try {
+            return accountLeaderboardService.getLeaderboard(branchId, accountType, currency,
+                    limit != null ? limit : accountLeaderboardService.getSize())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid leaderboard request: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid request parameters");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Get account details endpoint
      */
@@ -188,12 +426,13 @@ public class SimpleAccountController {
     /**
      * Update account endpoint
      */
-    @Operation(summary = "Update Account", description = "Update account information")
+    @Operation(summary = "Update Account", description = "Update account information; metadata, if given, replaces all existing metadata")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Account updated successfully"),
         @ApiResponse(responseCode = "404", description = "Account not found"),
         @ApiResponse(responseCode = "403", description = "Access denied"),
-        @ApiResponse(responseCode = "400", description = "Invalid request data")
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "409", description = "Account is archived")
     })
     @PutMapping("/{accountId}")
     public ResponseEntity<?> updateAccount(
@@ -220,6 +459,12 @@ public class SimpleAccountController {
             errorResponse.put("error", "Access denied");
             errorResponse.put("message", "Account does not belong to customer");
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (IllegalStateException e) {
+            logger.warn("Account cannot be updated: {} - {}", accountId, e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Account cannot be updated");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (Exception e) {
             logger.error("Error updating account: {}", accountId, e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -229,6 +474,58 @@ public class SimpleAccountController {
         }
     }
     
+    /**
+     * Patch account endpoint - JSON merge patch of the nickname and individual metadata keys
+     */
+    @Operation(summary = "Patch Account", description = "Set the nickname if given and add or change each metadata key given, " +
+        "removing those whose value is null; other metadata keys are left alone")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Account patched successfully"),
+        @ApiResponse(responseCode = "404", description = "Account not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "409", description = "Account is archived, or kept changing concurrently")
+    })
+    @PatchMapping(value = "/{accountId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchAccount(
+            @Parameter(description = "Account ID to patch") @PathVariable String accountId,
+            @Parameter(description = "Customer ID for authorization") @RequestHeader(value = "X-Customer-ID") String customerId,
+            @Parameter(description = "Request ID for tracing") @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @Parameter(description = "Merge patch; a null metadata value removes the key") @Valid @RequestBody UpdateAccountRequest patch) {
+        
+        logger.info("Patch account request - AccountId: {}, CustomerId: {}, RequestId: {}", 
+                   accountId, customerId, requestId);
+        
+        try {
+            AccountResponse account = accountService.patchAccount(accountId, patch, customerId);
+            return ResponseEntity.ok(account);
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            logger.warn("Account not found: {}", accountId);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Account not found");
+            errorResponse.put("accountId", accountId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (SecurityException e) {
+            logger.warn("Access denied for account: {} by customer: {}", accountId, customerId);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Access denied");
+            errorResponse.put("message", "Account does not belong to customer");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (IllegalStateException e) {
+            logger.warn("Account cannot be updated: {} - {}", accountId, e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Account cannot be updated");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Error patching account: {}", accountId, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to update account");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     /**
      * Close account endpoint
      */
@@ -278,4 +575,44 @@ public class SimpleAccountController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The metadata.<key>=<value> request parameters as key to value
+     */
+    private static Map<String, String> metadataFilters(Map<String, String> parameters) {
+        Map<String, String> metadata = new TreeMap<>();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (parameter.getKey().startsWith(METADATA_FILTER_PREFIX)) {
+                String key = parameter.getKey().substring(METADATA_FILTER_PREFIX.length());
+                if (key.isEmpty()) {
+                    throw new IllegalArgumentException("Metadata filter without a key: " + parameter.getKey());
+                }
+                metadata.put(key, parameter.getValue());
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Whether the request carries the configured admin token; never while none is configured
+     */
+    private boolean isAdmin(String token) {
+        return !adminToken.isEmpty() && token != null && MessageDigest.isEqual(
+            adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * The status refusing a read limited to the X-Customer-ID customer when there is none, or when its
+     * customerId filter names another customer; null when the read may go ahead for that customer
+     */
+    private static HttpStatus customerScopeError(String customerHeader, String customerId) {
+        if (customerHeader == null) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (customerId != null && !customerId.equals(customerHeader)) {
+            logger.warn("Access denied for customer: {} reading customer: {}", customerHeader, customerId);
+            return HttpStatus.FORBIDDEN;
+        }
+        return null;
+    }
+}
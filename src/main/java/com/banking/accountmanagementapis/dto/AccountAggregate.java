@@ -0,0 +1,92 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.List;
+
+/**
+ * Account Aggregate DTO - account count and balance totals of one group. Only the dimensions
+ * grouped by are set; balances are summed per currency, leaving out currencies that sum to zero.
+ */
+@JsonPropertyOrder({"branchId", "accountType", "currency", "status", "accounts", "balances"})
+public class AccountAggregate {
+
+    @JsonProperty("branchId")
+    private String branchId;
+
+    @JsonProperty("accountType")
+    private AccountType accountType;
+
+    @JsonProperty("currency")
+    private String currency;
+
+    @JsonProperty("status")
+    private AccountStatus status;
+
+    @JsonProperty("accounts")
+    private long accounts;
+
+    @JsonProperty("balances")
+    private List<MonetaryAmount> balances;
+
+    public AccountAggregate() {}
+
+    public AccountAggregate(String branchId, AccountType accountType, String currency, AccountStatus status,
+                            long accounts, List<MonetaryAmount> balances) {
+        this.branchId = branchId;
+        this.accountType = accountType;
+        this.currency = currency;
+        this.status = status;
+        this.accounts = accounts;
+        this.balances = balances;
+    }
+
+    // Getters and Setters
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(long accounts) {
+        this.accounts = accounts;
+    }
+
+    public List<MonetaryAmount> getBalances() {
+        return balances;
+    }
+
+    public void setBalances(List<MonetaryAmount> balances) {
+        this.balances = balances;
+    }
+}
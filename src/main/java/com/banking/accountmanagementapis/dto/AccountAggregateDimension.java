@@ -0,0 +1,49 @@
+package com.banking.accountmanagementapis.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Account attributes that branch and product aggregates can be grouped by, e.g.
+ * {@code ?groupBy=branchId,accountType}
+ */
+public enum AccountAggregateDimension {
+    BRANCH_ID("branchId"),
+    ACCOUNT_TYPE("accountType"),
+    CURRENCY("currency"),
+    STATUS("status");
+
+    private final String fieldName;
+
+    AccountAggregateDimension(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public static AccountAggregateDimension fromFieldName(String fieldName) {
+        for (AccountAggregateDimension dimension : values()) {
+            if (dimension.fieldName.equals(fieldName)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown aggregate dimension: " + fieldName);
+    }
+
+    /**
+     * Parses a comma-separated list of dimensions; null or blank means none, the grand total
+     */
+    public static Set<AccountAggregateDimension> parse(String groupBy) {
+        Set<AccountAggregateDimension> parsed = EnumSet.noneOf(AccountAggregateDimension.class);
+        if (groupBy != null) {
+            for (String fieldName : groupBy.split(",")) {
+                if (!fieldName.isBlank()) {
+                    parsed.add(fromFieldName(fieldName.trim()));
+                }
+            }
+        }
+        return parsed;
+    }
+}
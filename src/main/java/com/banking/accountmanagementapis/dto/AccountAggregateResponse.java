@@ -0,0 +1,55 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Account Aggregate Response DTO - the groups of one aggregates request
+ */
+@JsonPropertyOrder({"groupBy", "reconciledAt", "groups"})
+public class AccountAggregateResponse {
+
+    @JsonProperty("groupBy")
+    private List<String> groupBy;
+
+    @JsonProperty("reconciledAt")
+    private LocalDateTime reconciledAt;
+
+    @JsonProperty("groups")
+    private List<AccountAggregate> groups;
+
+    public AccountAggregateResponse() {}
+
+    public AccountAggregateResponse(List<String> groupBy, LocalDateTime reconciledAt, List<AccountAggregate> groups) {
+        this.groupBy = groupBy;
+        this.reconciledAt = reconciledAt;
+        this.groups = groups;
+    }
+
+    // Getters and Setters
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<String> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+
+    public List<AccountAggregate> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<AccountAggregate> groups) {
+        this.groups = groups;
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+/**
+ * Account Change Event DTO - one entry of the account change feed
+ */
+public class AccountChangeEvent {
+
+    @JsonProperty("seq")
+    private long seq;
+
+    @JsonProperty("changeType")
+    private AccountChangeType changeType;
+
+    @JsonProperty("accountId")
+    private String accountId;
+
+    @JsonProperty("customerId")
+    private String customerId;
+
+    @JsonProperty("status")
+    private AccountStatus status;
+
+    @JsonProperty("occurredAt")
+    private LocalDateTime occurredAt;
+
+    public AccountChangeEvent() {}
+
+    public AccountChangeEvent(long seq, AccountChangeType changeType, String accountId, String customerId,
+                              AccountStatus status, LocalDateTime occurredAt) {
+        this.seq = seq;
+        this.changeType = changeType;
+        this.accountId = accountId;
+        this.customerId = customerId;
+        this.status = status;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters and Setters
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public AccountChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(AccountChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountChangeEvent{" +
+                "seq=" + seq +
+                ", changeType=" + changeType +
+                ", accountId='" + accountId + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", status=" + status +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.accountmanagementapis.dto;
+
+/**
+ * Kinds of account change published on the change feed
+ */
+public enum AccountChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    CLOSED
+}
@@ -0,0 +1,54 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Account Customer Count DTO - estimated number of distinct customers of one group. Only the
+ * dimensions grouped by are set.
+ */
+@JsonPropertyOrder({"branchId", "accountType", "customers"})
+public class AccountCustomerCount {
+
+    @JsonProperty("branchId")
+    private String branchId;
+
+    @JsonProperty("accountType")
+    private AccountType accountType;
+
+    @JsonProperty("customers")
+    private long customers;
+
+    public AccountCustomerCount() {}
+
+    public AccountCustomerCount(String branchId, AccountType accountType, long customers) {
+        this.branchId = branchId;
+        this.accountType = accountType;
+        this.customers = customers;
+    }
+
+    // Getters and Setters
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(long customers) {
+        this.customers = customers;
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.List;
+
+/**
+ * Account Customer Count Response DTO - the groups of one distinct-customers request, with the
+ * relative standard error of their estimates
+ */
+@JsonPropertyOrder({"groupBy", "relativeStandardError", "groups"})
+public class AccountCustomerCountResponse {
+
+    @JsonProperty("groupBy")
+    private List<String> groupBy;
+
+    @JsonProperty("relativeStandardError")
+    private double relativeStandardError;
+
+    @JsonProperty("groups")
+    private List<AccountCustomerCount> groups;
+
+    public AccountCustomerCountResponse() {}
+
+    public AccountCustomerCountResponse(List<String> groupBy, double relativeStandardError,
+                                        List<AccountCustomerCount> groups) {
+        this.groupBy = groupBy;
+        this.relativeStandardError = relativeStandardError;
+        this.groups = groups;
+    }
+
+    // Getters and Setters
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<String> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    public List<AccountCustomerCount> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<AccountCustomerCount> groups) {
+        this.groups = groups;
+    }
+}
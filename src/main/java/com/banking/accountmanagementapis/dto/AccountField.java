@@ -0,0 +1,64 @@
+package com.banking.accountmanagementapis.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * AccountResponse fields that can be requested as a sparse fieldset, e.g.
+ * {@code ?fields=accountType,status,balance}
+ */
+public enum AccountField {
+    ACCOUNT_ID("accountId"),
+    ACCOUNT_NUMBER("accountNumber"),
+    ACCOUNT_TYPE("accountType"),
+    STATUS("status"),
+    CURRENCY("currency"),
+    BALANCE("balance"),
+    AVAILABLE_BALANCE("availableBalance"),
+    ACCOUNT_NICKNAME("accountNickname"),
+    CUSTOMER_ID("customerId"),
+    BRANCH_ID("branchId"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    LAST_ACTIVITY_AT("lastActivityAt"),
+    METADATA("metadata");
+
+    private final String fieldName;
+
+    AccountField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * The field with the given JSON (and entity property) name
+     */
+    public static AccountField fromFieldName(String fieldName) {
+        for (AccountField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown account field: " + fieldName);
+    }
+
+    /**
+     * Parses a comma-separated fieldset. accountId is always included; null or blank means
+     * every field.
+     */
+    public static Set<AccountField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(AccountField.class);
+        }
+        Set<AccountField> parsed = EnumSet.of(ACCOUNT_ID);
+        for (String fieldName : fields.split(",")) {
+            if (!fieldName.isBlank()) {
+                parsed.add(fromFieldName(fieldName.trim()));
+            }
+        }
+        return parsed;
+    }
+}
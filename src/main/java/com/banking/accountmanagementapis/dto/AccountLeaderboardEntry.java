@@ -0,0 +1,79 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Account Leaderboard Entry DTO - one account on a balance leaderboard. Accounts with equal
+ * balances share a rank, as with SQL RANK().
+ */
+@JsonPropertyOrder({"rank", "accountId", "customerId", "status", "balance"})
+public class AccountLeaderboardEntry {
+
+    @JsonProperty("rank")
+    private int rank;
+
+    @JsonProperty("accountId")
+    private String accountId;
+
+    @JsonProperty("customerId")
+    private String customerId;
+
+    @JsonProperty("status")
+    private AccountStatus status;
+
+    @JsonProperty("balance")
+    private MonetaryAmount balance;
+
+    public AccountLeaderboardEntry() {}
+
+    public AccountLeaderboardEntry(int rank, String accountId, String customerId, AccountStatus status,
+                                   MonetaryAmount balance) {
+        this.rank = rank;
+        this.accountId = accountId;
+        this.customerId = customerId;
+        this.status = status;
+        this.balance = balance;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public MonetaryAmount getBalance() {
+        return balance;
+    }
+
+    public void setBalance(MonetaryAmount balance) {
+        this.balance = balance;
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.List;
+
+/**
+ * Account Leaderboard Response DTO - the highest balances of one branch and/or account type in
+ * one currency; branchId and accountType are null when the leaderboard spans all of them
+ */
+@JsonPropertyOrder({"branchId", "accountType", "currency", "accounts"})
+public class AccountLeaderboardResponse {
+
+    @JsonProperty("branchId")
+    private String branchId;
+
+    @JsonProperty("accountType")
+    private AccountType accountType;
+
+    @JsonProperty("currency")
+    private String currency;
+
+    @JsonProperty("accounts")
+    private List<AccountLeaderboardEntry> accounts;
+
+    public AccountLeaderboardResponse() {}
+
+    public AccountLeaderboardResponse(String branchId, AccountType accountType, String currency,
+                                      List<AccountLeaderboardEntry> accounts) {
+        this.branchId = branchId;
+        this.accountType = accountType;
+        this.currency = currency;
+        this.accounts = accounts;
+    }
+
+    // Getters and Setters
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<AccountLeaderboardEntry> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountLeaderboardEntry> accounts) {
+        this.accounts = accounts;
+    }
+}
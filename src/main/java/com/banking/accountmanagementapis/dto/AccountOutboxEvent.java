@@ -0,0 +1,105 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+/**
+ * Account Outbox Event DTO - an account lifecycle event as handed to the event sink.
+ *
+ * Delivery is at-least-once, so consumers should de-duplicate on {@code eventId}.
+ */
+public class AccountOutboxEvent {
+
+    @JsonProperty("eventId")
+    private long eventId;
+
+    @JsonProperty("eventType")
+    private AccountChangeType eventType;
+
+    @JsonProperty("accountId")
+    private String accountId;
+
+    @JsonProperty("customerId")
+    private String customerId;
+
+    @JsonProperty("occurredAt")
+    private LocalDateTime occurredAt;
+
+    /** The account as AccountResponse JSON, captured when the event was written */
+    @JsonProperty("account")
+    @JsonRawValue
+    private String account;
+
+    public AccountOutboxEvent() {}
+
+    public AccountOutboxEvent(long eventId, AccountChangeType eventType, String accountId, String customerId,
+                              LocalDateTime occurredAt, String account) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.accountId = accountId;
+        this.customerId = customerId;
+        this.occurredAt = occurredAt;
+        this.account = account;
+    }
+
+    // Getters and Setters
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public AccountChangeType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(AccountChangeType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOutboxEvent{" +
+                "eventId=" + eventId +
+                ", eventType=" + eventType +
+                ", accountId='" + accountId + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
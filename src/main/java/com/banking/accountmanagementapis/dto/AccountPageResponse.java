@@ -0,0 +1,119 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.springframework.data.domain.Page;
+import java.util.List;
+
+/**
+ * Account Page Response DTO - one page of listAccounts results
+ */
+@JsonPropertyOrder({"accounts", "totalElements", "totalPages", "currentPage", "size", "hasNext", "hasPrevious"})
+public class AccountPageResponse {
+
+    @JsonProperty("accounts")
+    private List<AccountResponse> accounts;
+
+    @JsonProperty("totalElements")
+    private long totalElements;
+
+    @JsonProperty("totalPages")
+    private int totalPages;
+
+    @JsonProperty("currentPage")
+    private int currentPage;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("hasNext")
+    private boolean hasNext;
+
+    @JsonProperty("hasPrevious")
+    private boolean hasPrevious;
+
+    public AccountPageResponse() {}
+
+    public AccountPageResponse(List<AccountResponse> accounts, long totalElements, int totalPages,
+                               int currentPage, int size, boolean hasNext, boolean hasPrevious) {
+        this.accounts = accounts;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.currentPage = currentPage;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    public static AccountPageResponse of(Page<AccountResponse> page) {
+        return new AccountPageResponse(page.getContent(), page.getTotalElements(), page.getTotalPages(),
+            page.getNumber(), page.getSize(), page.hasNext(), page.hasPrevious());
+    }
+
+    // Getters and Setters
+    public List<AccountResponse> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountResponse> accounts) {
+        this.accounts = accounts;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public boolean isHasPrevious() {
+        return hasPrevious;
+    }
+
+    public void setHasPrevious(boolean hasPrevious) {
+        this.hasPrevious = hasPrevious;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountPageResponse{" +
+                "accounts=" + (accounts == null ? 0 : accounts.size()) +
+                ", totalElements=" + totalElements +
+                ", currentPage=" + currentPage +
+                ", size=" + size +
+                '}';
+    }
+}
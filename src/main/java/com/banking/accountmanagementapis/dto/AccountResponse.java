@@ -1,13 +1,17 @@
 package com.banking.accountmanagementapis.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Account Response DTO
+ *
+ * Serialized by {@link AccountResponseSerializer}; keep it in step when adding fields.
  */
+@JsonSerialize(using = AccountResponseSerializer.class)
 public class AccountResponse {
     
     @JsonProperty("accountId")
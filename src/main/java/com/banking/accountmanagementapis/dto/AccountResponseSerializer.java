@@ -0,0 +1,181 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes {@link AccountResponse} field by field with pre-encoded names, instead of going
+ * through the reflective bean serializer and the JavaTimeModule date serializers.
+ *
+ * Output matches the bean serializer under the application's Jackson settings: fields in
+ * declaration order, null fields omitted, and dates as ISO_LOCAL_DATE_TIME strings
+ * (2024-01-15T10:30:00.12) formatted into a reused buffer. Null metadata values are written
+ * as {@code "key": null} unless the mapper's content inclusion for maps leaves them out, as
+ * the bean serializer's map serializer does.
+ */
+public class AccountResponseSerializer extends StdSerializer<AccountResponse> {
+
+    private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializedString ACCOUNT_NUMBER = new SerializedString("accountNumber");
+    private static final SerializedString ACCOUNT_TYPE = new SerializedString("accountType");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString AVAILABLE_BALANCE = new SerializedString("availableBalance");
+    private static final SerializedString ACCOUNT_NICKNAME = new SerializedString("accountNickname");
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString BRANCH_ID = new SerializedString("branchId");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString LAST_ACTIVITY_AT = new SerializedString("lastActivityAt");
+    private static final SerializedString METADATA = new SerializedString("metadata");
+
+    private static final MonetaryAmountSerializer MONETARY_AMOUNT = new MonetaryAmountSerializer();
+
+    /** yyyy-MM-ddTHH:mm:ss.nnnnnnnnn */
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+    private static final ThreadLocal<char[]> DATE_TIME_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DATE_TIME_LENGTH]);
+
+    public AccountResponseSerializer() {
+        super(AccountResponse.class);
+    }
+
+    @Override
+    public void serialize(AccountResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, ACCOUNT_ID, value.getAccountId());
+        writeString(gen, ACCOUNT_NUMBER, value.getAccountNumber());
+        if (value.getAccountType() != null) {
+            gen.writeFieldName(ACCOUNT_TYPE);
+            gen.writeString(value.getAccountType().name());
+        }
+        if (value.getStatus() != null) {
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.getStatus().name());
+        }
+        writeString(gen, CURRENCY, value.getCurrency());
+        writeAmount(gen, BALANCE, value.getBalance(), provider);
+        writeAmount(gen, AVAILABLE_BALANCE, value.getAvailableBalance(), provider);
+        writeString(gen, ACCOUNT_NICKNAME, value.getAccountNickname());
+        writeString(gen, CUSTOMER_ID, value.getCustomerId());
+        writeString(gen, BRANCH_ID, value.getBranchId());
+        writeDateTime(gen, CREATED_AT, value.getCreatedAt(), provider);
+        writeDateTime(gen, UPDATED_AT, value.getUpdatedAt(), provider);
+        writeDateTime(gen, LAST_ACTIVITY_AT, value.getLastActivityAt(), provider);
+        if (value.getMetadata() != null) {
+            gen.writeFieldName(METADATA);
+            gen.writeStartObject(value.getMetadata());
+            Boolean writeNulls = null;
+            for (Map.Entry<String, String> entry : value.getMetadata().entrySet()) {
+                if (entry.getValue() != null) {
+                    gen.writeFieldName(entry.getKey());
+                    gen.writeString(entry.getValue());
+                    continue;
+                }
+                if (writeNulls == null) {
+                    writeNulls = writesNullMapValues(provider);
+                }
+                if (writeNulls) {
+                    gen.writeFieldName(entry.getKey());
+                    gen.writeNull();
+                }
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static boolean writesNullMapValues(SerializerProvider provider) {
+        JsonInclude.Include content = provider.getConfig().getDefaultPropertyInclusion(Map.class).getContentInclusion();
+        return content == JsonInclude.Include.ALWAYS || content == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeAmount(JsonGenerator gen, SerializableString name, MonetaryAmount value,
+                                    SerializerProvider provider) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            MONETARY_AMOUNT.serialize(value, gen, provider);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime value,
+                                      SerializerProvider provider) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            // Leave the array form to JavaTimeModule
+            provider.defaultSerializeField(name.getValue(), value, gen);
+            return;
+        }
+        gen.writeFieldName(name);
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and five-digit years only come from bad data; keep the formatter's rules for them
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] buffer = DATE_TIME_BUFFER.get();
+        gen.writeString(buffer, 0, formatDateTime(value, buffer));
+    }
+
+    /**
+     * Formats a date-time with a four-digit year the way {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+     * does (seconds always present, fraction trimmed of trailing zeros) and returns the length.
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        writeTwoDigits(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        writeTwoDigits(buffer, 8, value.getDayOfMonth());
+        buffer[10] = 'T';
+        writeTwoDigits(buffer, 11, value.getHour());
+        buffer[13] = ':';
+        writeTwoDigits(buffer, 14, value.getMinute());
+        buffer[16] = ':';
+        writeTwoDigits(buffer, 17, value.getSecond());
+        int length = 19;
+        int nanos = value.getNano();
+        if (nanos != 0) {
+            buffer[length++] = '.';
+            int divisor = 100_000_000;
+            while (nanos != 0) {
+                buffer[length++] = digit(nanos / divisor);
+                nanos %= divisor;
+                divisor /= 10;
+            }
+        }
+        return length;
+    }
+
+    private static void writeTwoDigits(char[] buffer, int position, int value) {
+        buffer[position] = digit(value / 10);
+        buffer[position + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
@@ -2,6 +2,7 @@ package com.banking.accountmanagementapis.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -24,6 +25,8 @@ public class CreateAccountRequest {
     private String currency;
     
     @NotNull(message = "Initial deposit is required")
+    // The currency's own number of decimal places is checked when the account is created
+    @Digits(integer = 17, fraction = 4, message = "Initial deposit must have at most 4 decimal places")
     @JsonProperty("initialDeposit")
     private BigDecimal initialDeposit;
     
@@ -1,66 +1,135 @@
 package com.banking.accountmanagementapis.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import jakarta.validation.constraints.DecimalMin;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Monetary Amount DTO with currency support
+ * Monetary Amount DTO with currency support.
+ *
+ * The amount is held as a long count of minor units plus a decimal scale, so building and
+ * serializing one never allocates a BigDecimal. It is written with every decimal place of its
+ * scale, which for account balances is the currency's (2500.00 USD, 2500 JPY).
  */
+@JsonSerialize(using = MonetaryAmountSerializer.class)
 public class MonetaryAmount {
-    
-    @NotNull(message = "Amount cannot be null")
-    @DecimalMin(value = "0.0", inclusive = true, message = "Amount must be non-negative")
-    @JsonProperty("amount")
-    private BigDecimal amount;
-    
+
+    /** Scale used for codes {@link Currency} does not know */
+    private static final int DEFAULT_SCALE = 2;
+    private static final Map<String, Integer> CURRENCY_SCALES = new ConcurrentHashMap<>();
+
+    private final long minorUnits;
+    private final int scale;
+
     @NotNull(message = "Currency cannot be null")
-    @JsonProperty("currency")
-    private String currency;
-    
-    public MonetaryAmount() {}
-    
-    public MonetaryAmount(BigDecimal amount, String currency) {
-        this.amount = amount;
+    private final String currency;
+
+    public MonetaryAmount(long minorUnits, int scale, String currency) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must be non-negative: " + scale);
+        }
+        this.minorUnits = minorUnits;
+        this.scale = scale;
         this.currency = currency;
     }
-    
-    public BigDecimal getAmount() {
+
+    @JsonCreator
+    public MonetaryAmount(@JsonProperty("amount") BigDecimal amount, @JsonProperty("currency") String currency) {
+        this(toMinorUnits(amount, Math.max(requireAmount(amount).scale(), 0)),
+            Math.max(amount.scale(), 0), currency);
+    }
+
+    /**
+     * An amount in the currency's own minor units (cents for USD, whole yen for JPY)
+     */
+    public static MonetaryAmount ofMinorUnits(long minorUnits, String currency) {
+        return new MonetaryAmount(minorUnits, currencyScale(currency), currency);
+    }
+
+    /**
+     * Number of decimal places of the currency's minor unit, e.g. 2 for USD and 0 for JPY
+     */
+    public static int currencyScale(String currency) {
+        if (currency == null) {
+            return DEFAULT_SCALE;
+        }
+        return CURRENCY_SCALES.computeIfAbsent(currency, code -> {
+            try {
+                int digits = Currency.getInstance(code).getDefaultFractionDigits();
+                return digits >= 0 ? digits : DEFAULT_SCALE;
+            } catch (IllegalArgumentException e) {
+                return DEFAULT_SCALE;
+            }
+        });
+    }
+
+    /**
+     * Converts a decimal amount to minor units at the given scale.
+     *
+     * @throws IllegalArgumentException if the amount has more decimal places than the scale
+     *                                  allows or does not fit in a long
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        try {
+            return requireAmount(amount).movePointRight(scale).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString()
+                + " cannot be represented with " + scale + " decimal places");
+        }
+    }
+
+    private static BigDecimal requireAmount(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
         return amount;
     }
-    
-    public void setAmount(BigDecimal amount) {
-        this.amount = amount;
+
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @JsonIgnore
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    @JsonIgnore
+    public int getScale() {
+        return scale;
     }
-    
+
+    @JsonProperty("currency")
     public String getCurrency() {
         return currency;
     }
-    
-    public void setCurrency(String currency) {
-        this.currency = currency;
-    }
-    
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MonetaryAmount that = (MonetaryAmount) o;
-        return Objects.equals(amount, that.amount) && Objects.equals(currency, that.currency);
+        return getAmount().compareTo(that.getAmount()) == 0 && Objects.equals(currency, that.currency);
     }
-    
+
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        return Objects.hash(getAmount().stripTrailingZeros(), currency);
     }
-    
+
     @Override
     public String toString() {
         return "MonetaryAmount{" +
-                "amount=" + amount +
+                "amount=" + getAmount().toPlainString() +
                 ", currency='" + currency + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes {@link MonetaryAmount} as {@code {"amount":1500.50,"currency":"USD"}} straight from
+ * its minor units, without building a BigDecimal or a String for the number. The amount keeps
+ * every decimal place of its scale: 100.00 USD, 100 JPY, 100.000 KWD.
+ */
+public class MonetaryAmountSerializer extends StdSerializer<MonetaryAmount> {
+
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+
+    /** Sign, decimal point and up to 38 digits (19 for a long, the rest leading fraction zeros) */
+    public static final int MAX_LENGTH = 40;
+    private static final int MAX_FORMATTED_SCALE = MAX_LENGTH - 3;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    public MonetaryAmountSerializer() {
+        super(MonetaryAmount.class);
+    }
+
+    @Override
+    public void serialize(MonetaryAmount value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(AMOUNT);
+        writeAmount(gen, value.getMinorUnits(), value.getScale());
+        if (value.getCurrency() != null) {
+            gen.writeFieldName(CURRENCY);
+            gen.writeString(value.getCurrency());
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes minorUnits x 10^-scale as a plain decimal number with scale decimal places
+     */
+    public static void writeAmount(JsonGenerator gen, long minorUnits, int scale) throws IOException {
+        if (scale == 0) {
+            gen.writeNumber(minorUnits);
+        } else if (gen instanceof JsonGeneratorImpl && scale <= MAX_FORMATTED_SCALE) {
+            // JSON text generators copy the digits straight into their output buffer
+            char[] buffer = BUFFER.get();
+            gen.writeNumber(buffer, 0, formatDecimal(minorUnits, scale, buffer));
+        } else {
+            // Binary formats and token buffers keep the decimal as a number
+            gen.writeNumber(BigDecimal.valueOf(minorUnits, scale));
+        }
+    }
+
+    /**
+     * Formats minorUnits x 10^-scale as a plain decimal with scale decimal places into the
+     * buffer (at least {@link #MAX_LENGTH} long, scale at most {@code MAX_LENGTH - 3}) and
+     * returns the number of characters written.
+     */
+    public static int formatDecimal(long minorUnits, int scale, char[] buffer) {
+        // Build the digits right to left, working on the negative value so Long.MIN_VALUE fits
+        boolean negative = minorUnits < 0;
+        long remaining = negative ? minorUnits : -minorUnits;
+        int position = MAX_LENGTH;
+        int written = 0;
+        while (remaining != 0 || written <= scale) {
+            if (written == scale && scale > 0) {
+                buffer[--position] = '.';
+            }
+            buffer[--position] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+            written++;
+        }
+        if (negative) {
+            buffer[--position] = '-';
+        }
+        int length = MAX_LENGTH - position;
+        System.arraycopy(buffer, position, buffer, 0, length);
+        return length;
+    }
+}
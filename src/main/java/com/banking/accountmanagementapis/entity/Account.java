@@ -2,7 +2,10 @@ package com.banking.accountmanagementapis.entity;
 
 import com.banking.accountmanagementapis.dto.AccountStatus;
 import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,16 +18,25 @@ import java.util.UUID;
 
 /**
  * Account JPA Entity for SQLite database
+ *
+ * Accounts and their metadata are held in the second-level cache (see HibernateCacheConfig);
+ * writes that bypass Hibernate must evict them through AccountCacheService.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
 @Table(name = "accounts", indexes = {
     @Index(name = "idx_customer_id", columnList = "customerId"),
     @Index(name = "idx_account_type", columnList = "accountType"),
     @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_branch_id", columnList = "branchId"),
     @Index(name = "idx_account_number", columnList = "accountNumber", unique = true)
 })
 public class Account {
     
+    /** Second-level cache regions of accounts and of their metadata collections */
+    public static final String CACHE_REGION = "accounts";
+    public static final String METADATA_CACHE_REGION = "account-metadata";
+    
     @Id
     @Column(name = "account_id", nullable = false, length = 36)
     private String accountId;
@@ -43,11 +55,12 @@ public class Account {
     @Column(name = "currency", nullable = false, length = 3)
     private String currency;
     
-    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    /** Balances in minor units of the currency, as stored (see V11__balances_in_minor_units.sql) */
+    @Column(name = "balance", nullable = false)
+    private long balance;
     
-    @Column(name = "available_balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal availableBalance;
+    @Column(name = "available_balance", nullable = false)
+    private long availableBalance;
     
     @Column(name = "account_nickname", length = 50)
     private String accountNickname;
@@ -81,12 +94,20 @@ public class Account {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
-    @Column(name = "last_activity_at")
+    /** Set on insert; after that only AccountActivityTracker writes it, for reads and writes alike, bypassing Hibernate */
+    @Column(name = "last_activity_at", updatable = false)
     private LocalDateTime lastActivityAt;
     
+    /** Optimistic lock version, incremented by every update including metadata changes; null until saved */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = METADATA_CACHE_REGION)
     @CollectionTable(name = "account_metadata", 
-                    joinColumns = @JoinColumn(name = "account_id"))
+                    joinColumns = @JoinColumn(name = "account_id"),
+                    indexes = @Index(name = "idx_metadata_key_value", columnList = "metadata_key, metadata_value, account_id"))
     @MapKeyColumn(name = "metadata_key")
     @Column(name = "metadata_value")
     private Map<String, String> metadata = new HashMap<>();
@@ -94,8 +115,6 @@ public class Account {
     public Account() {
         this.accountId = UUID.randomUUID().toString();
         this.status = AccountStatus.PENDING_APPROVAL;
-        this.balance = BigDecimal.ZERO;
-        this.availableBalance = BigDecimal.ZERO;
         this.lastActivityAt = LocalDateTime.now();
     }
     
@@ -106,8 +125,7 @@ public class Account {
         this.accountNumber = accountNumber;
         this.accountType = accountType;
         this.currency = currency;
-        this.balance = initialDeposit;
-        this.availableBalance = initialDeposit;
+        setBalance(MonetaryAmount.toMinorUnits(initialDeposit, getAmountScale()));
         this.customerId = customerId;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -127,11 +145,6 @@ public class Account {
         }
     }
     
-    @PreUpdate
-    public void preUpdate() {
-        lastActivityAt = LocalDateTime.now();
-    }
-    
     // Getters and Setters
     public String getAccountId() {
         return accountId;
@@ -173,20 +186,30 @@ public class Account {
         this.currency = currency;
     }
     
-    public BigDecimal getBalance() {
+    /**
+     * Decimal places of the currency's minor unit, the scale of the balances
+     */
+    public int getAmountScale() {
+        return MonetaryAmount.currencyScale(currency);
+    }
+    
+    /**
+     * The balance in minor units of the currency
+     */
+    public long getBalance() {
         return balance;
     }
     
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(long balance) {
         this.balance = balance;
         this.availableBalance = balance; // For simplicity, available = balance
     }
     
-    public BigDecimal getAvailableBalance() {
+    public long getAvailableBalance() {
         return availableBalance;
     }
     
-    public void setAvailableBalance(BigDecimal availableBalance) {
+    public void setAvailableBalance(long availableBalance) {
         this.availableBalance = availableBalance;
     }
     
@@ -278,6 +301,10 @@ public class Account {
         this.lastActivityAt = lastActivityAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
     public Map<String, String> getMetadata() {
         return metadata;
     }
@@ -307,7 +334,7 @@ public class Account {
                 ", accountType=" + accountType +
                 ", status=" + status +
                 ", currency='" + currency + '\'' +
-                ", balance=" + balance +
+                ", balance=" + BigDecimal.valueOf(getBalance(), getAmountScale()).toPlainString() +
                 ", customerId='" + customerId + '\'' +
                 ", firstName='" + firstName + '\'' +
                 ", lastName='" + lastName + '\'' +
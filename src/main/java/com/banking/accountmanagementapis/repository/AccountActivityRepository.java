@@ -0,0 +1,40 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched writes of last_activity_at for the activity tracker
+ */
+@Repository
+public class AccountActivityRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountActivityRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Move last_activity_at of each account forward to the given time, in one JDBC batch. An
+     * account whose recorded activity is already later is left alone. The version is not
+     * bumped: Hibernate never writes last_activity_at, so a read counted as activity cannot
+     * conflict with a concurrent update.
+     */
+    public void updateLastActivity(Map<String, LocalDateTime> lastActivity) {
+        List<Object[]> args = new ArrayList<>(lastActivity.size());
+        for (Map.Entry<String, LocalDateTime> entry : lastActivity.entrySet()) {
+            Timestamp at = Timestamp.valueOf(entry.getValue());
+            args.add(new Object[] {at, entry.getKey(), at});
+        }
+        jdbcTemplate.batchUpdate(
+            "UPDATE accounts SET last_activity_at = ? WHERE account_id = ? AND last_activity_at < ?", args);
+    }
+}
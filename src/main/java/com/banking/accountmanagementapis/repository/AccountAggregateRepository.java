@@ -0,0 +1,61 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC totals of accounts per branch, type, currency and status on the current shard, for
+ * seeding and reconciling the in-memory aggregates (see AccountAggregateService).
+ */
+@Repository
+public class AccountAggregateRepository {
+
+    /**
+     * The accounts of one branch, type, currency and status: their number and balance in minor units
+     */
+    public record Totals(String branchId, AccountType accountType, String currency, AccountStatus status,
+                         long accounts, long balance) {
+    }
+
+    // Balances are INTEGER minor units, so their sums are exact
+    private static final String SELECT_TOTALS =
+        "SELECT branch_id, account_type, currency, status, count(*), sum(balance) FROM accounts ";
+    private static final String GROUP_BY = " GROUP BY branch_id, account_type, currency, status";
+
+    private static final RowMapper<Totals> TOTALS = (rs, rowNum) -> new Totals(rs.getString(1),
+        AccountType.valueOf(rs.getString(2)), rs.getString(3), AccountStatus.valueOf(rs.getString(4)),
+        rs.getLong(5), rs.getLong(6));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountAggregateRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Totals over every account; a full scan
+     */
+    public List<Totals> findTotals() {
+        return jdbcTemplate.query(SELECT_TOTALS + GROUP_BY, TOTALS);
+    }
+
+    /**
+     * Totals over the given accounts, as they are now
+     */
+    public List<Totals> findTotals(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_TOTALS + "WHERE account_id IN (" +
+            String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ")" + GROUP_BY,
+            TOTALS, accountIds.toArray());
+    }
+}
@@ -0,0 +1,75 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC access to the cold tier: moves closed accounts and their metadata from the hot tables
+ * to accounts_archive and account_metadata_archive.
+ *
+ * A move is an INSERT ... SELECT followed by a DELETE of the same rows; callers run both for a
+ * batch in one transaction, so an account is in exactly one tier at any time.
+ */
+@Repository
+public class AccountArchiveRepository {
+
+    private static final String ACCOUNT_COLUMNS =
+        "account_id, account_nickname, account_number, account_type, address, available_balance, balance, " +
+        "branch_id, created_at, currency, customer_id, email, first_name, last_activity_at, last_name, " +
+        "phone_number, status, updated_at, accrued_interest, interest_accrued_on";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountArchiveRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Accounts closed before the cutoff, oldest first, up to limit. Closing is the last update
+     * an account receives, so updated_at is when it was closed.
+     */
+    public List<String> findClosedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(
+            "SELECT account_id FROM accounts WHERE status = 'CLOSED' AND updated_at < ? ORDER BY updated_at LIMIT ?",
+            String.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Move the given accounts and their metadata to the archive; returns the number of accounts moved
+     */
+    public int archive(List<String> accountIds, LocalDateTime archivedAt) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        String ids = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        List<Object> args = new ArrayList<>(accountIds.size() + 1);
+        args.add(Timestamp.valueOf(archivedAt));
+        args.addAll(accountIds);
+
+        int moved = jdbcTemplate.update("INSERT INTO accounts_archive (" + ACCOUNT_COLUMNS + ", archived_at) " +
+            "SELECT " + ACCOUNT_COLUMNS + ", ? FROM accounts WHERE account_id IN (" + ids + ")", args.toArray());
+        jdbcTemplate.update("INSERT INTO account_metadata_archive (account_id, metadata_key, metadata_value) " +
+            "SELECT account_id, metadata_key, metadata_value FROM account_metadata WHERE account_id IN (" + ids + ")",
+            accountIds.toArray());
+        jdbcTemplate.update("DELETE FROM account_metadata WHERE account_id IN (" + ids + ")", accountIds.toArray());
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (" + ids + ")", accountIds.toArray());
+        return moved;
+    }
+
+    public boolean existsById(String accountId) {
+        return !jdbcTemplate.queryForList(
+            "SELECT 1 FROM accounts_archive WHERE account_id = ?", Integer.class, accountId).isEmpty();
+    }
+
+    public boolean existsByAccountNumber(String accountNumber) {
+        return !jdbcTemplate.queryForList(
+            "SELECT 1 FROM accounts_archive WHERE account_number = ?", Integer.class, accountNumber).isEmpty();
+    }
+}
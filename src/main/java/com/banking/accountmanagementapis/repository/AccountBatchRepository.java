@@ -0,0 +1,109 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.entity.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batched JDBC inserts for bulk loading accounts.
+ *
+ * Bypasses the persistence context so a bulk load does not accumulate managed entities;
+ * callers are responsible for the surrounding transaction.
+ */
+@Repository
+public class AccountBatchRepository {
+
+    private static final String INSERT_ACCOUNT =
+        "INSERT OR IGNORE INTO accounts (account_id, account_number, account_type, status, currency, balance, " +
+        "available_balance, account_nickname, customer_id, branch_id, first_name, last_name, email, phone_number, " +
+        "address, created_at, updated_at, last_activity_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_METADATA =
+        "INSERT OR IGNORE INTO account_metadata (account_id, metadata_key, metadata_value) VALUES (?, ?, ?)";
+
+    /** Account numbers looked up per statement, well below SQLite's limit on bound parameters */
+    private static final int LOOKUP_BATCH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the accounts and their metadata as two JDBC batches.
+     * Accounts whose ID or account number already exists are skipped.
+     *
+     * @return the accounts actually inserted
+     */
+    public List<Account> insertAccounts(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return List.of();
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accounts, accounts.size(), (ps, account) -> {
+            LocalDateTime createdAt = account.getCreatedAt() != null ? account.getCreatedAt() : LocalDateTime.now();
+            ps.setString(1, account.getAccountId());
+            ps.setString(2, account.getAccountNumber());
+            ps.setString(3, account.getAccountType().name());
+            ps.setString(4, account.getStatus().name());
+            ps.setString(5, account.getCurrency());
+            ps.setLong(6, account.getBalance());
+            ps.setLong(7, account.getAvailableBalance());
+            ps.setString(8, account.getAccountNickname());
+            ps.setString(9, account.getCustomerId());
+            ps.setString(10, account.getBranchId());
+            ps.setString(11, account.getFirstName());
+            ps.setString(12, account.getLastName());
+            ps.setString(13, account.getEmail());
+            ps.setString(14, account.getPhoneNumber());
+            ps.setString(15, account.getAddress());
+            ps.setTimestamp(16, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(17, Timestamp.valueOf(account.getUpdatedAt() != null ? account.getUpdatedAt() : createdAt));
+            ps.setTimestamp(18, account.getLastActivityAt() != null ? Timestamp.valueOf(account.getLastActivityAt()) : null);
+        })[0];
+
+        // Only attach metadata to rows that were inserted, never to a pre-existing account
+        List<Account> inserted = new ArrayList<>(counts.length);
+        List<Object[]> metadataRows = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                Account account = accounts.get(i);
+                inserted.add(account);
+                for (Map.Entry<String, String> entry : account.getMetadata().entrySet()) {
+                    metadataRows.add(new Object[] {account.getAccountId(), entry.getKey(), entry.getValue()});
+                }
+            }
+        }
+        if (!metadataRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_METADATA, metadataRows);
+        }
+        return inserted;
+    }
+
+    /**
+     * The given account numbers that an account or an archived account already holds
+     */
+    public Set<String> findExistingAccountNumbers(List<String> accountNumbers) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < accountNumbers.size(); from += LOOKUP_BATCH) {
+            List<String> batch = accountNumbers.subList(from, Math.min(from + LOOKUP_BATCH, accountNumbers.size()));
+            String numbers = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            List<Object> args = new ArrayList<>(2 * batch.size());
+            args.addAll(batch);
+            args.addAll(batch);
+            existing.addAll(jdbcTemplate.queryForList(
+                "SELECT account_number FROM accounts WHERE account_number IN (" + numbers + ") " +
+                "UNION SELECT account_number FROM accounts_archive WHERE account_number IN (" + numbers + ")",
+                String.class, args.toArray()));
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,88 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the account_cache_invalidation table that keeps the caches of nodes sharing a
+ * database file coherent.
+ *
+ * Appends run on the caller's connection, so they commit together with the change they
+ * announce. Reads take the watching node's own connection: PRAGMA data_version only tells
+ * whether others committed since the same connection last asked.
+ */
+@Repository
+public class AccountCacheInvalidationRepository {
+
+    /**
+     * An account changed by another node; a null account ID stands for a change to the cached
+     * query results: accounts added or removed, or a filtered column changed
+     */
+    public record Invalidation(long id, String accountId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountCacheInvalidationRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Announce the given accounts as changed by the node, in one JDBC batch
+     */
+    public void append(String nodeId, Collection<String> accountIds, LocalDateTime createdAt) {
+        Timestamp at = Timestamp.valueOf(createdAt);
+        List<Object[]> args = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            args.add(new Object[] {nodeId, accountId, at});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO account_cache_invalidation (node_id, account_id, created_at) VALUES (?, ?, ?)", args);
+    }
+
+    /**
+     * The data version of the watch connection's database, which changes whenever another
+     * connection commits to it
+     */
+    public long findDataVersion(DataSource watch) {
+        Long version = new JdbcTemplate(watch).queryForObject("PRAGMA data_version", Long.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * The highest ID handed out so far, including pruned rows
+     */
+    public long findLatestId(DataSource watch) {
+        List<Long> seq = new JdbcTemplate(watch).queryForList(
+            "SELECT seq FROM sqlite_sequence WHERE name = 'account_cache_invalidation'", Long.class);
+        return seq.isEmpty() || seq.get(0) == null ? 0 : seq.get(0);
+    }
+
+    /**
+     * The lowest ID not yet pruned, null when the table is empty
+     */
+    public Long findOldestId(DataSource watch) {
+        return new JdbcTemplate(watch).queryForObject("SELECT min(id) FROM account_cache_invalidation", Long.class);
+    }
+
+    /**
+     * Up to limit invalidations by other nodes with afterId < id <= upToId, in ID order
+     */
+    public List<Invalidation> findInvalidations(DataSource watch, String nodeId, long afterId, long upToId, int limit) {
+        return new JdbcTemplate(watch).query(
+            "SELECT id, account_id FROM account_cache_invalidation WHERE id > ? AND id <= ? AND node_id <> ? " +
+            "ORDER BY id LIMIT ?",
+            (rs, rowNum) -> new Invalidation(rs.getLong(1), rs.getString(2)), afterId, upToId, nodeId, limit);
+    }
+
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM account_cache_invalidation WHERE created_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountChangeEvent;
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the account_change_log table behind the change feed.
+ *
+ * Appends run on the caller's connection, so inside a service transaction the log entry
+ * commits or rolls back together with the account change it describes.
+ */
+@Repository
+public class AccountChangeLogRepository {
+
+    private static final String SELECT_EVENTS =
+        "SELECT seq, change_type, account_id, customer_id, status, occurred_at FROM account_change_log";
+
+    private static final RowMapper<AccountChangeEvent> EVENT_MAPPER = (rs, rowNum) -> {
+        String status = rs.getString("status");
+        return new AccountChangeEvent(
+            rs.getLong("seq"),
+            AccountChangeType.valueOf(rs.getString("change_type")),
+            rs.getString("account_id"),
+            rs.getString("customer_id"),
+            status != null ? AccountStatus.valueOf(status) : null,
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountChangeLogRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void append(AccountChangeType changeType, String accountId, String customerId,
+                       AccountStatus status, LocalDateTime occurredAt) {
+        jdbcTemplate.update(
+            "INSERT INTO account_change_log (account_id, customer_id, change_type, status, occurred_at) VALUES (?, ?, ?, ?, ?)",
+            accountId, customerId, changeType.name(), status != null ? status.name() : null, Timestamp.valueOf(occurredAt));
+    }
+
+    /**
+     * Up to limit events with afterSeq < seq <= upToSeq in seq order, optionally for one customer only
+     */
+    public List<AccountChangeEvent> findEvents(long afterSeq, long upToSeq, String customerId, int limit) {
+        if (customerId == null) {
+            return jdbcTemplate.query(SELECT_EVENTS + " WHERE seq > ? AND seq <= ? ORDER BY seq LIMIT ?",
+                EVENT_MAPPER, afterSeq, upToSeq, limit);
+        }
+        return jdbcTemplate.query(SELECT_EVENTS + " WHERE customer_id = ? AND seq > ? AND seq <= ? ORDER BY seq LIMIT ?",
+            EVENT_MAPPER, customerId, afterSeq, upToSeq, limit);
+    }
+
+    /**
+     * The highest seq written so far, 0 for an empty log
+     */
+    public long findLatestSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT max(seq) FROM account_change_log", Long.class);
+        return seq != null ? seq : 0;
+    }
+
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM account_change_log WHERE occurred_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
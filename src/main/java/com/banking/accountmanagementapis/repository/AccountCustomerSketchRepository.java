@@ -0,0 +1,76 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the persisted distinct-customer sketches, and the scan they are first built
+ * from. Accounts without a branch are stored under branch ''.
+ */
+@Repository
+public class AccountCustomerSketchRepository {
+
+    public record StoredSketch(String branchId, AccountType accountType, int precision, byte[] sketch) {
+    }
+
+    /**
+     * Receives the branch, type and customer of every account, one at a time
+     */
+    @FunctionalInterface
+    public interface CustomerHandler {
+        void handle(String branchId, AccountType accountType, String customerId);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountCustomerSketchRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public List<StoredSketch> findAll() {
+        return jdbcTemplate.query("SELECT branch_id, account_type, precision, sketch FROM customer_sketch",
+            (rs, rowNum) -> new StoredSketch(fromColumn(rs.getString(1)), AccountType.valueOf(rs.getString(2)),
+                rs.getInt(3), rs.getBytes(4)));
+    }
+
+    public Optional<StoredSketch> find(String branchId, AccountType accountType) {
+        return jdbcTemplate.query("SELECT precision, sketch FROM customer_sketch WHERE branch_id = ? AND account_type = ?",
+            (rs, rowNum) -> new StoredSketch(branchId, accountType, rs.getInt(1), rs.getBytes(2)),
+            toColumn(branchId), accountType.name()).stream().findFirst();
+    }
+
+    public void save(String branchId, AccountType accountType, int precision, byte[] sketch, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT OR REPLACE INTO customer_sketch (branch_id, account_type, precision, sketch, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?)", toColumn(branchId), accountType.name(), precision, sketch, Timestamp.valueOf(updatedAt));
+    }
+
+    public int deleteAll() {
+        return jdbcTemplate.update("DELETE FROM customer_sketch");
+    }
+
+    /**
+     * Stream every account, archived ones included, of the current shard
+     */
+    public void forEachCustomer(CustomerHandler handler) {
+        jdbcTemplate.query("SELECT branch_id, account_type, customer_id FROM accounts " +
+            "UNION ALL SELECT branch_id, account_type, customer_id FROM accounts_archive",
+            rs -> {
+                handler.handle(rs.getString(1), AccountType.valueOf(rs.getString(2)), rs.getString(3));
+            });
+    }
+
+    private static String toColumn(String branchId) {
+        return branchId != null ? branchId : "";
+    }
+
+    private static String fromColumn(String branchId) {
+        return branchId.isEmpty() ? null : branchId;
+    }
+}
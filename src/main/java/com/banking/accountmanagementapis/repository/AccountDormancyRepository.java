@@ -0,0 +1,97 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access for the dormancy sweep: keyset reads of active accounts in last_activity_at
+ * order, the set-based status update, and the sweep's checkpoint row.
+ */
+@Repository
+public class AccountDormancyRepository {
+
+    /**
+     * A position in the sweep: the last account handled and its last activity
+     */
+    public record Position(LocalDateTime lastActivityAt, String accountId) {
+    }
+
+    /**
+     * An unfinished sweep: accounts inactive since before cutoff, done up to position
+     */
+    public record Checkpoint(LocalDateTime cutoff, Position position) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountDormancyRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * The next active accounts without activity since cutoff, after the given position (from the
+     * start when null), in (last_activity_at, account_id) order. Served from idx_status_last_activity.
+     */
+    public List<Position> findDormant(LocalDateTime cutoff, Position after, int limit) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT last_activity_at, account_id FROM accounts WHERE status = 'ACTIVE' AND last_activity_at < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(cutoff));
+        if (after != null) {
+            sql.append(" AND (last_activity_at, account_id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.lastActivityAt()));
+            args.add(after.accountId());
+        }
+        sql.append(" ORDER BY last_activity_at, account_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new Position(rs.getTimestamp(1).toLocalDateTime(), rs.getString(2)), args.toArray());
+    }
+
+    /**
+     * Set the given accounts INACTIVE in one statement, skipping any that changed status or saw
+     * activity since they were read. Returns the IDs actually updated.
+     */
+    public List<String> markInactive(List<String> accountIds, LocalDateTime cutoff, LocalDateTime updatedAt) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(accountIds.size() + 2);
+        args.add(Timestamp.valueOf(updatedAt));
+        args.addAll(accountIds);
+        args.add(Timestamp.valueOf(cutoff));
+        return jdbcTemplate.queryForList(
+            "UPDATE accounts SET status = 'INACTIVE', updated_at = ?, version = version + 1 WHERE account_id IN (" +
+            String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ") " +
+            "AND status = 'ACTIVE' AND last_activity_at < ? RETURNING account_id",
+            String.class, args.toArray());
+    }
+
+    public Optional<Checkpoint> findCheckpoint() {
+        return jdbcTemplate.query(
+            "SELECT cutoff, last_activity_at, account_id FROM account_dormancy_checkpoint WHERE id = 1",
+            (rs, rowNum) -> new Checkpoint(rs.getTimestamp(1).toLocalDateTime(),
+                new Position(rs.getTimestamp(2).toLocalDateTime(), rs.getString(3))))
+            .stream().findFirst();
+    }
+
+    public void saveCheckpoint(LocalDateTime cutoff, Position position) {
+        jdbcTemplate.update(
+            "INSERT OR REPLACE INTO account_dormancy_checkpoint (id, cutoff, last_activity_at, account_id, updated_at) " +
+            "VALUES (1, ?, ?, ?, ?)",
+            Timestamp.valueOf(cutoff), Timestamp.valueOf(position.lastActivityAt()), position.accountId(),
+            Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void deleteCheckpoint() {
+        jdbcTemplate.update("DELETE FROM account_dormancy_checkpoint");
+    }
+}
@@ -0,0 +1,60 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only cursor access to the accounts table for bulk exports.
+ *
+ * Rows are handed to the caller straight from the JDBC result set, so nothing is
+ * hydrated into entities or held in a persistence context.
+ */
+@Repository
+public class AccountExportRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_ACCOUNTS =
+        "SELECT account_id, account_number, account_type, status, currency, balance, available_balance, " +
+        "account_nickname, customer_id, branch_id, created_at, updated_at, last_activity_at FROM accounts";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Stream every account matching the given filters to the handler, in storage order.
+     * Null filters are left out of the WHERE clause entirely so SQLite can use the
+     * index of whichever filter is present.
+     */
+    public void streamAccounts(String customerId, String branchId, AccountType accountType,
+                               AccountStatus status, String currency, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(SELECT_ACCOUNTS);
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, "customer_id", customerId);
+        appendFilter(sql, args, "branch_id", branchId);
+        appendFilter(sql, args, "account_type", accountType != null ? accountType.name() : null);
+        appendFilter(sql, args, "status", status != null ? status.name() : null);
+        appendFilter(sql, args, "currency", currency);
+
+        jdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+
+    private void appendFilter(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(column).append(" = ?");
+        args.add(value);
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access for interest accrual: keyset reads of interest-bearing accounts with their rate,
+ * the batched write-back with its ledger entries, and the completed runs.
+ *
+ * Business dates are stored as yyyy-MM-dd, which sorts and compares like the dates themselves.
+ */
+@Repository
+public class AccountInterestRepository {
+
+    /**
+     * An account to accrue: balance in minor units of its currency, rate as stored in its
+     * interestRate metadata
+     */
+    public record Candidate(String accountId, String customerId, String currency, long balance, String annualRate) {
+
+        public int balanceScale() {
+            return MonetaryAmount.currencyScale(currency);
+        }
+    }
+
+    /**
+     * The interest accrued on a candidate for the day, in units of 10^-8 of its currency
+     */
+    public record Accrual(Candidate candidate, long amount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountInterestRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * The next active accounts of the type with an interest rate and not yet accrued for the
+     * date, after the given account ID (from the start when null), in account ID order.
+     * Served from idx_type_status_account.
+     */
+    public List<Candidate> findCandidates(AccountType accountType, String afterAccountId, LocalDate businessDate,
+                                          int limit) {
+        // CROSS JOIN keeps accounts as the outer loop, so the scan stays in index order
+        return jdbcTemplate.query(
+            "SELECT a.account_id, a.customer_id, a.currency, a.balance, m.metadata_value FROM accounts a " +
+            "CROSS JOIN account_metadata m ON m.account_id = a.account_id AND m.metadata_key = 'interestRate' " +
+            "WHERE a.account_type = ? AND a.status = 'ACTIVE' AND a.account_id > ? " +
+            "AND (a.interest_accrued_on IS NULL OR a.interest_accrued_on < ?) " +
+            "ORDER BY a.account_id LIMIT ?",
+            (rs, rowNum) -> new Candidate(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4),
+                rs.getString(5)),
+            accountType.name(), afterAccountId != null ? afterAccountId : "", businessDate.toString(), limit);
+    }
+
+    /**
+     * Add each accrual to its account and write its ledger entry, as two JDBC batches. An
+     * account already accrued for the date is left alone; returns the accruals applied.
+     */
+    public List<Accrual> accrue(List<Accrual> accruals, LocalDate businessDate, LocalDateTime createdAt) {
+        String date = businessDate.toString();
+        List<Object[]> updates = new ArrayList<>(accruals.size());
+        for (Accrual accrual : accruals) {
+            updates.add(new Object[] {accrual.amount(), date, accrual.candidate().accountId(), date});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(
+            "UPDATE accounts SET accrued_interest = accrued_interest + ?, interest_accrued_on = ? " +
+            "WHERE account_id = ? AND (interest_accrued_on IS NULL OR interest_accrued_on < ?)", updates);
+
+        List<Accrual> applied = new ArrayList<>(accruals.size());
+        List<Object[]> entries = new ArrayList<>(accruals.size());
+        Timestamp at = Timestamp.valueOf(createdAt);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                Accrual accrual = accruals.get(i);
+                Candidate candidate = accrual.candidate();
+                applied.add(accrual);
+                entries.add(new Object[] {candidate.accountId(), date, candidate.customerId(), candidate.balance(),
+                    candidate.annualRate(), accrual.amount(), at});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO interest_accrual (account_id, business_date, customer_id, balance, annual_rate, amount, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)", entries);
+        return applied;
+    }
+
+    /**
+     * The latest business date accrued to completion on the current shard
+     */
+    public Optional<LocalDate> findLastCompletedRun() {
+        String date = jdbcTemplate.queryForObject("SELECT max(business_date) FROM interest_accrual_run", String.class);
+        return Optional.ofNullable(date).map(LocalDate::parse);
+    }
+
+    public void completeRun(LocalDate businessDate, long accounts, LocalDateTime completedAt) {
+        jdbcTemplate.update(
+            "INSERT OR REPLACE INTO interest_accrual_run (business_date, accounts, completed_at) VALUES (?, ?, ?)",
+            businessDate.toString(), accounts, Timestamp.valueOf(completedAt));
+    }
+}
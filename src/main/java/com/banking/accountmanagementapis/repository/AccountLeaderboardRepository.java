@@ -0,0 +1,91 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC reads of account balances on the current shard, for building and refilling the in-memory
+ * balance leaderboards (see AccountLeaderboardService).
+ */
+@Repository
+public class AccountLeaderboardRepository {
+
+    /**
+     * An account as ranked on the leaderboards, balance in minor units
+     */
+    public record RankedAccount(String accountId, String customerId, String branchId, AccountType accountType,
+                                String currency, long balance, AccountStatus status) {
+    }
+
+    private static final String SELECT_RANKED =
+        "SELECT account_id, customer_id, branch_id, account_type, currency, balance, status FROM accounts ";
+
+    private static final RowMapper<RankedAccount> RANKED = (rs, rowNum) -> new RankedAccount(rs.getString(1),
+        rs.getString(2), rs.getString(3), AccountType.valueOf(rs.getString(4)), rs.getString(5), rs.getLong(6),
+        AccountStatus.valueOf(rs.getString(7)));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountLeaderboardRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Stream every account that is not closed; a full scan
+     */
+    public void forEachRanked(Consumer<RankedAccount> handler) {
+        jdbcTemplate.query(SELECT_RANKED + "WHERE status <> 'CLOSED'",
+            rs -> {
+                handler.accept(RANKED.mapRow(rs, 0));
+            });
+    }
+
+    /**
+     * The highest balances of the accounts in one currency that are not closed, highest first,
+     * narrowed to a branch and account type when grouped by them. A null branch ID grouped by
+     * matches accounts without one.
+     */
+    public List<RankedAccount> findTop(boolean byBranch, String branchId, boolean byAccountType,
+                                       AccountType accountType, String currency, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_RANKED).append("WHERE status <> 'CLOSED' AND currency = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(currency);
+        if (byBranch) {
+            if (branchId == null) {
+                sql.append(" AND branch_id IS NULL");
+            } else {
+                sql.append(" AND branch_id = ?");
+                args.add(branchId);
+            }
+        }
+        if (byAccountType) {
+            sql.append(" AND account_type = ?");
+            args.add(accountType.name());
+        }
+        sql.append(" ORDER BY balance DESC, account_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), RANKED, args.toArray());
+    }
+
+    /**
+     * The given accounts as they are now
+     */
+    public List<RankedAccount> findAccounts(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_RANKED + "WHERE account_id IN (" +
+            String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ")",
+            RANKED, accountIds.toArray());
+    }
+}
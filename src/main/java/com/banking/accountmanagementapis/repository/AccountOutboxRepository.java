@@ -0,0 +1,72 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountOutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the account_outbox table.
+ *
+ * Appends run on the caller's connection, so inside a service transaction the event commits
+ * or rolls back together with the account change. SQLite admits one writer at a time, so ids
+ * become visible in order and the relay can always drain the table from its lowest id.
+ */
+@Repository
+public class AccountOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountOutboxRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void append(AccountChangeType eventType, String accountId, String customerId, String payload,
+                       LocalDateTime createdAt) {
+        jdbcTemplate.update(
+            "INSERT INTO account_outbox (event_type, account_id, customer_id, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+            eventType.name(), accountId, customerId, payload, Timestamp.valueOf(createdAt));
+    }
+
+    /**
+     * The oldest pending events, up to limit
+     */
+    public List<AccountOutboxEvent> findOldest(int limit) {
+        return jdbcTemplate.query(
+            "SELECT id, event_type, account_id, customer_id, created_at, payload FROM account_outbox ORDER BY id LIMIT ?",
+            (rs, rowNum) -> new AccountOutboxEvent(
+                rs.getLong("id"),
+                AccountChangeType.valueOf(rs.getString("event_type")),
+                rs.getString("account_id"),
+                rs.getString("customer_id"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getString("payload")),
+            limit);
+    }
+
+    /**
+     * Removes every event up to and including the given id, once delivered
+     */
+    public int deleteThrough(long id) {
+        return jdbcTemplate.update("DELETE FROM account_outbox WHERE id <= ?", id);
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM account_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * When the oldest pending event was written, null when nothing is pending
+     */
+    public LocalDateTime findOldestCreatedAt() {
+        List<Timestamp> oldest = jdbcTemplate.queryForList(
+            "SELECT created_at FROM account_outbox ORDER BY id LIMIT 1", Timestamp.class);
+        return oldest.isEmpty() ? null : oldest.get(0).toLocalDateTime();
+    }
+}
@@ -0,0 +1,202 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountField;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Paged reads of the accounts table that select only the columns behind a sparse fieldset.
+ *
+ * Column names are never taken from the request: fields and sort properties are resolved
+ * through a fixed {@link AccountField} to column table. Metadata lives in its own table and
+ * is read with {@link #findMetadata} only when it was asked for.
+ *
+ * Every read can target the archive instead, whose tables have the same columns.
+ */
+@Repository
+public class AccountProjectionRepository {
+
+    private static final Map<AccountField, List<String>> COLUMNS = new EnumMap<>(AccountField.class);
+
+    static {
+        COLUMNS.put(AccountField.ACCOUNT_ID, List.of("account_id"));
+        COLUMNS.put(AccountField.ACCOUNT_NUMBER, List.of("account_number"));
+        COLUMNS.put(AccountField.ACCOUNT_TYPE, List.of("account_type"));
+        COLUMNS.put(AccountField.STATUS, List.of("status"));
+        COLUMNS.put(AccountField.CURRENCY, List.of("currency"));
+        // Amounts carry their currency
+        COLUMNS.put(AccountField.BALANCE, List.of("balance", "currency"));
+        COLUMNS.put(AccountField.AVAILABLE_BALANCE, List.of("available_balance", "currency"));
+        COLUMNS.put(AccountField.ACCOUNT_NICKNAME, List.of("account_nickname"));
+        COLUMNS.put(AccountField.CUSTOMER_ID, List.of("customer_id"));
+        COLUMNS.put(AccountField.BRANCH_ID, List.of("branch_id"));
+        COLUMNS.put(AccountField.CREATED_AT, List.of("created_at"));
+        COLUMNS.put(AccountField.UPDATED_AT, List.of("updated_at"));
+        COLUMNS.put(AccountField.LAST_ACTIVITY_AT, List.of("last_activity_at"));
+        COLUMNS.put(AccountField.METADATA, List.of());
+    }
+
+    private static final String ACCOUNTS = "accounts";
+    private static final String ACCOUNTS_ARCHIVE = "accounts_archive";
+    private static final String METADATA = "account_metadata";
+    private static final String METADATA_ARCHIVE = "account_metadata_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountProjectionRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * One page of accounts matching the filters, selecting only the columns the given fields
+     * need plus the sort columns. Null filters are left out of the WHERE clause, as in the export;
+     * every metadata key must have the given value.
+     */
+    public <T> List<T> findAccounts(boolean archived, String customerId, AccountType accountType, AccountStatus status,
+                                    String currency, Map<String, String> metadata, Set<AccountField> fields,
+                                    Pageable pageable, RowMapper<T> rowMapper) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (AccountField field : fields) {
+            columns.addAll(COLUMNS.get(field));
+        }
+        // Selected so that pages from several shards can be merged in order
+        columns.addAll(sortColumns(pageable.getSort()));
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", columns)).append(" FROM ")
+            .append(archived ? ACCOUNTS_ARCHIVE : ACCOUNTS);
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, archived, customerId, accountType, status, currency, metadata);
+        appendOrderBy(sql, pageable.getSort());
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(pageable.getPageSize());
+            args.add(pageable.getOffset());
+        }
+        return jdbcTemplate.query(sql.toString(), rowMapper, args.toArray());
+    }
+
+    /**
+     * Number of accounts matching the filters
+     */
+    public long countAccounts(boolean archived, String customerId, AccountType accountType, AccountStatus status,
+                              String currency, Map<String, String> metadata) {
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM ").append(archived ? ACCOUNTS_ARCHIVE : ACCOUNTS);
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, archived, customerId, accountType, status, currency, metadata);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Metadata of the given accounts, keyed by account ID. Accounts without metadata are absent.
+     */
+    public Map<String, Map<String, String>> findMetadata(boolean archived, Collection<String> accountIds) {
+        Map<String, Map<String, String>> metadata = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return metadata;
+        }
+        String sql = "SELECT account_id, metadata_key, metadata_value FROM " + (archived ? METADATA_ARCHIVE : METADATA) +
+            " WHERE account_id IN (" +
+            String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            metadata.computeIfAbsent(rs.getString(1), id -> new HashMap<>())
+                .put(rs.getString(2), rs.getString(3));
+        }, accountIds.toArray());
+        return metadata;
+    }
+
+    /**
+     * An archived account with all of its columns, empty when it is not in the archive
+     */
+    public <T> Optional<T> findArchivedAccount(String accountId, RowMapper<T> rowMapper) {
+        List<T> accounts = jdbcTemplate.query("SELECT " + String.join(", ", allColumns()) + " FROM " + ACCOUNTS_ARCHIVE +
+            " WHERE account_id = ?", rowMapper, accountId);
+        return accounts.stream().findFirst();
+    }
+
+    /**
+     * The given current accounts with all of their columns, in no particular order
+     */
+    public <T> List<T> findAccountsById(Collection<String> accountIds, RowMapper<T> rowMapper) {
+        if (accountIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query("SELECT " + String.join(", ", allColumns()) + " FROM " + ACCOUNTS +
+            " WHERE account_id IN (" + String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ")",
+            rowMapper, accountIds.toArray());
+    }
+
+    private static Set<String> allColumns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (List<String> fieldColumns : COLUMNS.values()) {
+            columns.addAll(fieldColumns);
+        }
+        return columns;
+    }
+
+    /**
+     * The column each sort order reads, in order
+     */
+    public List<String> sortColumns(Sort sort) {
+        List<String> sortColumns = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            List<String> columns = COLUMNS.get(AccountField.fromFieldName(order.getProperty()));
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            sortColumns.add(columns.get(0));
+        }
+        return sortColumns;
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> args, boolean archived, String customerId,
+                               AccountType accountType, AccountStatus status, String currency,
+                               Map<String, String> metadata) {
+        appendFilter(sql, args, "customer_id", customerId);
+        appendFilter(sql, args, "account_type", accountType != null ? accountType.name() : null);
+        appendFilter(sql, args, "status", status != null ? status.name() : null);
+        appendFilter(sql, args, "currency", currency);
+        // A range of the (metadata_key, metadata_value, account_id) index per pair; SQLite either
+        // probes the accounts it lists or checks the other filters' matches against it
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            sql.append(args.isEmpty() ? " WHERE " : " AND ").append("account_id IN (SELECT account_id FROM ")
+                .append(archived ? METADATA_ARCHIVE : METADATA).append(" WHERE metadata_key = ? AND metadata_value = ?)");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+    }
+
+    private void appendFilter(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(column).append(" = ?");
+        args.add(value);
+    }
+
+    private void appendOrderBy(StringBuilder sql, Sort sort) {
+        List<String> columns = sortColumns(sort);
+        String separator = " ORDER BY ";
+        int i = 0;
+        for (Sort.Order order : sort) {
+            sql.append(separator).append(columns.get(i++)).append(order.isAscending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.banking.accountmanagementapis.repository;
 import com.banking.accountmanagementapis.dto.AccountStatus;
 import com.banking.accountmanagementapis.dto.AccountType;
 import com.banking.accountmanagementapis.entity.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,14 +23,25 @@ import java.util.Optional;
 @Repository
 public interface AccountRepository extends JpaRepository<Account, String> {
     
+    /** Query cache region of the cacheable queries below */
+    String QUERY_CACHE_REGION = "account-queries";
+    
     /**
      * Find accounts by customer ID
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Account> findByCustomerId(String customerId);
     
     /**
      * Find accounts by customer ID with pagination
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Page<Account> findByCustomerId(String customerId, Pageable pageable);
     
     /**
@@ -73,6 +87,10 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     /**
      * Custom query to find accounts with filters
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT a FROM Account a WHERE " +
            "(:customerId IS NULL OR a.customerId = :customerId) AND " +
            "(:accountType IS NULL OR a.accountType = :accountType) AND " +
@@ -0,0 +1,200 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Row-level copy of account data from another database into the shards, for offline re-sharding.
+ *
+ * Rows are read from the source exactly as stored and written to the shard currently selected
+ * on the application DataSource, skipping rows that are already there, so an interrupted copy
+ * can be run again.
+ */
+@Repository
+public class AccountReshardRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final List<String> ACCOUNT_COLUMNS = List.of(
+        "account_id", "account_number", "account_type", "status", "currency", "balance", "available_balance",
+        "account_nickname", "customer_id", "branch_id", "first_name", "last_name", "email", "phone_number",
+        "address", "created_at", "updated_at", "last_activity_at", "accrued_interest", "interest_accrued_on");
+    private static final int ACCOUNT_CUSTOMER_ID = ACCOUNT_COLUMNS.indexOf("customer_id") + 1;
+    private static final List<String> ARCHIVED_ACCOUNT_COLUMNS = Stream.concat(
+        ACCOUNT_COLUMNS.stream(), Stream.of("archived_at")).toList();
+
+    private static final List<String> OUTBOX_COLUMNS = List.of(
+        "event_type", "account_id", "customer_id", "payload", "created_at");
+    private static final int OUTBOX_CUSTOMER_ID = OUTBOX_COLUMNS.indexOf("customer_id") + 1;
+
+    private static final List<String> INTEREST_ACCRUAL_COLUMNS = List.of(
+        "account_id", "business_date", "customer_id", "balance", "annual_rate", "amount", "created_at");
+    private static final int INTEREST_ACCRUAL_CUSTOMER_ID = INTEREST_ACCRUAL_COLUMNS.indexOf("customer_id") + 1;
+
+    /**
+     * Receives one source row with the customer it belongs to
+     */
+    public interface RowHandler {
+
+        void handle(String customerId, Object[] row);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountReshardRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void readAccounts(DataSource source, RowHandler handler) {
+        sourceTemplate(source).query("SELECT " + String.join(", ", ACCOUNT_COLUMNS) + " FROM accounts",
+            forEachRow(ACCOUNT_COLUMNS.size(), ACCOUNT_CUSTOMER_ID, handler));
+    }
+
+    public void readMetadata(DataSource source, RowHandler handler) {
+        readMetadata(source, "account_metadata", "accounts", handler);
+    }
+
+    public void readArchivedAccounts(DataSource source, RowHandler handler) {
+        sourceTemplate(source).query("SELECT " + String.join(", ", ARCHIVED_ACCOUNT_COLUMNS) + " FROM accounts_archive",
+            forEachRow(ARCHIVED_ACCOUNT_COLUMNS.size(), ACCOUNT_CUSTOMER_ID, handler));
+    }
+
+    public void readArchivedMetadata(DataSource source, RowHandler handler) {
+        readMetadata(source, "account_metadata_archive", "accounts_archive", handler);
+    }
+
+    private void readMetadata(DataSource source, String metadataTable, String accountsTable, RowHandler handler) {
+        sourceTemplate(source).query(
+            "SELECT m.account_id, m.metadata_key, m.metadata_value, a.customer_id " +
+            "FROM " + metadataTable + " m JOIN " + accountsTable + " a ON a.account_id = m.account_id",
+            forEachRow(3, 4, handler));
+    }
+
+    /**
+     * Pending outbox events, oldest first, without their row ids
+     */
+    public void readOutbox(DataSource source, RowHandler handler) {
+        sourceTemplate(source).query("SELECT " + String.join(", ", OUTBOX_COLUMNS) + " FROM account_outbox ORDER BY id",
+            forEachRow(OUTBOX_COLUMNS.size(), OUTBOX_CUSTOMER_ID, handler));
+    }
+
+    public void readInterestAccruals(DataSource source, RowHandler handler) {
+        sourceTemplate(source).query("SELECT " + String.join(", ", INTEREST_ACCRUAL_COLUMNS) + " FROM interest_accrual",
+            forEachRow(INTEREST_ACCRUAL_COLUMNS.size(), INTEREST_ACCRUAL_CUSTOMER_ID, handler));
+    }
+
+    /**
+     * The highest outbox row id the source has ever assigned, 0 when none
+     */
+    public long findOutboxSequence(DataSource source) {
+        List<Long> seq = sourceTemplate(source).queryForList(
+            "SELECT seq FROM sqlite_sequence WHERE name = 'account_outbox'", Long.class);
+        return seq.isEmpty() || seq.get(0) == null ? 0 : seq.get(0);
+    }
+
+    public long countAccounts(DataSource source) {
+        Long count = sourceTemplate(source).queryForObject("SELECT count(*) FROM accounts", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public int insertAccounts(List<Object[]> rows) {
+        return insert("INSERT OR IGNORE INTO accounts (" + String.join(", ", ACCOUNT_COLUMNS) + ") VALUES (" +
+            placeholders(ACCOUNT_COLUMNS.size()) + ")", rows);
+    }
+
+    public int insertMetadata(List<Object[]> rows) {
+        return insert("INSERT OR IGNORE INTO account_metadata (account_id, metadata_key, metadata_value) VALUES (?, ?, ?)",
+            rows);
+    }
+
+    public int insertArchivedAccounts(List<Object[]> rows) {
+        return insert("INSERT OR IGNORE INTO accounts_archive (" + String.join(", ", ARCHIVED_ACCOUNT_COLUMNS) +
+            ") VALUES (" + placeholders(ARCHIVED_ACCOUNT_COLUMNS.size()) + ")", rows);
+    }
+
+    public int insertArchivedMetadata(List<Object[]> rows) {
+        return insert("INSERT OR IGNORE INTO account_metadata_archive (account_id, metadata_key, metadata_value) " +
+            "VALUES (?, ?, ?)", rows);
+    }
+
+    public int insertInterestAccruals(List<Object[]> rows) {
+        return insert("INSERT OR IGNORE INTO interest_accrual (" + String.join(", ", INTEREST_ACCRUAL_COLUMNS) +
+            ") VALUES (" + placeholders(INTEREST_ACCRUAL_COLUMNS.size()) + ")", rows);
+    }
+
+    /**
+     * Outbox rows have no natural key; an event counts as copied when the same account already
+     * has an event of that type written at that instant
+     */
+    public int insertOutboxEvents(List<Object[]> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] rowArgs = Arrays.copyOf(row, row.length + 3);
+            rowArgs[row.length] = row[OUTBOX_COLUMNS.indexOf("account_id")];
+            rowArgs[row.length + 1] = row[OUTBOX_COLUMNS.indexOf("event_type")];
+            rowArgs[row.length + 2] = row[OUTBOX_COLUMNS.indexOf("created_at")];
+            args.add(rowArgs);
+        }
+        return insert("INSERT INTO account_outbox (" + String.join(", ", OUTBOX_COLUMNS) + ") SELECT " +
+            placeholders(OUTBOX_COLUMNS.size()) + " WHERE NOT EXISTS (SELECT 1 FROM account_outbox " +
+            "WHERE account_id = ? AND event_type = ? AND created_at = ?)", args);
+    }
+
+    /**
+     * Makes the current shard assign outbox row ids above seq from now on
+     */
+    public void raiseOutboxSequence(long seq) {
+        int updated = jdbcTemplate.update(
+            "UPDATE sqlite_sequence SET seq = max(seq, ?) WHERE name = 'account_outbox'", seq);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO sqlite_sequence (name, seq) VALUES ('account_outbox', ?)", seq);
+        }
+    }
+
+    /**
+     * Number of accounts on the current shard
+     */
+    public long countAccounts() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM accounts", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private int insert(String sql, List<Object[]> rows) {
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, rows)) {
+            inserted += count;
+        }
+        return inserted;
+    }
+
+    private static JdbcTemplate sourceTemplate(DataSource source) {
+        JdbcTemplate template = new JdbcTemplate(source);
+        template.setFetchSize(FETCH_SIZE);
+        return template;
+    }
+
+    /**
+     * Hands the first columns of each row to the handler, with the customer ID read from customerColumn
+     */
+    private static RowCallbackHandler forEachRow(int columns, int customerColumn, RowHandler handler) {
+        return rs -> {
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            handler.handle(rs.getString(customerColumn), row);
+        };
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,198 @@
+package com.banking.accountmanagementapis.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Routes account data to one of the SQLite shard files by customer ID.
+ *
+ * A customer's accounts, change log entries and outbox events all live in the shard picked by
+ * a jump consistent hash of the customer ID, so growing from N to N+1 shards moves only about
+ * 1/(N+1) of the customers. Code selects the shard for the current thread with
+ * {@link #routeTo}; the routing DataSource reads it when a transaction runs its first
+ * statement, so a transaction stays on the shard that was selected at that point.
+ *
+ * With {@code banking.sharding.enabled=false} there is a single database and routing is a no-op.
+ */
+@Component
+public class AccountShardRouter {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+    private static final String SHARD_PLACEHOLDER = "{shard}";
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.sharding.shards:4}")
+    private int shards;
+
+    @Value("${banking.sharding.url:}")
+    private String shardingUrl;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    private ExecutorService scatterPool;
+
+    @PostConstruct
+    public void start() {
+        if (enabled && shards < 1) {
+            throw new IllegalStateException("banking.sharding.shards must be at least 1: " + shards);
+        }
+        if (enabled && !shardingUrl.contains(SHARD_PLACEHOLDER)) {
+            throw new IllegalStateException("banking.sharding.url must contain " + SHARD_PLACEHOLDER + ": " + shardingUrl);
+        }
+        scatterPool = Executors.newCachedThreadPool(Thread.ofPlatform().name("account-shard-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scatterPool.shutdownNow();
+    }
+
+    public boolean isSharded() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return enabled ? shards : 1;
+    }
+
+    /**
+     * The JDBC URL of the given shard's database file
+     */
+    public String jdbcUrl(int shard) {
+        return enabled ? shardingUrl.replace(SHARD_PLACEHOLDER, Integer.toString(shard)) : datasourceUrl;
+    }
+
+    public int shardFor(String customerId) {
+        return shardFor(customerId, getShardCount());
+    }
+
+    /**
+     * The shard holding the given customer's data out of shardCount shards
+     */
+    public static int shardFor(String customerId, int shardCount) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        // FNV-1a: stable across JVMs and releases, unlike anything keyed on identity
+        long key = 0xcbf29ce484222325L;
+        for (byte b : customerId.getBytes(StandardCharsets.UTF_8)) {
+            key = (key ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        // Jump consistent hash (Lamping & Veach)
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    /**
+     * The shard selected for the current thread, null when none is
+     */
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Select the given customer's shard for the current thread until the scope is closed
+     */
+    public Scope routeTo(String customerId) {
+        return routeToShard(shardFor(customerId));
+    }
+
+    public Scope routeToShard(int shard) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        return new Scope(previous);
+    }
+
+    /**
+     * Run the task against every shard in parallel and return the results in shard order.
+     * Each task runs on its own thread outside the caller's transaction; with sharding
+     * disabled the single task runs on the calling thread.
+     */
+    public <T> List<T> onEveryShard(IntFunction<T> task) {
+        if (!enabled) {
+            return Collections.singletonList(task.apply(0));
+        }
+        List<Future<T>> futures = submitToEveryShard(task);
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Start the task against every shard in parallel, each on its own thread with its shard
+     * selected, without waiting for the results
+     */
+    public <T> List<Future<T>> submitToEveryShard(IntFunction<T> task) {
+        List<Future<T>> futures = new ArrayList<>(getShardCount());
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterPool.submit(() -> {
+                try (Scope scope = routeToShard(target)) {
+                    return task.apply(target);
+                }
+            }));
+        }
+        return futures;
+    }
+
+    /**
+     * Restores the previously selected shard when closed
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Integer previous;
+
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT_SHARD.set(previous);
+            } else {
+                CURRENT_SHARD.remove();
+            }
+        }
+    }
+}
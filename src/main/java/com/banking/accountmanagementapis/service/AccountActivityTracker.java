@@ -0,0 +1,166 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountActivityRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind tracking of account activity, so that reads can count as activity without
+ * turning every GET into a write.
+ *
+ * {@link #touch} only records the time in a concurrent map, keeping the latest touch per
+ * account. A flusher thread writes the pending touches to last_activity_at every
+ * {@code banking.activity.max-staleness}, or sooner once {@code banking.activity.max-pending}
+ * accounts are waiting, as batched UPDATEs of up to {@code banking.activity.batch-size}
+ * accounts per transaction and shard. Pending touches are flushed on graceful shutdown; a
+ * crash loses at most one staleness interval of read activity.
+ */
+@Service
+public class AccountActivityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountActivityTracker.class);
+
+    @Autowired
+    private AccountActivityRepository activityRepository;
+
+    @Autowired
+    private AccountCacheService cacheService;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.activity.max-staleness:30s}")
+    private Duration maxStaleness;
+
+    @Value("${banking.activity.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${banking.activity.batch-size:1000}")
+    private int batchSize;
+
+    /** Latest unflushed touch per account ID */
+    private final Map<String, Touch> pending = new ConcurrentHashMap<>();
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread flusher;
+    private Counter flushed;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("banking.activity.pending", pending, Map::size)
+            .description("Accounts with activity not yet written to the database")
+            .register(meterRegistry);
+        flushed = Counter.builder("banking.activity.flushed")
+            .description("Account activity timestamps written to the database")
+            .register(meterRegistry);
+
+        running = true;
+        flusher = Thread.ofPlatform().name("account-activity").daemon().start(this::flushLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+
+    /**
+     * Record activity on an account now; written to the database within the staleness bound
+     */
+    public void touch(String accountId, String customerId) {
+        Touch touch = new Touch(shardRouter.shardFor(customerId), LocalDateTime.now());
+        pending.merge(accountId, touch, (previous, current) -> current.at().isAfter(previous.at()) ? current : previous);
+        if (pending.size() >= maxPending) {
+            wakeUps.release();
+        }
+    }
+
+    /**
+     * Whether the account has activity not yet written to the database
+     */
+    public boolean hasPendingActivity(String accountId) {
+        return pending.containsKey(accountId);
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                wakeUps.tryAcquire(maxStaleness.toMillis(), TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.warn("Flushing account activity failed, retrying: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Write every pending touch. A touch is only removed once written, or when a newer touch of
+     * the same account has replaced it meanwhile, which then waits for the next flush.
+     */
+    public synchronized void flush() {
+        List<Map<String, Touch>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            byShard.add(new HashMap<>());
+        }
+        pending.forEach((accountId, touch) -> byShard.get(touch.shard()).put(accountId, touch));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        shardRouter.onEveryShard(shard -> {
+            List<Map.Entry<String, Touch>> touches = new ArrayList<>(byShard.get(shard).entrySet());
+            for (int from = 0; from < touches.size(); from += batchSize) {
+                List<Map.Entry<String, Touch>> batch = touches.subList(from, Math.min(from + batchSize, touches.size()));
+                Map<String, LocalDateTime> lastActivity = new HashMap<>();
+                for (Map.Entry<String, Touch> touch : batch) {
+                    lastActivity.put(touch.getKey(), touch.getValue().at());
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    activityRepository.updateLastActivity(lastActivity);
+                    cacheService.evictAccountRows(lastActivity.keySet());
+                });
+                for (Map.Entry<String, Touch> touch : batch) {
+                    pending.remove(touch.getKey(), touch.getValue());
+                }
+                flushed.increment(batch.size());
+            }
+            return touches.size();
+        });
+    }
+
+    private record Touch(int shard, LocalDateTime at) {
+    }
+}
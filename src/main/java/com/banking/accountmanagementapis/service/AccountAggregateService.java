@@ -0,0 +1,419 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountAggregate;
+import com.banking.accountmanagementapis.dto.AccountAggregateDimension;
+import com.banking.accountmanagementapis.dto.AccountAggregateResponse;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountAggregateRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live account counts and balance totals per branch, account type, currency and status.
+ *
+ * Totals are kept in memory for every combination of those dimensions (all 16 grouping sets,
+ * like GROUP BY CUBE), so a request is a lookup of the groups it asks for and never touches
+ * the accounts table. Writers report what they changed from inside their transaction and the
+ * totals move once it commits.
+ *
+ * Every {@code banking.aggregates.reconcile-interval} the totals are rebuilt from a GROUP BY
+ * over each shard, replaying the changes that commit while it runs; groups that differed are
+ * counted as {@code banking.aggregates.drift}. That also picks up changes made by other
+ * instances sharing the database. A change committing at the very moment a reconciliation
+ * starts may be counted twice until the next one.
+ */
+@Service
+public class AccountAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountAggregateService.class);
+    private static final Set<AccountAggregateDimension> ALL_DIMENSIONS = EnumSet.allOf(AccountAggregateDimension.class);
+    private static final Comparator<Key> KEY_ORDER = Comparator
+        .comparing(Key::branchId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(Key::accountType, Comparator.nullsFirst(Comparator.<AccountType>naturalOrder()))
+        .thenComparing(Key::currency, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(Key::status, Comparator.nullsFirst(Comparator.<AccountStatus>naturalOrder()));
+
+    @Autowired
+    private AccountAggregateRepository aggregateRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.aggregates.reconcile-interval:1h}")
+    private Duration reconcileInterval;
+
+    /** Guards applying changes against swapping in reconciled totals */
+    private final Object lock = new Object();
+    /** Null until the first reconciliation */
+    private volatile Rollups rollups;
+    /** Changes applied while a reconciliation runs, to replay on its result */
+    private List<Map<Key, Cell>> recorded;
+    private volatile LocalDateTime reconciledAt;
+    private volatile boolean running;
+    private Thread reconciler;
+    private Counter drift;
+    private Timer reconciliations;
+
+    @PostConstruct
+    public void start() {
+        drift = Counter.builder("banking.aggregates.drift")
+            .description("Aggregate groups corrected by reconciliation")
+            .register(meterRegistry);
+        reconciliations = Timer.builder("banking.aggregates.reconcile")
+            .description("Time to rebuild the account aggregates from the database")
+            .register(meterRegistry);
+        running = true;
+        reconciler = Thread.ofPlatform().name("account-aggregates").daemon().start(this::reconcileLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        reconciler.interrupt();
+        reconciler.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void reconcileLoop() {
+        while (running) {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                logger.warn("Account aggregate reconciliation failed, retrying: {}", e.toString());
+            }
+            try {
+                Thread.sleep(rollups != null ? reconcileInterval.toMillis() : TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rebuild the totals from the database; returns the number of groups that had drifted
+     */
+    public synchronized int reconcile() {
+        long started = System.nanoTime();
+        synchronized (lock) {
+            recorded = new ArrayList<>();
+        }
+        Rollups fresh = new Rollups();
+        try {
+            for (List<AccountAggregateRepository.Totals> shardTotals
+                    : shardRouter.onEveryShard(shard -> aggregateRepository.findTotals())) {
+                fresh.apply(changes(shardTotals, 1, null));
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                recorded = null;
+            }
+            throw e;
+        }
+
+        int drifted;
+        synchronized (lock) {
+            for (Map<Key, Cell> changes : recorded) {
+                fresh.apply(changes);
+            }
+            recorded = null;
+            drifted = rollups != null ? fresh.differences(rollups) : 0;
+            rollups = fresh;
+            reconciledAt = LocalDateTime.now();
+        }
+        reconciliations.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (drifted > 0) {
+            drift.increment(drifted);
+            logger.info("Reconciled account aggregates, {} groups corrected", drifted);
+        }
+        return drifted;
+    }
+
+    /**
+     * Count new accounts once the current transaction commits
+     */
+    public void added(Collection<Account> accounts) {
+        Map<Key, Cell> changes = new HashMap<>();
+        for (Account account : accounts) {
+            changes.merge(key(account, account.getStatus()), Cell.of(1, account.getCurrency(), account.getBalance()), Cell::plus);
+        }
+        applyAfterCommit(changes);
+    }
+
+    /**
+     * Move an account from the totals of its previous status to those of its current one once
+     * the current transaction commits
+     */
+    public void statusChanged(Account account, AccountStatus from) {
+        if (account.getStatus() == from) {
+            return;
+        }
+        Map<Key, Cell> changes = new HashMap<>();
+        changes.put(key(account, from), Cell.of(-1, account.getCurrency(), -account.getBalance()));
+        changes.put(key(account, account.getStatus()), Cell.of(1, account.getCurrency(), account.getBalance()));
+        applyAfterCommit(changes);
+    }
+
+    /**
+     * The same for accounts updated with JDBC on the current shard, all previously in the given
+     * status: reads them as they are now, so call it after the update
+     */
+    public void statusChanged(Collection<String> accountIds, AccountStatus from) {
+        List<AccountAggregateRepository.Totals> totals = aggregateRepository.findTotals(accountIds);
+        Map<Key, Cell> changes = changes(totals, 1, null);
+        changes(totals, -1, from).forEach((key, cell) -> changes.merge(key, cell, Cell::plus));
+        applyAfterCommit(changes);
+    }
+
+    /**
+     * Stop counting accounts about to be deleted on the current shard once the current
+     * transaction commits: reads them as they are now, so call it before the delete
+     */
+    public void removing(Collection<String> accountIds) {
+        applyAfterCommit(changes(aggregateRepository.findTotals(accountIds), -1, null));
+    }
+
+    /**
+     * The groups of the requested dimensions, narrowed to the given values (null for any). A
+     * dimension filtered on is grouped by as well. Empty until the totals were first loaded.
+     */
+    public Optional<AccountAggregateResponse> getAggregates(Set<AccountAggregateDimension> groupBy, String branchId,
+                                                            AccountType accountType, String currency,
+                                                            AccountStatus status) {
+        Rollups current = rollups;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Key filter = new Key(branchId, accountType, currency, status);
+        Set<AccountAggregateDimension> filtered = filter.dimensions();
+        Set<AccountAggregateDimension> grouping = EnumSet.noneOf(AccountAggregateDimension.class);
+        grouping.addAll(groupBy);
+        grouping.addAll(filtered);
+        Map<Key, Cell> cells = current.groupings.get(grouping);
+
+        List<Key> keys = new ArrayList<>();
+        if (filtered.equals(grouping)) {
+            // Every dimension is pinned down, so there is at most one group to look up
+            if (cells.containsKey(filter)) {
+                keys.add(filter);
+            }
+        } else {
+            for (Key key : cells.keySet()) {
+                if (key.matches(filter)) {
+                    keys.add(key);
+                }
+            }
+            keys.sort(KEY_ORDER);
+        }
+
+        List<AccountAggregate> groups = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            Cell cell = cells.get(key);
+            if (cell != null) {
+                groups.add(toAggregate(key, cell));
+            }
+        }
+        List<String> dimensions = new ArrayList<>();
+        for (AccountAggregateDimension dimension : grouping) {
+            dimensions.add(dimension.getFieldName());
+        }
+        return Optional.of(new AccountAggregateResponse(dimensions, reconciledAt, groups));
+    }
+
+    private static AccountAggregate toAggregate(Key key, Cell cell) {
+        List<MonetaryAmount> balances = new ArrayList<>(cell.balances().size());
+        cell.balances().forEach((currency, balance) ->
+            balances.add(MonetaryAmount.ofMinorUnits(balance, currency)));
+        return new AccountAggregate(key.branchId(), key.accountType(), key.currency(), key.status(),
+            cell.accounts(), balances);
+    }
+
+    private void applyAfterCommit(Map<Key, Cell> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changes);
+                }
+            });
+        } else {
+            apply(changes);
+        }
+    }
+
+    private void apply(Map<Key, Cell> changes) {
+        synchronized (lock) {
+            if (rollups != null) {
+                rollups.apply(changes);
+            }
+            if (recorded != null) {
+                recorded.add(changes);
+            }
+        }
+    }
+
+    /**
+     * Database totals as changes of sign +1 or -1, under the given status instead of their own when set
+     */
+    private static Map<Key, Cell> changes(List<AccountAggregateRepository.Totals> totals, int sign, AccountStatus status) {
+        Map<Key, Cell> changes = new HashMap<>();
+        for (AccountAggregateRepository.Totals row : totals) {
+            Key key = new Key(row.branchId(), row.accountType(), row.currency(), status != null ? status : row.status());
+            changes.merge(key, Cell.of(sign * row.accounts(), row.currency(), sign * row.balance()), Cell::plus);
+        }
+        return changes;
+    }
+
+    private static Key key(Account account, AccountStatus status) {
+        return new Key(account.getBranchId(), account.getAccountType(), account.getCurrency(), status);
+    }
+
+    /**
+     * A group; dimensions not grouped by are null
+     */
+    private record Key(String branchId, AccountType accountType, String currency, AccountStatus status) {
+
+        Key project(Set<AccountAggregateDimension> grouping) {
+            return new Key(
+                grouping.contains(AccountAggregateDimension.BRANCH_ID) ? branchId : null,
+                grouping.contains(AccountAggregateDimension.ACCOUNT_TYPE) ? accountType : null,
+                grouping.contains(AccountAggregateDimension.CURRENCY) ? currency : null,
+                grouping.contains(AccountAggregateDimension.STATUS) ? status : null);
+        }
+
+        /** The dimensions this key, used as a filter, sets */
+        Set<AccountAggregateDimension> dimensions() {
+            Set<AccountAggregateDimension> dimensions = EnumSet.noneOf(AccountAggregateDimension.class);
+            if (branchId != null) {
+                dimensions.add(AccountAggregateDimension.BRANCH_ID);
+            }
+            if (accountType != null) {
+                dimensions.add(AccountAggregateDimension.ACCOUNT_TYPE);
+            }
+            if (currency != null) {
+                dimensions.add(AccountAggregateDimension.CURRENCY);
+            }
+            if (status != null) {
+                dimensions.add(AccountAggregateDimension.STATUS);
+            }
+            return dimensions;
+        }
+
+        boolean matches(Key filter) {
+            return (filter.branchId == null || filter.branchId.equals(branchId))
+                && (filter.accountType == null || filter.accountType == accountType)
+                && (filter.currency == null || filter.currency.equals(currency))
+                && (filter.status == null || filter.status == status);
+        }
+    }
+
+    /**
+     * Number of accounts and their balances in minor units per currency, leaving out zero
+     * totals; immutable
+     */
+    private record Cell(long accounts, Map<String, Long> balances) {
+
+        static Cell of(long accounts, String currency, long balance) {
+            Map<String, Long> balances = new TreeMap<>();
+            if (balance != 0) {
+                balances.put(currency, balance);
+            }
+            return new Cell(accounts, balances);
+        }
+
+        Cell plus(Cell other) {
+            Map<String, Long> sum = new TreeMap<>(balances);
+            other.balances.forEach((currency, balance) -> sum.merge(currency, balance, Long::sum));
+            sum.values().removeIf(balance -> balance == 0);
+            return new Cell(accounts + other.accounts, sum);
+        }
+
+        boolean isEmpty() {
+            return accounts == 0 && balances.isEmpty();
+        }
+    }
+
+    /**
+     * Totals of every grouping set; written under the service lock, read without it
+     */
+    private static final class Rollups {
+
+        private final Map<Set<AccountAggregateDimension>, Map<Key, Cell>> groupings = new HashMap<>();
+
+        Rollups() {
+            // Every subset of the dimensions, from the grand total to the finest groups
+            List<AccountAggregateDimension> dimensions = List.copyOf(ALL_DIMENSIONS);
+            for (int mask = 0; mask < 1 << dimensions.size(); mask++) {
+                Set<AccountAggregateDimension> grouping = EnumSet.noneOf(AccountAggregateDimension.class);
+                for (int i = 0; i < dimensions.size(); i++) {
+                    if ((mask & 1 << i) != 0) {
+                        grouping.add(dimensions.get(i));
+                    }
+                }
+                groupings.put(grouping, new ConcurrentHashMap<>());
+            }
+        }
+
+        void apply(Map<Key, Cell> changes) {
+            for (Map.Entry<Key, Cell> change : changes.entrySet()) {
+                for (Map.Entry<Set<AccountAggregateDimension>, Map<Key, Cell>> grouping : groupings.entrySet()) {
+                    grouping.getValue().compute(change.getKey().project(grouping.getKey()), (key, cell) -> {
+                        Cell sum = cell == null ? change.getValue() : cell.plus(change.getValue());
+                        return sum.isEmpty() ? null : sum;
+                    });
+                }
+            }
+        }
+
+        /** Number of finest groups whose totals differ from the other's */
+        int differences(Rollups other) {
+            Map<Key, Cell> mine = groupings.get(ALL_DIMENSIONS);
+            Map<Key, Cell> theirs = other.groupings.get(ALL_DIMENSIONS);
+            Set<Key> keys = new HashSet<>(mine.keySet());
+            keys.addAll(theirs.keySet());
+            int differences = 0;
+            for (Key key : keys) {
+                if (!Objects.equals(mine.get(key), theirs.get(key))) {
+                    differences++;
+                }
+            }
+            return differences;
+        }
+    }
+}
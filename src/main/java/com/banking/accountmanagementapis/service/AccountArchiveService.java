@@ -0,0 +1,138 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountArchiveRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot/cold tiering for closed accounts.
+ *
+ * A background thread moves accounts that have been closed for longer than
+ * {@code banking.archive.retention}, with their metadata, from the hot tables to the archive
+ * tables, so list queries and their indexes only carry accounts that are still of interest.
+ * Each shard is swept in batches of {@code banking.archive.batch-size} accounts, one short
+ * transaction per batch, so requests never wait behind a long move.
+ *
+ * Archived accounts stay readable by ID and searchable with {@code listAccounts?archived=true};
+ * they can no longer be changed.
+ */
+@Service
+public class AccountArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountArchiveService.class);
+
+    @Autowired
+    private AccountArchiveRepository archiveRepository;
+
+    @Autowired
+    private AccountCacheService cacheService;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.archive.retention:90d}")
+    private Duration retention;
+
+    @Value("${banking.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.archive.interval:1h}")
+    private Duration interval;
+
+    private volatile boolean running;
+    private Thread archiver;
+    private Counter archived;
+
+    @PostConstruct
+    public void start() {
+        archived = Counter.builder("banking.archive.archived")
+            .description("Closed accounts moved to the archive")
+            .register(meterRegistry);
+
+        if (enabled) {
+            running = true;
+            archiver = Thread.ofPlatform().name("account-archiver").daemon().start(this::archiveLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (archiver != null) {
+            running = false;
+            archiver.interrupt();
+            archiver.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void archiveLoop() {
+        while (running) {
+            try {
+                archiveClosedAccounts();
+            } catch (Exception e) {
+                logger.warn("Archiving closed accounts failed, retrying in {}: {}", interval, e.toString());
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Archive every account closed before the retention cutoff, on every shard. Returns the
+     * number of accounts moved.
+     */
+    public int archiveClosedAccounts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int moved = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                int batch;
+                do {
+                    batch = transactionTemplate.execute(status -> {
+                        List<String> accountIds = archiveRepository.findClosedBefore(cutoff, batchSize);
+                        cacheService.evictAccountsAndQueries(accountIds);
+                        aggregateService.removing(accountIds);
+                        return archiveRepository.archive(accountIds, LocalDateTime.now());
+                    });
+                    archived.increment(batch);
+                    moved += batch;
+                } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+            }
+        }
+        if (moved > 0) {
+            logger.info("Archived {} accounts closed before {}", moved, cutoff);
+        }
+        return moved;
+    }
+}
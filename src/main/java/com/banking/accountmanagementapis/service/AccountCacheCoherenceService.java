@@ -0,0 +1,196 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountCacheInvalidationRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache coherence between nodes sharing the database files, enabled with
+ * {@code banking.cache.coherence.enabled}.
+ *
+ * Every {@code banking.cache.coherence.poll-interval} a watcher asks each shard for its
+ * PRAGMA data_version on a connection of its own, outside the pool. That costs no I/O and only
+ * changes when some other connection committed; only then does it read the
+ * account_cache_invalidation rows other nodes wrote since its last look and evict just those
+ * accounts from this node's cache, and the cached query results only when a row says they
+ * changed. A remote change is so usually served stale for about one poll interval. A read on
+ * this node that loaded the old row before the remote commit can still put it back after the
+ * eviction, though, and then that entry is served for up to the cache TTL
+ * ({@code banking.cache.account.ttl}), as with local JDBC writes (see AccountCacheService).
+ *
+ * Rows older than {@code banking.cache.coherence.retention} are pruned. A node that fell so far
+ * behind that rows it had not read were pruned clears its whole account cache instead.
+ */
+@Service
+public class AccountCacheCoherenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountCacheCoherenceService.class);
+
+    @Autowired
+    private AccountCacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private AccountCacheService cacheService;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.cache.coherence.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${banking.cache.coherence.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${banking.cache.coherence.retention:1h}")
+    private Duration retention;
+
+    private final List<ShardWatch> watches = new ArrayList<>();
+    private volatile boolean running;
+    private Thread watcher;
+    private Counter remoteEvictions;
+
+    @PostConstruct
+    public void start() {
+        if (!cacheService.isCoherent()) {
+            return;
+        }
+        remoteEvictions = Counter.builder("banking.cache.remote-evictions")
+            .description("Cached accounts evicted after a change by another node")
+            .register(meterRegistry);
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            SingleConnectionDataSource connection = new SingleConnectionDataSource(shardRouter.jdbcUrl(shard), true);
+            // Nothing is cached yet, so whatever was written before startup is of no interest
+            watches.add(new ShardWatch(connection, invalidationRepository.findDataVersion(connection),
+                invalidationRepository.findLatestId(connection)));
+        }
+        running = true;
+        watcher = Thread.ofPlatform().name("account-cache-coherence").daemon().start(this::watchLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (watcher != null) {
+            running = false;
+            watcher.interrupt();
+            watcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        for (ShardWatch watch : watches) {
+            watch.connection.destroy();
+        }
+    }
+
+    private void watchLoop() {
+        long lastPrune = 0;
+        while (running) {
+            try {
+                for (ShardWatch watch : watches) {
+                    poll(watch);
+                }
+                if (lastPrune == 0 || System.nanoTime() - lastPrune >= TimeUnit.MINUTES.toNanos(10)) {
+                    prune();
+                    lastPrune = System.nanoTime();
+                }
+            } catch (Exception e) {
+                logger.warn("Cache coherence poll failed, retrying: {}", e.toString());
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evict whatever other nodes changed on the shard since the last poll
+     */
+    private void poll(ShardWatch watch) {
+        long dataVersion = invalidationRepository.findDataVersion(watch.connection);
+        if (dataVersion == watch.dataVersion) {
+            return;
+        }
+        // Our own pooled connections count as other connections too; their rows are filtered out below
+        long upToId = invalidationRepository.findLatestId(watch.connection);
+        if (upToId > watch.lastId) {
+            Long oldestId = invalidationRepository.findOldestId(watch.connection);
+            if (oldestId == null || oldestId > watch.lastId + 1) {
+                logger.warn("Missed cache invalidations pruned after {}, clearing the account cache", retention);
+                cacheService.evictAll();
+            } else {
+                evictUpTo(watch, upToId);
+            }
+            watch.lastId = upToId;
+        }
+        watch.dataVersion = dataVersion;
+    }
+
+    private void evictUpTo(ShardWatch watch, long upToId) {
+        long afterId = watch.lastId;
+        while (true) {
+            List<AccountCacheInvalidationRepository.Invalidation> batch = invalidationRepository.findInvalidations(
+                watch.connection, cacheService.getNodeId(), afterId, upToId, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<String> accountIds = new ArrayList<>(batch.size());
+            for (AccountCacheInvalidationRepository.Invalidation invalidation : batch) {
+                accountIds.add(invalidation.accountId());
+            }
+            cacheService.evictNow(accountIds);
+            remoteEvictions.increment(batch.size());
+            if (batch.size() < batchSize) {
+                return;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    private void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                deleted += invalidationRepository.deleteOlderThan(cutoff);
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Pruned {} cache invalidations older than {}", deleted, retention);
+        }
+    }
+
+    /**
+     * A shard's watch connection and how far the watcher has read
+     */
+    private static final class ShardWatch {
+
+        private final SingleConnectionDataSource connection;
+        private long dataVersion;
+        private long lastId;
+
+        ShardWatch(SingleConnectionDataSource connection, long dataVersion, long lastId) {
+            this.connection = connection;
+            this.dataVersion = dataVersion;
+            this.lastId = lastId;
+        }
+    }
+}
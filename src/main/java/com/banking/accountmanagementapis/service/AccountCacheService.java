@@ -0,0 +1,257 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountCacheInvalidationRepository;
+import com.banking.accountmanagementapis.repository.AccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the account second-level cache (see HibernateCacheConfig) in step with writes that
+ * bypass Hibernate, and reports how well each region is doing.
+ *
+ * JDBC writes evict the accounts they changed once their transaction commits; evicting
+ * earlier would let a concurrent read cache the old row again. A read that loaded the old row
+ * before the commit can still put it back afterwards, so such an entry lives at most one TTL.
+ * Cached query results are evicted only when accounts are added or removed or a column the
+ * queries filter on changes.
+ *
+ * With {@code banking.cache.coherence.enabled} every change, Hibernate's included, is also
+ * written to account_cache_invalidation in its transaction, for the other nodes sharing the
+ * database to evict (see AccountCacheCoherenceService).
+ *
+ * Hit ratios per region are exported as {@code banking.cache.hit-ratio} and logged every
+ * {@code banking.cache.report-interval} (0 disables the log).
+ */
+@Service
+public class AccountCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountCacheService.class);
+    private static final String METADATA_ROLE = Account.class.getName() + ".metadata";
+    private static final List<String> REGIONS = List.of(
+        Account.CACHE_REGION, Account.METADATA_CACHE_REGION, AccountRepository.QUERY_CACHE_REGION);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountCacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.cache.report-interval:15m}")
+    private Duration reportInterval;
+
+    @Value("${banking.cache.coherence.enabled:false}")
+    private boolean coherent;
+
+    /** Identifies this node's entries in account_cache_invalidation */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Cache cache;
+    private Statistics statistics;
+    private volatile boolean running;
+    private Thread reporter;
+
+    @PostConstruct
+    public void start() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+
+        for (String region : REGIONS) {
+            FunctionCounter.builder("banking.cache.requests", statistics, stats -> regionStatistics(region).getHitCount())
+                .description("Second-level cache lookups")
+                .tags("region", region, "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder("banking.cache.requests", statistics, stats -> regionStatistics(region).getMissCount())
+                .description("Second-level cache lookups")
+                .tags("region", region, "result", "miss")
+                .register(meterRegistry);
+            Gauge.builder("banking.cache.hit-ratio", statistics, stats -> hitRatio(regionStatistics(region)))
+                .description("Share of second-level cache lookups served from the cache")
+                .tag("region", region)
+                .register(meterRegistry);
+        }
+
+        if (!reportInterval.isZero()) {
+            running = true;
+            reporter = Thread.ofPlatform().name("account-cache-report").daemon().start(this::reportLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (reporter != null) {
+            running = false;
+            reporter.interrupt();
+            reporter.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isCoherent() {
+        return coherent;
+    }
+
+    /**
+     * Evict the given accounts and their metadata, and all cached query results, once the
+     * current transaction on the current shard commits (straight away outside one), for writes
+     * that remove accounts or change a column the cached queries filter on
+     */
+    public void evictAccountsAndQueries(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        List<String> evicted = new ArrayList<>(accountIds);
+        evicted.add(null);
+        publish(evicted);
+        afterCommit(() -> evictNow(evicted));
+    }
+
+    /**
+     * Evict just the given accounts' cached rows once the current transaction commits, for
+     * JDBC writes of last_activity_at. Their metadata and the cached query results, which
+     * do not filter on it, are kept (a page sorted by last activity keeps its order for at most
+     * one TTL); other nodes are not told and show the old time for at most one TTL.
+     */
+    public void evictAccountRows(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        List<String> evicted = List.copyOf(accountIds);
+        afterCommit(() -> {
+            for (String accountId : evicted) {
+                cache.evictEntityData(Account.class, accountId);
+            }
+        });
+    }
+
+    /**
+     * Evict all cached query results once the current transaction commits, for writes that
+     * only add accounts
+     */
+    public void evictQueries() {
+        publish(Collections.singletonList(null));
+        afterCommit(() -> cache.evictQueryRegion(AccountRepository.QUERY_CACHE_REGION));
+    }
+
+    /**
+     * Announce a change made through Hibernate, which keeps this node's cache current itself,
+     * to the other nodes; queriesChanged when it added the account or changed a filtered column
+     */
+    public void publishChange(String accountId, boolean queriesChanged) {
+        publish(queriesChanged ? Arrays.asList(accountId, null) : List.of(accountId));
+    }
+
+    /**
+     * Evict the given accounts and their metadata now, and all cached query results too if
+     * the IDs include null
+     */
+    public void evictNow(Collection<String> accountIds) {
+        boolean queriesChanged = false;
+        for (String accountId : accountIds) {
+            if (accountId == null) {
+                queriesChanged = true;
+            } else {
+                cache.evictEntityData(Account.class, accountId);
+                cache.evictCollectionData(METADATA_ROLE, accountId);
+            }
+        }
+        if (queriesChanged) {
+            cache.evictQueryRegion(AccountRepository.QUERY_CACHE_REGION);
+        }
+    }
+
+    /**
+     * Evict everything cached about accounts, for when a node can no longer tell what changed
+     */
+    public void evictAll() {
+        cache.evictEntityData(Account.class);
+        cache.evictCollectionData(METADATA_ROLE);
+        cache.evictQueryRegion(AccountRepository.QUERY_CACHE_REGION);
+    }
+
+    private void publish(List<String> accountIds) {
+        if (coherent) {
+            invalidationRepository.append(nodeId, accountIds, LocalDateTime.now());
+        }
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private void reportLoop() {
+        while (running) {
+            try {
+                Thread.sleep(reportInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            logger.info("Second-level cache report:{}", report());
+        }
+    }
+
+    /**
+     * Hits, misses, puts and hit ratio of each account cache region since startup
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n%-20s %12s %12s %12s %9s%n", "region", "hits", "misses", "puts", "hit ratio"));
+        for (String region : REGIONS) {
+            CacheRegionStatistics stats = regionStatistics(region);
+            report.append(String.format("%-20s %12d %12d %12d %8.1f%%%n", region,
+                stats.getHitCount(), stats.getMissCount(), stats.getPutCount(), hitRatio(stats) * 100));
+        }
+        return report.toString();
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        return statistics.getCacheRegionStatistics(region);
+    }
+
+    private static double hitRatio(CacheRegionStatistics stats) {
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0 : (double) stats.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,414 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountChangeEvent;
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountChangeLogRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account change feed: changes are appended to account_change_log in the transaction that
+ * makes them, and a single dispatcher thread tails the log and fans each new batch out to
+ * every Server-Sent Events subscriber.
+ *
+ * The dispatcher never writes to a connection itself. Each subscriber has a queue of up to
+ * {@code banking.change-feed.subscriber-buffer} events drained by a sender thread of its own,
+ * so a slow client holds up only itself; only that thread ever sends on or completes the emitter,
+ * whose methods lock it for as long as a write blocks. Senders are platform threads, since a
+ * virtual thread blocked in that lock would pin its carrier. A subscriber whose queue overflows
+ * with live events is dropped; it resumes from the log when it reconnects with its last event ID.
+ * Replays are only fetched as far as the queue has room.
+ *
+ * The log's seq is the SSE event ID. SQLite admits one writer at a time, so seq order is
+ * commit order and a subscriber that reconnects with its last seen ID misses nothing that is
+ * still within the retention period. Subscribers joining or resuming behind the live position
+ * are replayed their slice of the log before they receive live batches again.
+ *
+ * With sharding enabled every shard keeps its own log and seq, so a position in the feed is
+ * one seq per shard. Event IDs carry the whole position as the seqs joined with dots, in
+ * shard order; without sharding an event ID is simply the seq.
+ */
+@Service
+public class AccountChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountChangeFeedService.class);
+
+    @Autowired
+    private AccountChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Value("${banking.change-feed.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.change-feed.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${banking.change-feed.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    @Value("${banking.change-feed.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    @Value("${banking.change-feed.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${banking.change-feed.subscriber-buffer:1000}")
+    private int subscriberBuffer;
+
+    @Value("${banking.change-feed.retention:7d}")
+    private Duration retention;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    /** Highest seq fanned out so far on each shard; only touched by the dispatcher thread */
+    private long[] lastDispatched;
+
+    @PostConstruct
+    public void start() {
+        lastDispatched = findLatestSeqs();
+        running = true;
+        dispatcher = Thread.ofPlatform().name("account-change-feed").daemon().start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        for (Subscriber subscriber : subscribers) {
+            drop(subscriber);
+        }
+    }
+
+    /**
+     * Log a change of the given account. Joins the caller's transaction; subscribers are
+     * woken once it commits.
+     */
+    public void record(AccountChangeType changeType, Account account) {
+        record(changeType, account.getAccountId(), account.getCustomerId(), account.getStatus());
+    }
+
+    /**
+     * Log a change made outside the entity, e.g. by a batch UPDATE
+     */
+    public void record(AccountChangeType changeType, String accountId, String customerId, AccountStatus status) {
+        changeLogRepository.append(changeType, accountId, customerId, status, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUps.release();
+                }
+            });
+        } else {
+            wakeUps.release();
+        }
+    }
+
+    /**
+     * Open a subscription for one customer's changes (all customers when null), starting
+     * after the given event ID or at the current end of the log when it is null.
+     * Returns null when the subscriber limit is reached.
+     *
+     * @throws IllegalArgumentException if lastEventId is not an event ID of this feed
+     */
+    public SseEmitter subscribe(String customerId, String lastEventId) {
+        long[] cursor = lastEventId != null ? parseEventId(lastEventId) : null;
+        if (subscribers.size() >= maxSubscribers) {
+            logger.warn("Change feed subscription rejected, {} subscribers connected", subscribers.size());
+            return null;
+        }
+        SseEmitter emitter = newEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, customerId,
+            customerId != null ? shardRouter.shardFor(customerId) : -1,
+            cursor != null ? cursor : findLatestSeqs(), subscriberBuffer);
+        emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            subscriber.sender.interrupt();
+        });
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> {
+            subscribers.remove(subscriber);
+            subscriber.sender.interrupt();
+        });
+        subscriber.sender = Thread.ofPlatform().name("account-change-feed-sender").daemon().start(() -> sendLoop(subscriber));
+        subscribers.add(subscriber);
+        wakeUps.release();
+
+        logger.info("Change feed subscriber added - CustomerId: {}, After: {}, Subscribers: {}",
+                   customerId, formatEventId(subscriber.cursor), subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void dispatchLoop() {
+        long lastHeartbeat = System.nanoTime();
+        long lastPrune = 0;
+        while (running) {
+            try {
+                boolean more = dispatch();
+                if (System.nanoTime() - lastHeartbeat >= heartbeatInterval.toNanos()) {
+                    sendHeartbeats();
+                    lastHeartbeat = System.nanoTime();
+                }
+                if (lastPrune == 0 || System.nanoTime() - lastPrune >= TimeUnit.HOURS.toNanos(1)) {
+                    prune();
+                    lastPrune = System.nanoTime();
+                }
+                if (!more) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Change feed dispatch failed, retrying", e);
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * One pass: replays the log to subscribers behind the live position, then sends the next
+     * batch of new events to everyone else. Returns true when more events are already waiting.
+     */
+    boolean dispatch() {
+        long[] heads = new long[lastDispatched.length];
+        List<List<AccountChangeEvent>> batches = new ArrayList<>(lastDispatched.length);
+        boolean more = false;
+        for (int shard = 0; shard < lastDispatched.length; shard++) {
+            List<AccountChangeEvent> batch;
+            try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                batch = changeLogRepository.findEvents(lastDispatched[shard], Long.MAX_VALUE, null, batchSize);
+            }
+            batches.add(batch);
+            heads[shard] = batch.isEmpty() ? lastDispatched[shard] : batch.get(batch.size() - 1).getSeq();
+            more |= batch.size() == batchSize;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            more |= dispatchTo(subscriber, batches, heads);
+        }
+        lastDispatched = heads;
+        return more;
+    }
+
+    /**
+     * Brings one subscriber up to the new heads, shard by shard. Returns true when it is still
+     * catching up on some shard.
+     */
+    private boolean dispatchTo(Subscriber subscriber, List<List<AccountChangeEvent>> batches, long[] heads) {
+        boolean replaying = false;
+        for (int shard = 0; shard < heads.length; shard++) {
+            if (subscriber.shard >= 0 && subscriber.shard != shard) {
+                // The subscriber's customer has nothing on this shard
+                subscriber.cursor[shard] = Math.max(subscriber.cursor[shard], heads[shard]);
+                continue;
+            }
+            if (subscriber.cursor[shard] < lastDispatched[shard]) {
+                int room = subscriber.outbox.remainingCapacity();
+                if (room == 0) {
+                    // Its sender is still busy with the last replay batch; the rest waits in the log
+                    continue;
+                }
+                int limit = Math.min(batchSize, room);
+                List<AccountChangeEvent> replay;
+                try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                    replay = changeLogRepository.findEvents(
+                        subscriber.cursor[shard], lastDispatched[shard], subscriber.customerId, limit);
+                }
+                if (!enqueue(subscriber, shard, replay)) {
+                    return false;
+                }
+                if (replay.size() == limit) {
+                    // Still catching up; live events wait until it reaches the live position
+                    replaying = true;
+                    continue;
+                }
+                subscriber.cursor[shard] = lastDispatched[shard];
+            }
+            if (!enqueue(subscriber, shard, batches.get(shard))) {
+                return false;
+            }
+            subscriber.cursor[shard] = Math.max(subscriber.cursor[shard], heads[shard]);
+        }
+        return replaying;
+    }
+
+    /**
+     * Queues the subscriber's share of one shard's events for its sender. A subscriber they do not
+     * fit has fallen a whole buffer behind and is dropped; it resumes from the log on reconnect.
+     */
+    private boolean enqueue(Subscriber subscriber, int shard, List<AccountChangeEvent> events) {
+        for (AccountChangeEvent event : events) {
+            if (event.getSeq() <= subscriber.cursor[shard]) {
+                continue;
+            }
+            subscriber.cursor[shard] = event.getSeq();
+            if (subscriber.customerId == null || subscriber.customerId.equals(event.getCustomerId())) {
+                SseEmitter.SseEventBuilder sseEvent = SseEmitter.event()
+                    .id(formatEventId(subscriber.cursor))
+                    .name(event.getChangeType().name())
+                    .data(event, MediaType.APPLICATION_JSON);
+                if (!subscriber.outbox.offer(sseEvent)) {
+                    logger.info("Dropping change feed subscriber {} events behind - CustomerId: {}",
+                               subscriberBuffer, subscriber.customerId);
+                    drop(subscriber);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sender of one subscriber: writes its queued events to the connection until it is dropped,
+     * then ends the stream, or until the connection fails
+     */
+    private void sendLoop(Subscriber subscriber) {
+        try {
+            while (true) {
+                subscriber.emitter.send(subscriber.outbox.take());
+            }
+        } catch (InterruptedException e) {
+            subscriber.emitter.complete();
+        } catch (Exception e) {
+            logger.debug("Dropping change feed subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Stop fanning out to the subscriber; its sender ends the stream once any write in progress returns
+     */
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.sender.interrupt();
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            // Queued events keep the connection alive already
+            if (subscriber.outbox.isEmpty()) {
+                subscriber.outbox.offer(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    private void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        for (int shard = 0; shard < lastDispatched.length; shard++) {
+            try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                deleted += changeLogRepository.deleteOlderThan(cutoff);
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Pruned {} change log entries older than {}", deleted, retention);
+        }
+    }
+
+    private long[] findLatestSeqs() {
+        List<Long> latest = shardRouter.onEveryShard(shard -> changeLogRepository.findLatestSeq());
+        long[] seqs = new long[latest.size()];
+        for (int shard = 0; shard < seqs.length; shard++) {
+            seqs[shard] = latest.get(shard);
+        }
+        return seqs;
+    }
+
+    static String formatEventId(long[] cursor) {
+        if (cursor.length == 1) {
+            return Long.toString(cursor[0]);
+        }
+        StringBuilder eventId = new StringBuilder();
+        for (int shard = 0; shard < cursor.length; shard++) {
+            if (shard > 0) {
+                eventId.append('.');
+            }
+            eventId.append(cursor[shard]);
+        }
+        return eventId.toString();
+    }
+
+    long[] parseEventId(String eventId) {
+        String[] seqs = eventId.split("\\.", -1);
+        if (seqs.length != shardRouter.getShardCount()) {
+            throw new IllegalArgumentException("Not an event ID of this feed: " + eventId);
+        }
+        long[] cursor = new long[seqs.length];
+        for (int shard = 0; shard < seqs.length; shard++) {
+            try {
+                cursor[shard] = Long.parseLong(seqs[shard]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not an event ID of this feed: " + eventId);
+            }
+            if (cursor[shard] < 0) {
+                throw new IllegalArgumentException("Not an event ID of this feed: " + eventId);
+            }
+        }
+        return cursor;
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final String customerId;
+        /** Shard of the customer, -1 when following all customers */
+        final int shard;
+        /** Highest seq this subscriber has been queued past on each shard; only touched by the dispatcher */
+        final long[] cursor;
+        /** Events queued by the dispatcher for the sender */
+        final BlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        volatile Thread sender;
+
+        Subscriber(SseEmitter emitter, String customerId, int shard, long[] cursor, int buffer) {
+            this.emitter = emitter;
+            this.customerId = customerId;
+            this.shard = shard;
+            this.cursor = cursor;
+            this.outbox = new ArrayBlockingQueue<>(buffer);
+        }
+    }
+}
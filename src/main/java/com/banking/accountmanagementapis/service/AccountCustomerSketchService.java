@@ -0,0 +1,322 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountAggregateDimension;
+import com.banking.accountmanagementapis.dto.AccountCustomerCount;
+import com.banking.accountmanagementapis.dto.AccountCustomerCountResponse;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountCustomerSketchRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approximate numbers of distinct customers per branch and account type, from HyperLogLog
+ * sketches instead of COUNT(DISTINCT customer_id) over the accounts table.
+ *
+ * A sketch is kept in memory for every group of every grouping (branch and type, branch, type
+ * and the grand total) and updated once a transaction that opened accounts commits, so a
+ * request only reads cached estimates. The relative standard error of an estimate is
+ * 1.04 / sqrt(2^{@code banking.customer-sketch.precision}): 0.81% at the default 14, so 99.7%
+ * of estimates are within 2.4% of the true count, at 16 KiB of memory per sketch.
+ *
+ * Branch-and-type sketches are written to customer_sketch on shard 0 every
+ * {@code banking.customer-sketch.flush-interval} and on shutdown, merged with the stored ones,
+ * so instances sharing the database add up instead of overwriting each other. When none are
+ * stored (or they were stored at another precision) they are built from every account,
+ * archived ones included. A customer stays counted after closing the account. A crash can
+ * lose up to one flush interval of new customers; deleting the rows rebuilds the sketches.
+ */
+@Service
+public class AccountCustomerSketchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountCustomerSketchService.class);
+    private static final Set<AccountAggregateDimension> DIMENSIONS =
+        EnumSet.of(AccountAggregateDimension.BRANCH_ID, AccountAggregateDimension.ACCOUNT_TYPE);
+    private static final Comparator<Key> KEY_ORDER = Comparator
+        .comparing(Key::branchId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+        .thenComparing(Key::accountType, Comparator.nullsFirst(Comparator.<AccountType>naturalOrder()));
+
+    @Autowired
+    private AccountCustomerSketchRepository sketchRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.customer-sketch.precision:14}")
+    private int precision;
+
+    @Value("${banking.customer-sketch.flush-interval:1m}")
+    private Duration flushInterval;
+
+    /** Sketches of each grouping by group; dimensions not grouped by are null in the key */
+    private final Map<Set<AccountAggregateDimension>, Map<Key, HyperLogLog>> groupings = Map.of(
+        EnumSet.noneOf(AccountAggregateDimension.class), new ConcurrentHashMap<>(),
+        EnumSet.of(AccountAggregateDimension.BRANCH_ID), new ConcurrentHashMap<>(),
+        EnumSet.of(AccountAggregateDimension.ACCOUNT_TYPE), new ConcurrentHashMap<>(),
+        DIMENSIONS, new ConcurrentHashMap<>());
+    /** Branch-and-type sketches changed since they were last written */
+    private final Set<Key> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile boolean running;
+    private Thread flusher;
+    private Counter flushed;
+
+    @PostConstruct
+    public void start() {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalStateException("banking.customer-sketch.precision must be between " +
+                HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION + ": " + precision);
+        }
+        flushed = Counter.builder("banking.customer-sketch.flushed")
+            .description("Distinct-customer sketches written to the database")
+            .register(meterRegistry);
+        running = true;
+        flusher = Thread.ofPlatform().name("customer-sketch").daemon().start(this::flushLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        if (loaded) {
+            flush();
+        }
+    }
+
+    private void flushLoop() {
+        while (running && !loaded) {
+            try {
+                load();
+            } catch (Exception e) {
+                logger.warn("Loading distinct-customer sketches failed, retrying: {}", e.toString());
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        while (running) {
+            try {
+                Thread.sleep(flushInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.warn("Flushing distinct-customer sketches failed, retrying: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Count the customers of new accounts once the current transaction commits
+     */
+    public void added(Collection<Account> accounts) {
+        List<Key> keys = new ArrayList<>(accounts.size());
+        List<String> customerIds = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            keys.add(new Key(account.getBranchId(), account.getAccountType()));
+            customerIds.add(account.getCustomerId());
+        }
+        Runnable add = () -> {
+            for (int i = 0; i < keys.size(); i++) {
+                add(keys.get(i), customerIds.get(i));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+    }
+
+    /**
+     * Estimated distinct customers of the requested groups, narrowed to the given branch and
+     * type (null for any); a dimension filtered on is grouped by as well. Empty until the
+     * sketches were loaded.
+     */
+    public Optional<AccountCustomerCountResponse> getCustomerCounts(Set<AccountAggregateDimension> groupBy,
+                                                                    String branchId, AccountType accountType) {
+        if (!DIMENSIONS.containsAll(groupBy)) {
+            throw new IllegalArgumentException("Distinct customers can only be grouped by branchId and accountType");
+        }
+        if (!loaded) {
+            return Optional.empty();
+        }
+        Set<AccountAggregateDimension> grouping = EnumSet.noneOf(AccountAggregateDimension.class);
+        grouping.addAll(groupBy);
+        if (branchId != null) {
+            grouping.add(AccountAggregateDimension.BRANCH_ID);
+        }
+        if (accountType != null) {
+            grouping.add(AccountAggregateDimension.ACCOUNT_TYPE);
+        }
+        Map<Key, HyperLogLog> sketches = groupings.get(grouping);
+
+        List<AccountCustomerCount> groups = new ArrayList<>();
+        List<Key> keys = new ArrayList<>();
+        for (Key key : sketches.keySet()) {
+            if ((branchId == null || branchId.equals(key.branchId()))
+                    && (accountType == null || accountType == key.accountType())) {
+                keys.add(key);
+            }
+        }
+        keys.sort(KEY_ORDER);
+        for (Key key : keys) {
+            groups.add(new AccountCustomerCount(key.branchId(), key.accountType(), sketches.get(key).estimate()));
+        }
+        List<String> dimensions = new ArrayList<>();
+        for (AccountAggregateDimension dimension : grouping) {
+            dimensions.add(dimension.getFieldName());
+        }
+        return Optional.of(new AccountCustomerCountResponse(dimensions, HyperLogLog.relativeStandardError(precision), groups));
+    }
+
+    private void add(Key key, String customerId) {
+        for (Map.Entry<Set<AccountAggregateDimension>, Map<Key, HyperLogLog>> grouping : groupings.entrySet()) {
+            boolean changed = sketch(grouping.getValue(), key.project(grouping.getKey())).add(customerId);
+            if (changed && grouping.getKey().equals(DIMENSIONS)) {
+                dirty.add(key);
+            }
+        }
+    }
+
+    /**
+     * Fold a branch-and-type sketch into every sketch whose group contains it
+     */
+    private void merge(Key key, HyperLogLog sketch) {
+        for (Map.Entry<Set<AccountAggregateDimension>, Map<Key, HyperLogLog>> grouping : groupings.entrySet()) {
+            sketch(grouping.getValue(), key.project(grouping.getKey())).merge(sketch);
+        }
+    }
+
+    private HyperLogLog sketch(Map<Key, HyperLogLog> sketches, Key key) {
+        return sketches.computeIfAbsent(key, k -> new HyperLogLog(precision));
+    }
+
+    /**
+     * Read the stored sketches, or build them from the accounts when there are none to use
+     */
+    private void load() {
+        List<AccountCustomerSketchRepository.StoredSketch> stored;
+        try (AccountShardRouter.Scope scope = shardRouter.routeToShard(0)) {
+            stored = sketchRepository.findAll();
+        }
+        if (stored.isEmpty() || stored.stream().anyMatch(sketch -> sketch.precision() != precision)) {
+            if (!stored.isEmpty()) {
+                logger.info("Distinct-customer sketches were stored at another precision, rebuilding at {}", precision);
+                TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                try (AccountShardRouter.Scope scope = shardRouter.routeToShard(0)) {
+                    transactionTemplate.executeWithoutResult(status -> sketchRepository.deleteAll());
+                }
+            }
+            rebuild();
+        } else {
+            for (AccountCustomerSketchRepository.StoredSketch sketch : stored) {
+                merge(new Key(sketch.branchId(), sketch.accountType()), HyperLogLog.fromBytes(precision, sketch.sketch()));
+            }
+            logger.info("Loaded {} distinct-customer sketches", stored.size());
+        }
+        loaded = true;
+    }
+
+    /**
+     * Add the customer of every account on every shard and store the sketches, for writers that
+     * bypass {@link #added}. Sketches only ever grow, so this is safe at any time.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long accounts = 0;
+        for (long count : shardRouter.onEveryShard(shard -> {
+            long[] scanned = {0};
+            sketchRepository.forEachCustomer((branchId, accountType, customerId) -> {
+                add(new Key(branchId, accountType), customerId);
+                scanned[0]++;
+            });
+            return scanned[0];
+        })) {
+            accounts += count;
+        }
+        flush();
+        logger.info("Built distinct-customer sketches from {} accounts in {} ms", accounts,
+            System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Write the changed branch-and-type sketches, each merged with the stored one first
+     */
+    public synchronized void flush() {
+        List<Key> keys = new ArrayList<>(dirty);
+        if (keys.isEmpty()) {
+            return;
+        }
+        dirty.removeAll(keys);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try (AccountShardRouter.Scope scope = shardRouter.routeToShard(0)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (Key key : keys) {
+                    // Another instance may have stored customers this one has not seen
+                    sketchRepository.find(key.branchId(), key.accountType())
+                        .filter(stored -> stored.precision() == precision)
+                        .ifPresent(stored -> merge(key, HyperLogLog.fromBytes(precision, stored.sketch())));
+                    HyperLogLog sketch = groupings.get(DIMENSIONS).get(key);
+                    sketchRepository.save(key.branchId(), key.accountType(), precision, sketch.toBytes(), now);
+                }
+            });
+        } catch (RuntimeException e) {
+            dirty.addAll(keys);
+            throw e;
+        }
+        flushed.increment(keys.size());
+    }
+
+    private record Key(String branchId, AccountType accountType) {
+
+        Key project(Set<AccountAggregateDimension> grouping) {
+            return new Key(grouping.contains(AccountAggregateDimension.BRANCH_ID) ? branchId : null,
+                grouping.contains(AccountAggregateDimension.ACCOUNT_TYPE) ? accountType : null);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountDormancyRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks accounts INACTIVE once they have seen no activity for {@code banking.dormancy.inactive-after}.
+ *
+ * A sweep walks the active accounts of every shard in parallel, least recently active first,
+ * along idx_status_last_activity in keyset chunks of {@code banking.dormancy.chunk-size}. Each
+ * chunk is one set-based UPDATE plus its change feed and outbox entries and the sweep's
+ * checkpoint, committed together; a sweep interrupted by a restart resumes after its last
+ * committed chunk, with its original cutoff.
+ *
+ * The sweep is throttled to {@code banking.dormancy.duty-cycle}: after a chunk that took t it
+ * pauses for t * (1 - dutyCycle) / dutyCycle, so it holds a shard's writer lock and a pooled
+ * connection at most that share of the time and requests never queue behind it for long.
+ *
+ * Activity is written behind by AccountActivityTracker, so a sweep first flushes the pending
+ * touches and then leaves out any account touched since, until the tracker writes it.
+ */
+@Service
+public class AccountDormancyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountDormancyService.class);
+
+    @Autowired
+    private AccountDormancyRepository dormancyRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountActivityTracker activityTracker;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.dormancy.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.dormancy.inactive-after:6m}")
+    private Period inactiveAfter;
+
+    @Value("${banking.dormancy.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${banking.dormancy.duty-cycle:0.2}")
+    private double dutyCycle;
+
+    @Value("${banking.dormancy.interval:24h}")
+    private Duration interval;
+
+    private volatile boolean running;
+    /** Set on shutdown; ends sweeps in progress, scheduled or not */
+    private volatile boolean stopped;
+    private Thread sweeper;
+    private Counter marked;
+
+    @PostConstruct
+    public void start() {
+        if (dutyCycle <= 0 || dutyCycle > 1) {
+            throw new IllegalStateException("banking.dormancy.duty-cycle must be in (0, 1]: " + dutyCycle);
+        }
+        marked = Counter.builder("banking.dormancy.marked")
+            .description("Accounts marked INACTIVE by the dormancy sweep")
+            .register(meterRegistry);
+
+        if (enabled) {
+            running = true;
+            sweeper = Thread.ofPlatform().name("account-dormancy").daemon().start(this::sweepLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        if (sweeper != null) {
+            running = false;
+            sweeper.interrupt();
+            sweeper.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void sweepLoop() {
+        while (running) {
+            try {
+                sweep();
+            } catch (Exception e) {
+                logger.warn("Dormancy sweep failed, retrying in {}: {}", interval, e.toString());
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sweep every shard, resuming unfinished sweeps, whether or not scheduled sweeps are
+     * enabled. Returns the number of accounts marked INACTIVE.
+     */
+    public int sweep() {
+        // Once, not per shard: the flush itself runs on every shard
+        activityTracker.flush();
+        int total = 0;
+        for (int count : shardRouter.onEveryShard(this::sweepShard)) {
+            total += count;
+        }
+        if (total > 0) {
+            logger.info("Dormancy sweep marked {} accounts INACTIVE after {} without activity", total, inactiveAfter);
+        }
+        return total;
+    }
+
+    private int sweepShard(int shard) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Optional<AccountDormancyRepository.Checkpoint> checkpoint = dormancyRepository.findCheckpoint();
+        LocalDateTime cutoff = checkpoint.map(AccountDormancyRepository.Checkpoint::cutoff)
+            .orElseGet(() -> LocalDateTime.now().minus(inactiveAfter));
+        AccountDormancyRepository.Position position = checkpoint.map(AccountDormancyRepository.Checkpoint::position)
+            .orElse(null);
+        if (position != null) {
+            logger.info("Resuming dormancy sweep of shard {} with cutoff {} after account {}",
+                shard, cutoff, position.accountId());
+        }
+
+        int shardMarked = 0;
+        while (!stopped) {
+            long started = System.nanoTime();
+            AccountDormancyRepository.Position after = position;
+            Chunk chunk = transactionTemplate.execute(status -> sweepChunk(cutoff, after));
+            marked.increment(chunk.marked());
+            shardMarked += chunk.marked();
+            if (chunk.last() == null) {
+                break;
+            }
+            position = chunk.last();
+            try {
+                long elapsed = System.nanoTime() - started;
+                TimeUnit.NANOSECONDS.sleep((long) (elapsed * (1 - dutyCycle) / dutyCycle));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return shardMarked;
+    }
+
+    /**
+     * Mark the next chunk after the given position and move the checkpoint past it. The
+     * returned last position is null once the sweep is complete.
+     */
+    private Chunk sweepChunk(LocalDateTime cutoff, AccountDormancyRepository.Position after) {
+        List<AccountDormancyRepository.Position> dormant = dormancyRepository.findDormant(cutoff, after, chunkSize);
+        List<String> accountIds = new ArrayList<>(dormant.size());
+        for (AccountDormancyRepository.Position position : dormant) {
+            if (!activityTracker.hasPendingActivity(position.accountId())) {
+                accountIds.add(position.accountId());
+            }
+        }
+        int chunkMarked = accountService.markInactive(accountIds, cutoff);
+        if (dormant.size() < chunkSize) {
+            dormancyRepository.deleteCheckpoint();
+            return new Chunk(null, chunkMarked);
+        }
+        AccountDormancyRepository.Position last = dormant.get(dormant.size() - 1);
+        dormancyRepository.saveCheckpoint(cutoff, last);
+        return new Chunk(last, chunkMarked);
+    }
+
+    private record Chunk(AccountDormancyRepository.Position last, int marked) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers account events to, selected with
+ * {@code banking.outbox.sink}.
+ *
+ * A batch counts as delivered when publish returns; it is retried whole when publish throws,
+ * so implementations must tolerate seeing the same events again.
+ */
+public interface AccountEventSink {
+
+    void publish(List<AccountOutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,372 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.ExportFormat;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.dto.MonetaryAmountSerializer;
+import com.banking.accountmanagementapis.repository.AccountExportRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Streams accounts to an output stream as NDJSON or CSV.
+ *
+ * Each row is written as soon as it is read from the cursor and the output is flushed
+ * every {@link #FLUSH_INTERVAL} rows, so heap usage does not depend on the result size.
+ *
+ * Exports not limited to one customer read all shards in parallel when sharding is enabled.
+ */
+@Service
+public class AccountExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountExportService.class);
+    private static final int FLUSH_INTERVAL = 500;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final byte[] END_OF_SHARD = new byte[0];
+
+    @Autowired
+    private AccountExportRepository accountExportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    /**
+     * Export all accounts matching the filters; null filters are ignored.
+     *
+     * @return the number of accounts written
+     */
+    public long exportAccounts(ExportFormat format, String customerId, String branchId, AccountType accountType,
+                               AccountStatus status, String currency, OutputStream out) throws IOException {
+        logger.info("Exporting accounts as {} - branchId: {}, status: {}", format, branchId, status);
+
+        if (customerId == null && shardRouter.isSharded()) {
+            return exportAcrossShards(format, branchId, accountType, status, currency, out);
+        }
+
+        AccountRowWriter writer = newRowWriter(format, out);
+        long[] rows = {0};
+        long start = System.nanoTime();
+
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            writer.writeHeader();
+            accountExportRepository.streamAccounts(customerId, branchId, accountType, status, currency, rs -> {
+                try {
+                    writer.writeRow(rs);
+                    if (++rows[0] % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // Typically the client disconnecting mid-stream
+            throw e.getCause();
+        }
+
+        logger.info("Exported {} accounts as {} in {} ms", rows[0], format, (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    /**
+     * Scatter-gather export: every shard is read and formatted on its own thread into chunks of
+     * {@link #FLUSH_INTERVAL} rows, and the calling thread writes chunks out as they arrive, so
+     * rows of different shards interleave chunk by chunk. The bounded queue keeps a slow client
+     * from letting the shards run ahead.
+     */
+    private long exportAcrossShards(ExportFormat format, String branchId, AccountType accountType,
+                                    AccountStatus status, String currency, OutputStream out) throws IOException {
+        BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(shardRouter.getShardCount() * 2);
+        long start = System.nanoTime();
+
+        List<Future<Long>> shards = shardRouter.submitToEveryShard(
+            shard -> exportShard(format, branchId, accountType, status, currency, chunks));
+        long rows = 0;
+        try {
+            if (format == ExportFormat.CSV) {
+                AccountRowWriter header = new CsvRowWriter(out);
+                header.writeHeader();
+                header.flush();
+            }
+            int finished = 0;
+            while (finished < shards.size()) {
+                byte[] chunk = chunks.take();
+                if (chunk == END_OF_SHARD) {
+                    finished++;
+                } else {
+                    out.write(chunk);
+                    out.flush();
+                }
+            }
+            for (Future<Long> shard : shards) {
+                rows += shard.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Export failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Stops the shards when the client went away mid-stream
+            for (Future<Long> shard : shards) {
+                shard.cancel(true);
+            }
+        }
+
+        logger.info("Exported {} accounts from {} shards as {} in {} ms", rows, shards.size(), format,
+            (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Export the current shard as chunks onto the queue, followed by {@link #END_OF_SHARD}
+     */
+    private long exportShard(ExportFormat format, String branchId, AccountType accountType, AccountStatus status,
+                             String currency, BlockingQueue<byte[]> chunks) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        long[] rows = {0};
+        try {
+            AccountRowWriter writer = newRowWriter(format, buffer);
+            accountExportRepository.streamAccounts(null, branchId, accountType, status, currency, rs -> {
+                try {
+                    writer.writeRow(rs);
+                    if (++rows[0] % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                        chunks.put(buffer.toByteArray());
+                        buffer.reset();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Export cancelled");
+                }
+            });
+            writer.finish();
+            if (buffer.size() > 0) {
+                chunks.put(buffer.toByteArray());
+            }
+            return rows[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Export cancelled");
+        } finally {
+            try {
+                chunks.put(END_OF_SHARD);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private AccountRowWriter newRowWriter(ExportFormat format, OutputStream out) throws IOException {
+        return format == ExportFormat.CSV
+            ? new CsvRowWriter(out)
+            : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+    }
+
+    private interface AccountRowWriter {
+
+        void writeHeader() throws IOException;
+
+        void writeRow(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, using the same field names and money shape as AccountResponse
+     */
+    private static final class NdjsonRowWriter implements AccountRowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the explicit newline, not Jackson's default root separator
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader() {
+            // NDJSON has no header
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws SQLException, IOException {
+            String currency = rs.getString("currency");
+
+            generator.writeStartObject();
+            generator.writeStringField("accountId", rs.getString("account_id"));
+            generator.writeStringField("accountNumber", AccountService.maskAccountNumber(rs.getString("account_number")));
+            generator.writeStringField("accountType", rs.getString("account_type"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("currency", currency);
+            writeAmount("balance", rs.getLong("balance"), currency);
+            writeAmount("availableBalance", rs.getLong("available_balance"), currency);
+            writeOptionalString("accountNickname", rs.getString("account_nickname"));
+            generator.writeStringField("customerId", rs.getString("customer_id"));
+            writeOptionalString("branchId", rs.getString("branch_id"));
+            writeTimestamp("createdAt", rs.getTimestamp("created_at"));
+            writeTimestamp("updatedAt", rs.getTimestamp("updated_at"));
+            writeTimestamp("lastActivityAt", rs.getTimestamp("last_activity_at"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeAmount(String field, long minorUnits, String currency) throws IOException {
+            generator.writeObjectFieldStart(field);
+            generator.writeFieldName("amount");
+            MonetaryAmountSerializer.writeAmount(generator, minorUnits, MonetaryAmount.currencyScale(currency));
+            generator.writeStringField("currency", currency);
+            generator.writeEndObject();
+        }
+
+        private void writeOptionalString(String field, String value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(field, value);
+            }
+        }
+
+        private void writeTimestamp(String field, Timestamp value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(field, TIMESTAMP_FORMAT.format(value.toLocalDateTime()));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    private static final class CsvRowWriter implements AccountRowWriter {
+
+        private static final String HEADER = "accountId,accountNumber,accountType,status,currency,balance," +
+            "availableBalance,accountNickname,customerId,branchId,createdAt,updatedAt,lastActivityAt";
+
+        private final Writer writer;
+        private final char[] amountBuffer = new char[MonetaryAmountSerializer.MAX_LENGTH];
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(ResultSet rs) throws SQLException, IOException {
+            writeField(rs.getString("account_id"));
+            writer.write(',');
+            writeField(AccountService.maskAccountNumber(rs.getString("account_number")));
+            writer.write(',');
+            writeField(rs.getString("account_type"));
+            writer.write(',');
+            writeField(rs.getString("status"));
+            writer.write(',');
+            String currency = rs.getString("currency");
+            writeField(currency);
+            writer.write(',');
+            writeAmount(rs.getLong("balance"), currency);
+            writer.write(',');
+            writeAmount(rs.getLong("available_balance"), currency);
+            writer.write(',');
+            writeField(rs.getString("account_nickname"));
+            writer.write(',');
+            writeField(rs.getString("customer_id"));
+            writer.write(',');
+            writeField(rs.getString("branch_id"));
+            writer.write(',');
+            writeTimestamp(rs.getTimestamp("created_at"));
+            writer.write(',');
+            writeTimestamp(rs.getTimestamp("updated_at"));
+            writer.write(',');
+            writeTimestamp(rs.getTimestamp("last_activity_at"));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void writeAmount(long minorUnits, String currency) throws IOException {
+            int scale = MonetaryAmount.currencyScale(currency);
+            writer.write(amountBuffer, 0, MonetaryAmountSerializer.formatDecimal(minorUnits, scale, amountBuffer));
+        }
+
+        private void writeTimestamp(Timestamp value) throws IOException {
+            if (value != null) {
+                writer.write(TIMESTAMP_FORMAT.format(value.toLocalDateTime()));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
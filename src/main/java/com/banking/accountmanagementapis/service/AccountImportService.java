@@ -0,0 +1,478 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountBatchRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of legacy accounts from CSV or NDJSON files.
+ *
+ * The pipeline has three stages: a reader thread that cuts the file into chunks of lines,
+ * a pool that parses and validates chunks in parallel, and the calling thread as the
+ * single writer, which commits each chunk in its own transaction in file order. A bounded
+ * queue between the stages keeps memory constant, and a checkpoint file written after
+ * every commit lets an interrupted import resume from the last committed line.
+ *
+ * With sharding enabled each chunk is split by shard and the parts are committed in parallel,
+ * one transaction per shard; the checkpoint only moves once every part has committed.
+ *
+ * Account numbers are unique bank-wide, while the unique index only covers one shard's hot
+ * table. Before a chunk is written its account numbers are looked up on every shard, hot and
+ * archived, and accounts whose number is taken there or earlier in the chunk are skipped as
+ * duplicates. As with accounts opened through the API, an account opened with the same number
+ * between the lookup and the insert is not caught.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportService.class);
+    private static final Pattern CURRENCY_PATTERN = Pattern.compile("^[A-Z]{3}$");
+    private static final String METADATA_PREFIX = "metadata.";
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    @Autowired
+    private AccountBatchRepository accountBatchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private AccountCacheService cacheService;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private AccountCustomerSketchService customerSketchService;
+
+    @Autowired
+    private AccountLeaderboardService leaderboardService;
+
+    @Value("${banking.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${banking.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${banking.import.read-buffer-bytes:1048576}")
+    private int readBufferBytes;
+
+    /**
+     * Outcome of an import run
+     */
+    public record ImportResult(long linesRead, long inserted, long duplicates, long rejected, long elapsedMillis) {
+
+        public double rowsPerSecond() {
+            return elapsedMillis == 0 ? linesRead : linesRead * 1000.0 / elapsedMillis;
+        }
+    }
+
+    private record ParsedChunk(long firstLine, int lineCount, List<Account> accounts, List<String> rejects) {
+    }
+
+    private static final ParsedChunk END_OF_FILE = new ParsedChunk(-1, 0, List.of(), List.of());
+
+    /**
+     * Import a .csv or .ndjson/.jsonl file, resuming from its checkpoint if one exists.
+     * Rejected lines are appended to {@code <file>.rejects} with the reason. A file that cannot be
+     * read to the end, bytes that are not UTF-8 included, fails the import once the chunks read
+     * before the failure are committed, so that a repaired file resumes after them.
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        boolean csv = file.getFileName().toString().toLowerCase().endsWith(".csv");
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        Path rejectsFile = file.resolveSibling(file.getFileName() + ".rejects");
+        long resumeFrom = readCheckpoint(checkpointFile);
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        logger.info("Importing accounts from {} ({} format, {} parser threads, chunks of {} lines){}",
+            file, csv ? "CSV" : "NDJSON", workers, chunkSize,
+            resumeFrom > 0 ? ", resuming after line " + resumeFrom : "");
+
+        ExecutorService parsers = Executors.newFixedThreadPool(workers);
+        BlockingQueue<Future<ParsedChunk>> pending = new ArrayBlockingQueue<>(workers * 2);
+        Thread reader = Thread.ofPlatform().name("account-import-reader").start(
+            () -> readChunks(file, csv, resumeFrom, parsers, pending));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        long lastProgress = start;
+        long linesDone = resumeFrom;
+        long linesRead = 0;
+        long inserted = 0;
+        long rejected = 0;
+
+        try (BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, resumeFrom > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (true) {
+                ParsedChunk chunk = pending.take().get();
+                if (chunk == END_OF_FILE) {
+                    break;
+                }
+
+                int written = insertChunk(transactionTemplate, chunk.accounts());
+                for (String reject : chunk.rejects()) {
+                    rejects.write(reject);
+                    rejects.newLine();
+                }
+                rejects.flush();
+
+                linesDone += chunk.lineCount();
+                linesRead += chunk.lineCount();
+                inserted += written;
+                rejected += chunk.rejects().size();
+                writeCheckpoint(checkpointFile, linesDone);
+
+                long now = System.nanoTime();
+                if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    logger.info("Import progress: {} lines ({} inserted, {} rejected) - {} rows/s",
+                        linesDone, inserted, rejected, Math.round(linesRead / ((now - start) / 1e9)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted after line " + linesDone, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Import failed after line " + linesDone + ": " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            reader.interrupt();
+            parsers.shutdownNow();
+        }
+
+        Files.deleteIfExists(checkpointFile);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        ImportResult result = new ImportResult(linesRead, inserted, linesRead - inserted - rejected, rejected, elapsedMillis);
+        logger.info("Import complete: {} lines, {} inserted, {} duplicates skipped, {} rejected in {} ms ({} rows/s)",
+            result.linesRead(), result.inserted(), result.duplicates(), result.rejected(), elapsedMillis,
+            Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Writer stage: commit the chunk's accounts, each shard's share in its own transaction
+     */
+    private int insertChunk(TransactionTemplate transactionTemplate, List<Account> accounts) {
+        List<List<Account>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Account account : withUnusedAccountNumbers(accounts)) {
+            byShard.get(shardRouter.shardFor(account.getCustomerId())).add(account);
+        }
+        int written = 0;
+        for (Integer shardWritten : shardRouter.onEveryShard(shard -> byShard.get(shard).isEmpty() ? 0
+                : transactionTemplate.execute(status -> {
+                    // New accounts can belong in cached customer listings
+                    cacheService.evictQueries();
+                    List<Account> inserted = accountBatchRepository.insertAccounts(byShard.get(shard));
+                    aggregateService.added(inserted);
+                    customerSketchService.added(inserted);
+                    leaderboardService.added(inserted);
+                    return inserted.size();
+                }))) {
+            written += shardWritten != null ? shardWritten : 0;
+        }
+        return written;
+    }
+
+    /**
+     * The accounts whose account number no shard holds yet, the first of each number in the chunk
+     */
+    private List<Account> withUnusedAccountNumbers(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return accounts;
+        }
+        List<String> accountNumbers = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            accountNumbers.add(account.getAccountNumber());
+        }
+        Set<String> taken = new HashSet<>();
+        for (Set<String> existing : shardRouter.onEveryShard(
+                shard -> accountBatchRepository.findExistingAccountNumbers(accountNumbers))) {
+            taken.addAll(existing);
+        }
+        List<Account> unused = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            if (taken.add(account.getAccountNumber())) {
+                unused.add(account);
+            }
+        }
+        return unused;
+    }
+
+    /**
+     * Reader stage: cut the file into chunks and hand each to the parser pool. Futures are
+     * queued in file order, so the writer commits chunks in order whatever order they finish in.
+     */
+    private void readChunks(Path file, boolean csv, long skipLines, ExecutorService parsers,
+                            BlockingQueue<Future<ParsedChunk>> pending) {
+        // A decoder rather than the charset, so that bytes that are not UTF-8 fail the import instead of being replaced
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8.newDecoder()), readBufferBytes)) {
+            List<String> header = csv ? CsvRecords.parseLine(requireHeader(in.readLine())) : null;
+
+            long lineNumber = 0;
+            String line;
+            while (lineNumber < skipLines && in.readLine() != null) {
+                lineNumber++;
+            }
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = lineNumber + 1;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    submit(parsers, pending, firstLine, lines, header);
+                    lines = new ArrayList<>(chunkSize);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(parsers, pending, firstLine, lines, header);
+            }
+            pending.put(CompletableFuture.completedFuture(END_OF_FILE));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            try {
+                // Waits for room like any chunk: the writer commits the chunks read before the failure, then fails
+                pending.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException interrupted) {
+                // The writer has already stopped
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private String requireHeader(String headerLine) throws IOException {
+        if (headerLine == null) {
+            throw new IOException("CSV file is empty; a header row is required");
+        }
+        return headerLine;
+    }
+
+    private void submit(ExecutorService parsers, BlockingQueue<Future<ParsedChunk>> pending, long firstLine,
+                        List<String> lines, List<String> header) throws InterruptedException {
+        pending.put(parsers.submit(() -> parseChunk(firstLine, lines, header)));
+    }
+
+    /**
+     * Parser stage: turn each line into an Account, collecting invalid lines as rejects
+     */
+    private ParsedChunk parseChunk(long firstLine, List<String> lines, List<String> header) {
+        List<Account> accounts = new ArrayList<>(lines.size());
+        List<String> rejects = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accounts.add(header != null ? parseCsv(header, line) : parseJson(line));
+            } catch (Exception e) {
+                rejects.add("line " + (firstLine + i) + ": " + e.getMessage());
+            }
+        }
+        return new ParsedChunk(firstLine, lines.size(), accounts, rejects);
+    }
+
+    private Account parseCsv(List<String> header, String line) {
+        List<String> values = CsvRecords.parseLine(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        Map<String, String> metadata = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            if (name.startsWith(METADATA_PREFIX)) {
+                if (value != null) {
+                    metadata.put(name.substring(METADATA_PREFIX.length()), value);
+                }
+            } else {
+                fields.put(name, value);
+            }
+        }
+        return toAccount(fields, metadata);
+    }
+
+    private Account parseJson(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        Map<String, String> fields = new HashMap<>();
+        Map<String, String> metadata = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            if (field.getKey().equals("metadata") && value.isObject()) {
+                value.fields().forEachRemaining(entry -> metadata.put(entry.getKey(), entry.getValue().asText()));
+            } else if (value.isObject() && value.has("amount")) {
+                // Accept the MonetaryAmount shape produced by the export endpoint
+                fields.put(field.getKey(), value.get("amount").asText());
+            } else if (!value.isNull()) {
+                fields.put(field.getKey(), value.asText());
+            }
+        }
+        return toAccount(fields, metadata);
+    }
+
+    /**
+     * Validate one record against the accounts table constraints and build the entity
+     */
+    private Account toAccount(Map<String, String> fields, Map<String, String> metadata) {
+        String accountNumber = required(fields, "accountNumber", 20);
+        String currency = required(fields, "currency", 3);
+        if (!CURRENCY_PATTERN.matcher(currency).matches()) {
+            throw new IllegalArgumentException("currency must be a valid ISO 4217 code: " + currency);
+        }
+        BigDecimal balance = decimal(required(fields, "balance", 40), "balance");
+
+        Account account = new Account(
+            accountNumber,
+            parseEnum(AccountType.class, required(fields, "accountType", 30), "accountType"),
+            currency,
+            balance,
+            required(fields, "customerId", 36),
+            required(fields, "firstName", 50),
+            required(fields, "lastName", 50),
+            optional(fields, "email", 100),
+            optional(fields, "phoneNumber", 20),
+            optional(fields, "address", 255)
+        );
+
+        // Derive the ID from the account number when absent so a re-run cannot create duplicates
+        String accountId = optional(fields, "accountId", 36);
+        account.setAccountId(accountId != null ? accountId
+            : UUID.nameUUIDFromBytes(("account:" + accountNumber).getBytes(StandardCharsets.UTF_8)).toString());
+
+        String status = optional(fields, "status", 30);
+        if (status != null) {
+            account.setStatus(parseEnum(AccountStatus.class, status, "status"));
+        }
+        String availableBalance = optional(fields, "availableBalance", 40);
+        if (availableBalance != null) {
+            account.setAvailableBalance(MonetaryAmount.toMinorUnits(decimal(availableBalance, "availableBalance"), account.getAmountScale()));
+        }
+        account.setAccountNickname(optional(fields, "accountNickname", 50));
+        account.setBranchId(optional(fields, "branchId", 10));
+
+        String createdAt = optional(fields, "createdAt", 40);
+        account.setCreatedAt(createdAt != null ? timestamp(createdAt, "createdAt") : LocalDateTime.now());
+        account.setUpdatedAt(account.getCreatedAt());
+        String lastActivityAt = optional(fields, "lastActivityAt", 40);
+        account.setLastActivityAt(lastActivityAt != null ? timestamp(lastActivityAt, "lastActivityAt") : account.getCreatedAt());
+
+        account.setMetadata(metadata);
+        return account;
+    }
+
+    private String required(Map<String, String> fields, String name, int maxLength) {
+        String value = optional(fields, name, maxLength);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private String optional(Map<String, String> fields, String name, int maxLength) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " must not exceed " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private BigDecimal decimal(String value, String name) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a valid amount: " + value);
+        }
+    }
+
+    private LocalDateTime timestamp(String value, String name) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + " is not an ISO-8601 local date-time: " + value);
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " has unknown value: " + value);
+        }
+    }
+
+    private long readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpointFile).trim());
+    }
+
+    private void writeCheckpoint(Path checkpointFile, long linesDone) {
+        try {
+            Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(linesDone));
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import checkpoint", e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.repository.AccountInterestRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly interest accrual for interest-bearing accounts.
+ *
+ * Every day at {@code banking.interest.run-at} the previous business date is accrued (and any
+ * dates missed while the application was down, in order). Each shard streams its active
+ * accounts of {@code banking.interest.account-types} that carry an interestRate (percent per
+ * annum) in keyset chunks of {@code banking.interest.chunk-size}. A chunk's daily interest is
+ * computed on a fork/join pool in exact decimal arithmetic - balance * rate / 100 / days in the
+ * year, rounded half-even to 10^-8 - and written back in one transaction as a batched update
+ * of accrued_interest plus one interest_accrual ledger entry per account.
+ *
+ * Accrual is idempotent per business date: an account records the last date it was accrued
+ * for and is skipped for that date from then on, so an interrupted run simply picks up where
+ * it stopped. Interest is accrued, not posted; the balance is left alone.
+ */
+@Service
+public class AccountInterestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountInterestService.class);
+
+    /** Scale of accrued amounts: units of 10^-8 of the account currency */
+    public static final int ACCRUAL_SCALE = 8;
+
+    @Autowired
+    private AccountInterestRepository interestRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.interest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.interest.account-types:SAVINGS,MONEY_MARKET}")
+    private List<AccountType> accountTypes;
+
+    @Value("${banking.interest.run-at:01:00}")
+    private LocalTime runAt;
+
+    @Value("${banking.interest.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${banking.interest.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool accrualPool;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread scheduler;
+    private Counter accrued;
+    private Counter skipped;
+    private Timer chunkWrites;
+
+    @PostConstruct
+    public void start() {
+        accrued = Counter.builder("banking.interest.accrued")
+            .description("Accounts accrued interest for a business date")
+            .register(meterRegistry);
+        skipped = Counter.builder("banking.interest.skipped")
+            .description("Interest-bearing accounts skipped for an unreadable interestRate")
+            .register(meterRegistry);
+        chunkWrites = Timer.builder("banking.interest.chunk")
+            .description("Time to write one chunk of accruals and their ledger entries")
+            .register(meterRegistry);
+        accrualPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The catch-up run must not start before the startup runners (import, reshard, sample data)
+     * have written their accounts, or it would complete yesterday without them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startScheduler() {
+        if (enabled && !stopped) {
+            running = true;
+            scheduler = Thread.ofPlatform().name("interest-accrual").daemon().start(this::accrualLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        if (scheduler != null) {
+            running = false;
+            scheduler.interrupt();
+            scheduler.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        accrualPool.shutdownNow();
+    }
+
+    private void accrualLoop() {
+        while (running) {
+            try {
+                accrueDue();
+            } catch (Exception e) {
+                logger.warn("Interest accrual failed, retrying at the next run: {}", e.toString());
+            }
+            try {
+                Thread.sleep(Duration.between(LocalDateTime.now(), nextRun()).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private LocalDateTime nextRun() {
+        LocalDateTime today = LocalDate.now().atTime(runAt);
+        return today.isAfter(LocalDateTime.now()) ? today : today.plusDays(1);
+    }
+
+    /**
+     * Accrue every business date up to yesterday that a shard has not completed yet: the
+     * dates after its last completed run, or just yesterday on a shard that never ran.
+     * Returns the number of accounts accrued.
+     */
+    public long accrueDue() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        long total = 0;
+        for (long count : shardRouter.onEveryShard(shard -> {
+            Optional<LocalDate> lastRun = interestRepository.findLastCompletedRun();
+            long shardAccrued = 0;
+            for (LocalDate date = lastRun.map(run -> run.plusDays(1)).orElse(yesterday);
+                 !date.isAfter(yesterday) && !stopped; date = date.plusDays(1)) {
+                shardAccrued += accrueShard(shard, date);
+            }
+            return shardAccrued;
+        })) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Accrue one business date on every shard, in parallel. Returns the number of accounts accrued.
+     */
+    public long accrue(LocalDate businessDate) {
+        long total = 0;
+        for (long count : shardRouter.onEveryShard(shard -> accrueShard(shard, businessDate))) {
+            total += count;
+        }
+        return total;
+    }
+
+    private long accrueShard(int shard, LocalDate businessDate) {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int daysInYear = businessDate.lengthOfYear();
+        long shardAccrued = 0;
+        for (AccountType accountType : accountTypes) {
+            String after = null;
+            List<AccountInterestRepository.Candidate> candidates;
+            do {
+                candidates = interestRepository.findCandidates(accountType, after, businessDate, chunkSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                after = candidates.get(candidates.size() - 1).accountId();
+
+                List<AccountInterestRepository.Accrual> accruals = compute(candidates, daysInYear);
+                List<AccountInterestRepository.Accrual> applied = chunkWrites.record(() -> transactionTemplate.execute(
+                    status -> interestRepository.accrue(accruals, businessDate, LocalDateTime.now())));
+                accrued.increment(applied.size());
+                shardAccrued += applied.size();
+            } while (candidates.size() == chunkSize && !stopped);
+        }
+        if (stopped) {
+            return shardAccrued;
+        }
+        interestRepository.completeRun(businessDate, shardAccrued, LocalDateTime.now());
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info("Accrued interest for {} on shard {}: {} accounts in {} ms ({} accounts/s)", businessDate, shard,
+            shardAccrued, Math.round(seconds * 1000), Math.round(shardAccrued / Math.max(seconds, 1e-3)));
+        return shardAccrued;
+    }
+
+    /**
+     * The day's interest for each candidate, computed in parallel; candidates whose rate cannot
+     * be read are left out
+     */
+    private List<AccountInterestRepository.Accrual> compute(List<AccountInterestRepository.Candidate> candidates,
+                                                            int daysInYear) {
+        AccountInterestRepository.Accrual[] results = new AccountInterestRepository.Accrual[candidates.size()];
+        accrualPool.invoke(new AccrueTask(candidates, results, 0, results.length, daysInYear));
+        List<AccountInterestRepository.Accrual> accruals = new ArrayList<>(results.length);
+        for (AccountInterestRepository.Accrual accrual : results) {
+            if (accrual != null) {
+                accruals.add(accrual);
+            } else {
+                skipped.increment();
+            }
+        }
+        return accruals;
+    }
+
+    /**
+     * A day's interest on a balance in minor units at the given scale at an annual rate in
+     * percent, in units of 10^-8. Nothing accrues on a balance that is not positive.
+     */
+    private static long dailyInterest(long balance, int scale, BigDecimal annualRate, int daysInYear) {
+        if (balance <= 0) {
+            return 0;
+        }
+        return BigDecimal.valueOf(balance, scale)
+            .multiply(annualRate)
+            .divide(BigDecimal.valueOf(100L * daysInYear), ACCRUAL_SCALE, RoundingMode.HALF_EVEN)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    /**
+     * Computes the accruals of a range of candidates, splitting it in halves down to THRESHOLD
+     */
+    private static final class AccrueTask extends RecursiveAction {
+
+        private static final int THRESHOLD = 1024;
+
+        private final List<AccountInterestRepository.Candidate> candidates;
+        private final AccountInterestRepository.Accrual[] results;
+        private final int from;
+        private final int to;
+        private final int daysInYear;
+
+        AccrueTask(List<AccountInterestRepository.Candidate> candidates, AccountInterestRepository.Accrual[] results,
+                   int from, int to, int daysInYear) {
+            this.candidates = candidates;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.daysInYear = daysInYear;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AccrueTask(candidates, results, from, middle, daysInYear),
+                    new AccrueTask(candidates, results, middle, to, daysInYear));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                AccountInterestRepository.Candidate candidate = candidates.get(i);
+                if (candidate.annualRate() == null) {
+                    continue;
+                }
+                BigDecimal annualRate;
+                try {
+                    annualRate = new BigDecimal(candidate.annualRate().trim());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (annualRate.signum() >= 0) {
+                    results[i] = new AccountInterestRepository.Accrual(candidate,
+                        dailyInterest(candidate.balance(), candidate.balanceScale(), annualRate, daysInYear));
+                }
+            }
+        }
+    }
+}
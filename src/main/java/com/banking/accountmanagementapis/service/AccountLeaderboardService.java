@@ -0,0 +1,452 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountLeaderboardEntry;
+import com.banking.accountmanagementapis.dto.AccountLeaderboardResponse;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountLeaderboardRepository;
+import com.banking.accountmanagementapis.repository.AccountLeaderboardRepository.RankedAccount;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Highest balances per branch and account type, per branch, per account type and bank-wide,
+ * each within one currency, served from memory.
+ *
+ * Every leaderboard is a bounded top-K of the accounts that are not closed, ordered by balance
+ * and then account ID. It holds twice the served size so that accounts dropping out of the top
+ * (closed, or a lower balance) rarely leave it short; one that falls below the served size
+ * while accounts beyond it exist is refilled from the database in the background. Writers
+ * report balance and status changes from inside their transaction and the leaderboards move
+ * once it commits.
+ *
+ * The leaderboards are built with one scan of each shard at startup and rebuilt every
+ * {@code banking.leaderboard.rebuild-interval}, which also picks up changes made by other
+ * instances sharing the database. Changes that commit during a scan are replayed on its result.
+ */
+@Service
+public class AccountLeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLeaderboardService.class);
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::balance).reversed()
+        .thenComparing(Entry::accountId);
+
+    @Autowired
+    private AccountLeaderboardRepository leaderboardRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.leaderboard.size:50}")
+    private int size;
+
+    @Value("${banking.leaderboard.rebuild-interval:1h}")
+    private Duration rebuildInterval;
+
+    /** Guards the leaderboards and the recorded changes */
+    private final Object lock = new Object();
+    /** Null until first built */
+    private Map<Key, Board> boards;
+    /** Changes applied while a rebuild or refill runs, to replay on its result */
+    private List<RankedAccount> recorded;
+    private final BlockingQueue<Key> refills = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread maintainer;
+    private Counter refilled;
+    private Timer rebuilds;
+
+    @PostConstruct
+    public void start() {
+        if (size < 1) {
+            throw new IllegalStateException("banking.leaderboard.size must be positive: " + size);
+        }
+        refilled = Counter.builder("banking.leaderboard.refills")
+            .description("Leaderboards refilled from the database after accounts dropped out of them")
+            .register(meterRegistry);
+        rebuilds = Timer.builder("banking.leaderboard.rebuild")
+            .description("Time to rebuild the balance leaderboards from the database")
+            .register(meterRegistry);
+        running = true;
+        maintainer = Thread.ofPlatform().name("account-leaderboard").daemon().start(this::maintainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        maintainer.interrupt();
+        maintainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private void maintainLoop() {
+        long nextRebuild = System.nanoTime();
+        while (running) {
+            try {
+                if (System.nanoTime() - nextRebuild >= 0) {
+                    try {
+                        rebuild();
+                        nextRebuild = System.nanoTime() + rebuildInterval.toNanos();
+                    } catch (Exception e) {
+                        logger.warn("Leaderboard rebuild failed, retrying: {}", e.toString());
+                        nextRebuild = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    }
+                }
+                Key key = refills.poll(Math.max(0, nextRebuild - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    try {
+                        refill(key);
+                    } catch (Exception e) {
+                        logger.warn("Leaderboard refill failed, it is corrected by the next rebuild: {}", e.toString());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rebuild every leaderboard from the database; returns the number of leaderboards
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        synchronized (lock) {
+            recorded = new ArrayList<>();
+        }
+        Map<Key, Board> fresh = new HashMap<>();
+        try {
+            for (Map<Key, Board> shardBoards : shardRouter.onEveryShard(shard -> {
+                Map<Key, Board> scanned = new HashMap<>();
+                leaderboardRepository.forEachRanked(account -> apply(scanned, account, true));
+                return scanned;
+            })) {
+                shardBoards.forEach((key, board) -> fresh.merge(key, board, this::merge));
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                recorded = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            boards = fresh;
+            refills.clear();
+            for (RankedAccount account : recorded) {
+                applyLive(account);
+            }
+            recorded = null;
+        }
+        rebuilds.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        logger.debug("Rebuilt {} balance leaderboards", fresh.size());
+        return fresh.size();
+    }
+
+    /**
+     * Reload one leaderboard that ran short from the top of each shard
+     */
+    private synchronized void refill(Key key) {
+        synchronized (lock) {
+            Board board = boards != null ? boards.get(key) : null;
+            if (board == null || !board.refillQueued) {
+                return;
+            }
+            recorded = new ArrayList<>();
+        }
+        Board fresh;
+        try {
+            fresh = null;
+            for (List<RankedAccount> top : shardRouter.onEveryShard(shard -> leaderboardRepository.findTop(
+                    key.byBranch(), key.branchId(), key.byAccountType(), key.accountType(), key.currency(), capacity()))) {
+                Board shardBoard = new Board();
+                for (RankedAccount account : top) {
+                    shardBoard.put(toEntry(account), capacity());
+                }
+                shardBoard.complete = top.size() < capacity();
+                fresh = fresh == null ? shardBoard : merge(fresh, shardBoard);
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                recorded = null;
+                Board board = boards.get(key);
+                if (board != null) {
+                    board.refillQueued = false;
+                }
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            Map<Key, Board> refilledBoards = new HashMap<>();
+            refilledBoards.put(key, fresh);
+            for (RankedAccount account : recorded) {
+                apply(refilledBoards, account, false);
+            }
+            recorded = null;
+            if (fresh.isEmpty() && fresh.complete) {
+                boards.remove(key);
+            } else {
+                boards.put(key, fresh);
+                if (!fresh.complete && fresh.ranked.size() < size) {
+                    fresh.refillQueued = true;
+                    refills.add(key);
+                }
+            }
+        }
+        refilled.increment();
+    }
+
+    /**
+     * Rank new accounts once the current transaction commits
+     */
+    public void added(Collection<Account> accounts) {
+        List<RankedAccount> changes = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            changes.add(toRanked(account));
+        }
+        applyAfterCommit(changes);
+    }
+
+    /**
+     * Re-rank an account whose balance or status changed once the current transaction commits
+     */
+    public void changed(Account account) {
+        applyAfterCommit(List.of(toRanked(account)));
+    }
+
+    /**
+     * The same for accounts updated with JDBC on the current shard: reads them as they are now,
+     * so call it after the update
+     */
+    public void changed(Collection<String> accountIds) {
+        applyAfterCommit(leaderboardRepository.findAccounts(accountIds));
+    }
+
+    /**
+     * The highest balances in a currency, of one branch and/or account type or of all of them when
+     * null, limited to the given number of accounts. Empty until the leaderboards were first built.
+     */
+    public Optional<AccountLeaderboardResponse> getLeaderboard(String branchId, AccountType accountType,
+                                                               String currency, int limit) {
+        if (limit < 1 || limit > size) {
+            throw new IllegalArgumentException("limit must be between 1 and " + size);
+        }
+        List<Entry> top = new ArrayList<>(limit);
+        synchronized (lock) {
+            if (boards == null) {
+                return Optional.empty();
+            }
+            Board board = boards.get(new Key(branchId != null, branchId, accountType != null, accountType, currency));
+            if (board != null) {
+                Iterator<Entry> entries = board.ranked.iterator();
+                while (top.size() < limit && entries.hasNext()) {
+                    top.add(entries.next());
+                }
+            }
+        }
+
+        List<AccountLeaderboardEntry> accounts = new ArrayList<>(top.size());
+        int rank = 0;
+        for (int i = 0; i < top.size(); i++) {
+            Entry entry = top.get(i);
+            if (i == 0 || entry.balance() != top.get(i - 1).balance()) {
+                rank = i + 1;
+            }
+            accounts.add(new AccountLeaderboardEntry(rank, entry.accountId(), entry.customerId(), entry.status(),
+                MonetaryAmount.ofMinorUnits(entry.balance(), currency)));
+        }
+        return Optional.of(new AccountLeaderboardResponse(branchId, accountType, currency, accounts));
+    }
+
+    private void applyAfterCommit(List<RankedAccount> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAll(changes);
+                }
+            });
+        } else {
+            applyAll(changes);
+        }
+    }
+
+    private void applyAll(List<RankedAccount> changes) {
+        synchronized (lock) {
+            for (RankedAccount account : changes) {
+                if (boards != null) {
+                    applyLive(account);
+                }
+                if (recorded != null) {
+                    recorded.add(account);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply a change to the live leaderboards, queueing a refill of any left short; under the lock
+     */
+    private void applyLive(RankedAccount account) {
+        for (Key key : apply(boards, account, true)) {
+            Board board = boards.get(key);
+            if (board == null) {
+                continue;
+            }
+            if (board.isEmpty() && board.complete) {
+                boards.remove(key);
+            } else if (!board.complete && board.ranked.size() < size && !board.refillQueued) {
+                board.refillQueued = true;
+                refills.add(key);
+            }
+        }
+    }
+
+    /**
+     * Move an account to its place on each of its leaderboards in the given map, or off them once
+     * closed; returns their keys
+     */
+    private List<Key> apply(Map<Key, Board> target, RankedAccount account, boolean addBoards) {
+        Entry entry = account.status() != AccountStatus.CLOSED ? toEntry(account) : null;
+        List<Key> keys = Key.of(account);
+        for (Key key : keys) {
+            Board board = entry != null && addBoards ? target.computeIfAbsent(key, k -> new Board()) : target.get(key);
+            if (board == null) {
+                continue;
+            }
+            if (entry != null) {
+                board.put(entry, capacity());
+            } else {
+                board.remove(account.accountId());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Fold the leaderboard of one shard into that of the others
+     */
+    Board merge(Board board, Board other) {
+        for (Entry entry : other.ranked) {
+            board.put(entry, capacity());
+        }
+        if (!other.complete) {
+            // Accounts of the other shard below its last entry are unknown, so ours below it cannot be ranked
+            Entry floor = other.ranked.last();
+            while (!board.isEmpty() && RANKING.compare(board.ranked.last(), floor) > 0) {
+                board.remove(board.ranked.last().accountId());
+            }
+            board.complete = false;
+        }
+        return board;
+    }
+
+    private int capacity() {
+        return 2 * size;
+    }
+
+    private static RankedAccount toRanked(Account account) {
+        return new RankedAccount(account.getAccountId(), account.getCustomerId(), account.getBranchId(),
+            account.getAccountType(), account.getCurrency(), account.getBalance(), account.getStatus());
+    }
+
+    private static Entry toEntry(RankedAccount account) {
+        return new Entry(account.accountId(), account.customerId(), account.balance(), account.status());
+    }
+
+    /**
+     * A leaderboard: one currency, narrowed to a branch and/or account type when grouped by them
+     */
+    private record Key(boolean byBranch, String branchId, boolean byAccountType, AccountType accountType,
+                       String currency) {
+
+        /** The four leaderboards an account is ranked on */
+        static List<Key> of(RankedAccount account) {
+            return List.of(
+                new Key(true, account.branchId(), true, account.accountType(), account.currency()),
+                new Key(true, account.branchId(), false, null, account.currency()),
+                new Key(false, null, true, account.accountType(), account.currency()),
+                new Key(false, null, false, null, account.currency()));
+        }
+    }
+
+    /**
+     * An account on a leaderboard, balance in minor units; shared by all four of its leaderboards
+     */
+    record Entry(String accountId, String customerId, long balance, AccountStatus status) {
+    }
+
+    /**
+     * The top of one leaderboard: all of its accounts when complete, otherwise exactly those
+     * ranked at or above the last entry
+     */
+    static final class Board {
+
+        final TreeSet<Entry> ranked = new TreeSet<>(RANKING);
+        private final Map<String, Entry> byAccount = new HashMap<>();
+        boolean complete = true;
+        private boolean refillQueued;
+
+        void put(Entry entry, int capacity) {
+            remove(entry.accountId());
+            if (!complete && (ranked.isEmpty() || RANKING.compare(entry, ranked.last()) > 0)) {
+                // Ranked below accounts that are not held, so its place is unknown
+                return;
+            }
+            ranked.add(entry);
+            byAccount.put(entry.accountId(), entry);
+            if (ranked.size() > capacity) {
+                byAccount.remove(ranked.pollLast().accountId());
+                complete = false;
+            }
+        }
+
+        void remove(String accountId) {
+            Entry entry = byAccount.remove(accountId);
+            if (entry != null) {
+                ranked.remove(entry);
+            }
+        }
+
+        boolean isEmpty() {
+            return ranked.isEmpty();
+        }
+    }
+}
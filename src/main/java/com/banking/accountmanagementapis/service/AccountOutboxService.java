@@ -0,0 +1,238 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountOutboxEvent;
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.repository.AccountOutboxRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox for account lifecycle events.
+ *
+ * {@link #enqueue} writes the event to account_outbox in the caller's transaction, so an
+ * event exists exactly when its account change committed and requests never wait on the
+ * sink. A relay thread drains the table oldest first in batches and deletes a batch only
+ * after the {@link AccountEventSink} accepted it: delivery is at-least-once, and a failed
+ * batch is retried whole with exponential backoff.
+ *
+ * With sharding enabled each shard has its own outbox, drained in turn. Events keep their
+ * order per account but not across shards, and the event ID handed to the sink is the row
+ * id interleaved with the shard number, so IDs stay unique across shards.
+ *
+ * Metrics: banking.outbox.pending and banking.outbox.lag (age of the oldest pending event)
+ * for backlog, banking.outbox.published and banking.outbox.publish for throughput and batch
+ * latency, banking.outbox.publish.failures for sink errors.
+ */
+@Service
+public class AccountOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountOutboxService.class);
+
+    @Autowired
+    private AccountOutboxRepository outboxRepository;
+
+    @Autowired
+    private AccountEventSink eventSink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Value("${banking.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${banking.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${banking.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${banking.outbox.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread relay;
+
+    private volatile long pending;
+    private volatile LocalDateTime oldestPending;
+    private Counter published;
+    private Counter failures;
+    private Timer publishTimer;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("banking.outbox.pending", () -> pending)
+            .description("Account events waiting in the outbox")
+            .register(meterRegistry);
+        Gauge.builder("banking.outbox.lag", this::lagSeconds)
+            .description("Age of the oldest account event waiting in the outbox")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        published = Counter.builder("banking.outbox.published")
+            .description("Account events delivered to the sink")
+            .register(meterRegistry);
+        failures = Counter.builder("banking.outbox.publish.failures")
+            .description("Outbox batches the sink rejected")
+            .register(meterRegistry);
+        publishTimer = Timer.builder("banking.outbox.publish")
+            .description("Time to deliver one outbox batch")
+            .register(meterRegistry);
+
+        if (relayEnabled) {
+            running = true;
+            relay = Thread.ofPlatform().name("account-outbox-relay").daemon().start(this::relayLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (relay != null) {
+            running = false;
+            relay.interrupt();
+            relay.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Write an event carrying the account as returned by the API. Joins the caller's
+     * transaction; the relay is woken once it commits.
+     */
+    public void enqueue(AccountChangeType eventType, AccountResponse account) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(account);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize account event for " + account.getAccountId(), e);
+        }
+        outboxRepository.append(eventType, account.getAccountId(), account.getCustomerId(), payload, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUps.release();
+                }
+            });
+        } else {
+            wakeUps.release();
+        }
+    }
+
+    private void relayLoop() {
+        Duration backoff = pollInterval;
+        while (running) {
+            try {
+                boolean more;
+                try {
+                    more = relayBatch();
+                    backoff = pollInterval;
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    failures.increment();
+                    logger.warn("Outbox relay failed, retrying in {}: {}", backoff, e.toString());
+                    updateBacklog();
+                    Thread.sleep(backoff.toMillis());
+                    backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+                    continue;
+                }
+                if (!more) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Delivers the oldest batch of every shard and removes it from the outbox. Returns true
+     * when a full batch was delivered, i.e. more events may already be waiting.
+     */
+    boolean relayBatch() throws Exception {
+        boolean more = false;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                more |= relayBatch(shard);
+            }
+        }
+        updateBacklog();
+        return more;
+    }
+
+    private boolean relayBatch(int shard) throws Exception {
+        List<AccountOutboxEvent> batch = outboxRepository.findOldest(batchSize);
+        if (!batch.isEmpty()) {
+            long lastId = batch.get(batch.size() - 1).getEventId();
+            for (AccountOutboxEvent event : batch) {
+                event.setEventId(toEventId(event.getEventId(), shard, shardRouter.getShardCount()));
+            }
+            long started = System.nanoTime();
+            eventSink.publish(batch);
+            publishTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            outboxRepository.deleteThrough(lastId);
+            published.increment(batch.size());
+        }
+        return batch.size() == batchSize;
+    }
+
+    /**
+     * The event ID of an outbox row; the row id itself without sharding
+     */
+    public static long toEventId(long rowId, int shard, int shardCount) {
+        return rowId * shardCount + shard;
+    }
+
+    private void updateBacklog() {
+        try {
+            long count = 0;
+            LocalDateTime oldest = null;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                try (AccountShardRouter.Scope scope = shardRouter.routeToShard(shard)) {
+                    count += outboxRepository.countPending();
+                    LocalDateTime shardOldest = outboxRepository.findOldestCreatedAt();
+                    if (shardOldest != null && (oldest == null || shardOldest.isBefore(oldest))) {
+                        oldest = shardOldest;
+                    }
+                }
+            }
+            pending = count;
+            oldestPending = oldest;
+        } catch (Exception e) {
+            logger.debug("Cannot read outbox backlog: {}", e.toString());
+        }
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountReshardRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Offline re-sharding: copies accounts, their metadata, pending outbox events, the interest
+ * accrual ledger and the archive from an existing set of SQLite files into the shards configured by banking.sharding.*.
+ *
+ * Sources are read one at a time and their rows buffered per target shard; each full buffer
+ * is written to all shards in parallel, one transaction per shard. Writes are idempotent, so
+ * an interrupted run can be repeated. Target outbox sequences are raised first so that event
+ * IDs handed out after the move never repeat one from before it.
+ *
+ * The change log is not copied: change feed positions are specific to a shard layout, and
+ * clients simply reconnect at the live position of the new layout.
+ */
+@Service
+public class AccountReshardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountReshardService.class);
+    private static final String SQLITE_URL_PREFIX = "jdbc:sqlite:";
+
+    @Autowired
+    private AccountReshardRepository reshardRepository;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountAggregateService aggregateService;
+
+    @Autowired
+    private AccountCustomerSketchService customerSketchService;
+
+    @Autowired
+    private AccountLeaderboardService leaderboardService;
+
+    @Value("${banking.reshard.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Copy everything from the source files, given in their old shard order (a single file when
+     * the source is not sharded), into the current shards
+     */
+    public void reshard(List<Path> sourceFiles) {
+        List<Path> targets = targetFiles();
+        for (Path source : sourceFiles) {
+            if (!Files.isRegularFile(source)) {
+                throw new IllegalArgumentException("Re-shard source does not exist: " + source);
+            }
+            if (targets.contains(source.toAbsolutePath().normalize())) {
+                throw new IllegalArgumentException("Re-shard source is also a target shard: " + source);
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        List<DataSource> sources = new ArrayList<>();
+        for (Path source : sourceFiles) {
+            sources.add(new DriverManagerDataSource(SQLITE_URL_PREFIX + source.toAbsolutePath()));
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Old event ID = row id * old shard count + old shard; new IDs must start above all of them
+        long highestEventId = 0;
+        for (int shard = 0; shard < sources.size(); shard++) {
+            long sequence = reshardRepository.findOutboxSequence(sources.get(shard));
+            highestEventId = Math.max(highestEventId, AccountOutboxService.toEventId(sequence, shard, sources.size()));
+        }
+        long outboxSequence = highestEventId / shardRouter.getShardCount() + 1;
+        shardRouter.onEveryShard(shard -> {
+            transactionTemplate.executeWithoutResult(status -> reshardRepository.raiseOutboxSequence(outboxSequence));
+            return null;
+        });
+
+        long accountsRead = 0;
+        long accounts = 0;
+        long metadata = 0;
+        long outboxEvents = 0;
+        long archived = 0;
+        for (int shard = 0; shard < sources.size(); shard++) {
+            DataSource source = sources.get(shard);
+            logger.info("Re-sharding {} ({} of {})", sourceFiles.get(shard), shard + 1, sources.size());
+            accountsRead += reshardRepository.countAccounts(source);
+            accounts += copy(source, reshardRepository::readAccounts, reshardRepository::insertAccounts, transactionTemplate);
+            metadata += copy(source, reshardRepository::readMetadata, reshardRepository::insertMetadata, transactionTemplate);
+            outboxEvents += copy(source, reshardRepository::readOutbox, reshardRepository::insertOutboxEvents, transactionTemplate);
+            copy(source, reshardRepository::readInterestAccruals, reshardRepository::insertInterestAccruals, transactionTemplate);
+            archived += copy(source, reshardRepository::readArchivedAccounts, reshardRepository::insertArchivedAccounts, transactionTemplate);
+            copy(source, reshardRepository::readArchivedMetadata, reshardRepository::insertArchivedMetadata, transactionTemplate);
+        }
+
+        long stored = 0;
+        for (long count : shardRouter.onEveryShard(shard -> reshardRepository.countAccounts())) {
+            stored += count;
+        }
+        logger.info("Re-shard finished in {} ms: {} accounts, {} metadata entries, {} outbox events and {} archived accounts " +
+            "copied into {} shards", System.currentTimeMillis() - started, accounts, metadata, outboxEvents, archived,
+            shardRouter.getShardCount());
+        if (stored != accountsRead) {
+            // Account numbers are only unique per file; a clash across old shards drops one of the accounts
+            logger.warn("The sources hold {} accounts but the shards now hold {}", accountsRead, stored);
+        }
+        // The copy bypasses the incremental aggregate, sketch and leaderboard updates
+        aggregateService.reconcile();
+        customerSketchService.rebuild();
+        leaderboardService.rebuild();
+    }
+
+    private long copy(DataSource source, BiConsumer<DataSource, AccountReshardRepository.RowHandler> reader,
+                      ToIntFunction<List<Object[]>> writer, TransactionTemplate transactionTemplate) {
+        ShardBuffers buffers = new ShardBuffers(writer, transactionTemplate);
+        reader.accept(source, buffers::add);
+        buffers.flush();
+        return buffers.written;
+    }
+
+    /**
+     * The database files the application writes to, to keep a source from being one of them
+     */
+    private List<Path> targetFiles() {
+        List<Path> targets = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            targets.add(toPath(shardRouter.jdbcUrl(shard)));
+        }
+        return targets;
+    }
+
+    private static Path toPath(String url) {
+        String file = url.startsWith(SQLITE_URL_PREFIX) ? url.substring(SQLITE_URL_PREFIX.length()) : url;
+        int options = file.indexOf('?');
+        return Path.of(options >= 0 ? file.substring(0, options) : file).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Rows waiting to be written, one buffer per target shard
+     */
+    private final class ShardBuffers {
+
+        private final List<List<Object[]>> rows = new ArrayList<>();
+        private final ToIntFunction<List<Object[]>> writer;
+        private final TransactionTemplate transactionTemplate;
+        private int buffered;
+        private long written;
+
+        ShardBuffers(ToIntFunction<List<Object[]>> writer, TransactionTemplate transactionTemplate) {
+            this.writer = writer;
+            this.transactionTemplate = transactionTemplate;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                rows.add(new ArrayList<>());
+            }
+        }
+
+        void add(String customerId, Object[] row) {
+            rows.get(shardRouter.shardFor(customerId)).add(row);
+            if (++buffered >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<Integer> counts = shardRouter.onEveryShard(shard -> rows.get(shard).isEmpty() ? 0
+                : transactionTemplate.execute(status -> writer.applyAsInt(rows.get(shard))));
+            for (int count : counts) {
+                written += count;
+            }
+            for (List<Object[]> shardRows : rows) {
+                shardRows.clear();
+            }
+            buffered = 0;
+        }
+    }
+}
@@ -1,70 +1,142 @@
 package com.banking.accountmanagementapis.service;
 
 import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountArchiveRepository;
+import com.banking.accountmanagementapis.repository.AccountDormancyRepository;
+import com.banking.accountmanagementapis.repository.AccountProjectionRepository;
 import com.banking.accountmanagementapis.repository.AccountRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
 import com.banking.accountmanagementapis.dto.*;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 
 @Service
 @Transactional
 public class AccountService {
     
     private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
+    private static final Set<AccountField> ALL_FIELDS = EnumSet.allOf(AccountField.class);
+    /** Attempts at an update whose version check keeps failing before giving up */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
     private final Random random = new Random();
     
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private AccountProjectionRepository accountProjectionRepository;
+    
+    @Autowired
+    private AccountArchiveRepository accountArchiveRepository;
+    
+    @Autowired
+    private AccountDormancyRepository accountDormancyRepository;
+    
+    @Autowired
+    private AccountActivityTracker accountActivityTracker;
+    
+    @Autowired
+    private AccountCacheService accountCacheService;
+    
+    @Autowired
+    private AccountAggregateService accountAggregateService;
+    
+    @Autowired
+    private AccountCustomerSketchService accountCustomerSketchService;
+    
+    @Autowired
+    private AccountLeaderboardService accountLeaderboardService;
+    
+    @Autowired
+    private AccountChangeFeedService accountChangeFeedService;
+    
+    @Autowired
+    private AccountOutboxService accountOutboxService;
+    
+    @Autowired
+    private AccountShardRouter shardRouter;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
     /**
      * Create a new account
      */
     public AccountResponse createAccount(CreateAccountRequest request, String customerId) {
         logger.info("Creating new account for customer: {}", customerId);
         
-        // Generate unique account number
-        String accountNumber = generateAccountNumber();
-        
-        // Ensure account number is unique
-        while (accountRepository.existsByAccountNumber(accountNumber)) {
-            accountNumber = generateAccountNumber();
-        }
-        
-        // Create account entity
-        Account account = new Account(
-            accountNumber,
-            request.getAccountType(),
-            request.getCurrency(),
-            request.getInitialDeposit(),
-            customerId,
-            request.getCustomerDetails().getFirstName(),
-            request.getCustomerDetails().getLastName(),
-            request.getCustomerDetails().getEmail(),
-            request.getCustomerDetails().getPhoneNumber(),
-            request.getCustomerDetails().getAddress()
-        );
+        // Reject amounts finer than the currency's minor unit, e.g. fractional yen
+        MonetaryAmount.toMinorUnits(request.getInitialDeposit(), MonetaryAmount.currencyScale(request.getCurrency()));
         
-        account.setAccountNickname(request.getAccountNickname());
-        account.setBranchId("BR001"); // Default branch
-        
-        if (request.getMetadata() != null) {
-            account.setMetadata(request.getMetadata());
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            // Generate unique account number
+            String accountNumber = generateAccountNumber();
+            
+            // Ensure account number is unique, across all shards
+            while (accountNumberExists(accountNumber)) {
+                accountNumber = generateAccountNumber();
+            }
+            
+            // Create account entity
+            Account account = new Account(
+                accountNumber,
+                request.getAccountType(),
+                request.getCurrency(),
+                request.getInitialDeposit(),
+                customerId,
+                request.getCustomerDetails().getFirstName(),
+                request.getCustomerDetails().getLastName(),
+                request.getCustomerDetails().getEmail(),
+                request.getCustomerDetails().getPhoneNumber(),
+                request.getCustomerDetails().getAddress()
+            );
+            
+            account.setAccountNickname(request.getAccountNickname());
+            account.setBranchId("BR001"); // Default branch
+            
+            if (request.getMetadata() != null) {
+                account.setMetadata(request.getMetadata());
+            }
+            
+            // Save account
+            Account savedAccount = accountRepository.save(account);
+            recordChange(AccountChangeType.CREATED, savedAccount);
+            accountAggregateService.added(List.of(savedAccount));
+            accountCustomerSketchService.added(List.of(savedAccount));
+            accountLeaderboardService.added(List.of(savedAccount));
+            
+            logger.info("Account created successfully: {}", savedAccount.getAccountId());
+            return mapToAccountResponse(savedAccount);
         }
-        
-        // Save account
-        Account savedAccount = accountRepository.save(account);
-        
-        logger.info("Account created successfully: {}", savedAccount.getAccountId());
-        return mapToAccountResponse(savedAccount);
     }
     
     /**
@@ -74,15 +146,20 @@ public class AccountService {
     public AccountResponse getAccountById(String accountId, String customerId) {
         logger.info("Getting account by ID: {} for customer: {}", accountId, customerId);
         
-        Account account = accountRepository.findById(accountId)
-            .orElseThrow(() -> new EntityNotFoundException("Account not found: " + accountId));
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            if (account.isPresent()) {
+                verifyOwner(account.get().getCustomerId(), customerId);
+                // Reading an account counts as activity; written behind, so this stays a read
+                accountActivityTracker.touch(accountId, customerId);
+                return mapToAccountResponse(account.get());
+            }
             
-        // Verify customer ownership
-        if (!account.getCustomerId().equals(customerId)) {
-            throw new SecurityException("Access denied: Account does not belong to customer");
+            // Accounts closed past the retention period are read from the archive
+            AccountResponse archived = findArchivedAccount(accountId).orElseThrow(() -> accountNotFound(accountId));
+            verifyOwner(archived.getCustomerId(), customerId);
+            return archived;
         }
-        
-        return mapToAccountResponse(account);
     }
     
     /**
@@ -92,9 +169,10 @@ public class AccountService {
     public Page<AccountResponse> getAccountsForCustomer(String customerId, Pageable pageable) {
         logger.info("Getting accounts for customer: {} with pagination", customerId);
         
-        Page<Account> accountsPage = accountRepository.findByCustomerId(customerId, pageable);
-        
-        return accountsPage.map(this::mapToAccountResponse);
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            Page<Account> accountsPage = accountRepository.findByCustomerId(customerId, pageable);
+            return accountsPage.map(this::mapToAccountResponse);
+        }
     }
     
     /**
@@ -106,39 +184,267 @@ public class AccountService {
                                                        Pageable pageable) {
         logger.info("Getting filtered accounts for customer: {}", customerId);
         
-        Page<Account> accountsPage = accountRepository.findAccountsWithFilters(
-            customerId, accountType, status, currency, pageable);
-            
-        return accountsPage.map(this::mapToAccountResponse);
+        if (customerId == null && shardRouter.isSharded()) {
+            // Only the projection query knows how to merge shards
+            return getAccountsWithFilters(null, accountType, status, currency, Map.of(), ALL_FIELDS, false, pageable);
+        }
+        
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            Page<Account> accountsPage = accountRepository.findAccountsWithFilters(
+                customerId, accountType, status, currency, pageable);
+            return accountsPage.map(this::mapToAccountResponse);
+        }
     }
     
     /**
-     * Update account
+     * Get accounts with filters, reading only the columns behind the requested fields.
+     * Fields that were not requested are left null and so omitted from the response;
+     * account_metadata is not queried at all unless metadata is requested.
+     * With archived set the archive is searched instead of the current accounts. Every
+     * metadata key given must have the given value.
      */
-    public AccountResponse updateAccount(String accountId, UpdateAccountRequest request, String customerId) {
-        logger.info("Updating account: {} for customer: {}", accountId, customerId);
+    @Transactional(readOnly = true)
+    public Page<AccountResponse> getAccountsWithFilters(String customerId, AccountType accountType,
+                                                       AccountStatus status, String currency,
+                                                       Map<String, String> metadata, Set<AccountField> fields,
+                                                       boolean archived, Pageable pageable) {
+        logger.info("Getting filtered accounts for customer: {} with fields: {}", customerId, fields);
         
-        Account account = accountRepository.findById(accountId)
-            .orElseThrow(() -> new EntityNotFoundException("Account not found: " + accountId));
-            
-        // Verify customer ownership
-        if (!account.getCustomerId().equals(customerId)) {
-            throw new SecurityException("Access denied: Account does not belong to customer");
+        // Reject bad sort properties here; past the repository they surface as data access errors
+        for (Sort.Order order : pageable.getSort()) {
+            if (AccountField.fromFieldName(order.getProperty()) == AccountField.METADATA) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
         }
         
-        // Update fields
-        if (request.getAccountNickname() != null) {
-            account.setAccountNickname(request.getAccountNickname());
+        if (customerId == null && shardRouter.isSharded()) {
+            return getAccountsAcrossShards(accountType, status, currency, metadata, fields, archived, pageable);
         }
         
-        if (request.getMetadata() != null) {
-            account.setMetadata(request.getMetadata());
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            List<AccountResponse> accounts = accountProjectionRepository.findAccounts(archived,
+                customerId, accountType, status, currency, metadata, fields, pageable,
+                (rs, rowNum) -> mapToAccountResponse(rs, fields));
+            
+            if (fields.contains(AccountField.METADATA)) {
+                addMetadata(archived, accounts);
+            }
+            
+            return PageableExecutionUtils.getPage(accounts, pageable,
+                () -> accountProjectionRepository.countAccounts(archived, customerId, accountType, status, currency, metadata));
         }
+    }
+    
+    /**
+     * Scatter-gather for filters that are not limited to one customer: every shard returns its
+     * first offset + size matches in the requested order, and the page is cut from their merge.
+     * Deep pages cost every shard the rows before them, as OFFSET does on a single database.
+     */
+    private Page<AccountResponse> getAccountsAcrossShards(AccountType accountType, AccountStatus status, String currency,
+                                                          Map<String, String> metadata, Set<AccountField> fields,
+                                                          boolean archived, Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        List<String> sortColumns = accountProjectionRepository.sortColumns(pageable.getSort());
+        Pageable head = pageable.isPaged()
+            ? PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort())
+            : pageable;
+        
+        List<ShardPage> shardPages = shardRouter.onEveryShard(shard -> new ShardPage(
+            accountProjectionRepository.findAccounts(archived, null, accountType, status, currency, metadata, fields, head, (rs, rowNum) -> {
+                Object[] sortKey = new Object[sortColumns.size()];
+                for (int i = 0; i < sortKey.length; i++) {
+                    sortKey[i] = rs.getObject(sortColumns.get(i));
+                }
+                return new ShardRow(shard, sortKey, mapToAccountResponse(rs, fields));
+            }),
+            accountProjectionRepository.countAccounts(archived, null, accountType, status, currency, metadata)));
         
-        Account updatedAccount = accountRepository.save(account);
+        List<ShardRow> merged = new ArrayList<>();
+        long total = 0;
+        for (ShardPage shardPage : shardPages) {
+            merged.addAll(shardPage.rows());
+            total += shardPage.total();
+        }
+        merged.sort((a, b) -> compareSortKeys(a.sortKey(), b.sortKey(), orders));
+        List<ShardRow> page = pageable.isPaged()
+            ? merged.subList((int) Math.min(pageable.getOffset(), merged.size()),
+                (int) Math.min(pageable.getOffset() + pageable.getPageSize(), merged.size()))
+            : merged;
         
-        logger.info("Account updated successfully: {}", accountId);
-        return mapToAccountResponse(updatedAccount);
+        List<AccountResponse> accounts = new ArrayList<>(page.size());
+        for (ShardRow row : page) {
+            accounts.add(row.account());
+        }
+        if (fields.contains(AccountField.METADATA)) {
+            shardRouter.onEveryShard(shard -> {
+                List<AccountResponse> onShard = new ArrayList<>();
+                for (ShardRow row : page) {
+                    if (row.shard() == shard) {
+                        onShard.add(row.account());
+                    }
+                }
+                addMetadata(archived, onShard);
+                return onShard.size();
+            });
+        }
+        return new PageImpl<>(accounts, pageable, total);
+    }
+    
+    private record ShardRow(int shard, Object[] sortKey, AccountResponse account) {
+    }
+    
+    private record ShardPage(List<ShardRow> rows, long total) {
+    }
+    
+    /**
+     * Order sort keys as SQLite orders the column values: NULL first, then numbers, then text
+     */
+    private static int compareSortKeys(Object[] a, Object[] b, List<Sort.Order> orders) {
+        for (int i = 0; i < orders.size(); i++) {
+            int result = compareColumnValues(a[i], b[i]);
+            if (result != 0) {
+                return orders.get(i).isAscending() ? result : -result;
+            }
+        }
+        return 0;
+    }
+    
+    private static int compareColumnValues(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        if (a instanceof Number || b instanceof Number) {
+            return a instanceof Number ? -1 : 1;
+        }
+        return a.toString().compareTo(b.toString());
+    }
+    
+    /**
+     * Attach metadata to accounts read through the projection query, from the current shard
+     */
+    private void addMetadata(boolean archived, List<AccountResponse> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        List<String> accountIds = new ArrayList<>(accounts.size());
+        for (AccountResponse account : accounts) {
+            accountIds.add(account.getAccountId());
+        }
+        Map<String, Map<String, String>> metadata = accountProjectionRepository.findMetadata(archived, accountIds);
+        for (AccountResponse account : accounts) {
+            account.setMetadata(metadata.getOrDefault(account.getAccountId(), new HashMap<>()));
+        }
+    }
+    
+    /**
+     * Update account: the nickname if given, and the metadata replaced by the given map if given.
+     * Only the metadata rows that differ are written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AccountResponse updateAccount(String accountId, UpdateAccountRequest request, String customerId) {
+        logger.info("Updating account: {} for customer: {}", accountId, customerId);
+        return update(accountId, customerId, request, false);
+    }
+    
+    /**
+     * Patch account with JSON merge patch (RFC 7396) semantics: the nickname if given, and each
+     * metadata key given added, changed, or removed when its value is null. Other keys are left
+     * alone and only their rows are written, so patches to different keys do not interfere.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AccountResponse patchAccount(String accountId, UpdateAccountRequest patch, String customerId) {
+        logger.info("Patching account: {} for customer: {}", accountId, customerId);
+        return update(accountId, customerId, patch, true);
+    }
+    
+    /**
+     * Apply an update in its own transaction. The account's version is checked on write; when
+     * another writer got there first - through a stale cached copy, say - the account is
+     * evicted and the update applied again to the current state.
+     */
+    private AccountResponse update(String accountId, String customerId, UpdateAccountRequest request, boolean mergeMetadata) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        Account account = findOwnedAccount(accountId, customerId);
+                        // Written behind like reads, as Hibernate never writes last_activity_at
+                        accountActivityTracker.touch(accountId, customerId);
+                        
+                        // Update fields
+                        boolean changed = false;
+                        if (request.getAccountNickname() != null
+                                && !request.getAccountNickname().equals(account.getAccountNickname())) {
+                            account.setAccountNickname(request.getAccountNickname());
+                            changed = true;
+                        }
+                        
+                        // Change the persistent map in place: replacing it rewrites every row
+                        if (request.getMetadata() != null) {
+                            changed |= mergeMetadata ? mergeMetadata(account.getMetadata(), request.getMetadata())
+                                : replaceMetadata(account.getMetadata(), request.getMetadata());
+                        }
+                        
+                        if (!changed) {
+                            logger.info("Account unchanged by update: {}", accountId);
+                            return mapToAccountResponse(account);
+                        }
+                        Account updatedAccount = accountRepository.save(account);
+                        recordChange(AccountChangeType.UPDATED, updatedAccount);
+                        
+                        logger.info("Account updated successfully: {}", accountId);
+                        return mapToAccountResponse(updatedAccount);
+                    });
+                } catch (OptimisticLockingFailureException e) {
+                    accountCacheService.evictNow(List.of(accountId));
+                    if (attempt == MAX_UPDATE_ATTEMPTS) {
+                        throw new IllegalStateException("Account is being updated concurrently, retry later");
+                    }
+                    logger.info("Account {} changed while being updated, retrying", accountId);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Make metadata equal to the given map, touching only the entries that differ; returns
+     * whether anything changed
+     */
+    private static boolean replaceMetadata(Map<String, String> metadata, Map<String, String> replacement) {
+        boolean changed = metadata.keySet().retainAll(replacement.keySet());
+        for (Map.Entry<String, String> entry : replacement.entrySet()) {
+            changed |= putIfDifferent(metadata, entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+    
+    /**
+     * Apply a merge patch to metadata: null values remove their key, others are set; returns
+     * whether anything changed
+     */
+    private static boolean mergeMetadata(Map<String, String> metadata, Map<String, String> patch) {
+        boolean changed = false;
+        for (Map.Entry<String, String> entry : patch.entrySet()) {
+            if (entry.getValue() == null) {
+                changed |= metadata.remove(entry.getKey()) != null;
+            } else {
+                changed |= putIfDifferent(metadata, entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
+    }
+    
+    // Putting an equal value would still mark the collection dirty and bump the account's version
+    private static boolean putIfDifferent(Map<String, String> metadata, String key, String value) {
+        if (metadata.containsKey(key) && Objects.equals(metadata.get(key), value)) {
+            return false;
+        }
+        metadata.put(key, value);
+        return true;
     }
     
     /**
@@ -147,30 +453,118 @@ public class AccountService {
     public void closeAccount(String accountId, String customerId, String reason) {
         logger.info("Closing account: {} for customer: {} with reason: {}", accountId, customerId, reason);
         
-        Account account = accountRepository.findById(accountId)
-            .orElseThrow(() -> new EntityNotFoundException("Account not found: " + accountId));
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            Account account = findOwnedAccount(accountId, customerId);
+            accountActivityTracker.touch(accountId, customerId);
+            
+            // Check if account can be closed (no outstanding balance)
+            if (account.getBalance() != 0) {
+                throw new IllegalStateException("Cannot close account with non-zero balance");
+            }
+            
+            // Mark as closed instead of deleting
+            AccountStatus previousStatus = account.getStatus();
+            account.setStatus(AccountStatus.CLOSED);
+            accountRepository.save(account);
+            recordChange(AccountChangeType.CLOSED, account);
+            accountAggregateService.statusChanged(account, previousStatus);
+            accountLeaderboardService.changed(account);
             
+            logger.info("Account closed successfully: {}", accountId);
+        }
+    }
+    
+    /**
+     * Mark the given active accounts INACTIVE with one UPDATE on the current shard, skipping any
+     * with activity since cutoff, and publish a status change for each one updated. Joins the
+     * caller's transaction; returns the number of accounts updated.
+     */
+    public int markInactive(List<String> accountIds, LocalDateTime cutoff) {
+        List<String> updated = accountDormancyRepository.markInactive(accountIds, cutoff, LocalDateTime.now());
+        accountCacheService.evictAccountsAndQueries(updated);
+        accountAggregateService.statusChanged(updated, AccountStatus.ACTIVE);
+        accountLeaderboardService.changed(updated);
+        List<AccountResponse> accounts = accountProjectionRepository.findAccountsById(updated,
+            (rs, rowNum) -> mapToAccountResponse(rs, ALL_FIELDS));
+        addMetadata(false, accounts);
+        for (AccountResponse account : accounts) {
+            accountChangeFeedService.record(AccountChangeType.STATUS_CHANGED, account.getAccountId(),
+                account.getCustomerId(), account.getStatus());
+            accountOutboxService.enqueue(AccountChangeType.STATUS_CHANGED, account);
+        }
+        return updated.size();
+    }
+    
+    /**
+     * Load an account for a change and verify that it belongs to the customer. Reads the
+     * customer's shard; archived accounts can no longer be changed.
+     */
+    private Account findOwnedAccount(String accountId, String customerId) {
+        Optional<Account> account = accountRepository.findById(accountId);
+        if (account.isEmpty()) {
+            Optional<AccountResponse> archived = findArchivedAccount(accountId);
+            if (archived.isEmpty()) {
+                throw accountNotFound(accountId);
+            }
+            verifyOwner(archived.get().getCustomerId(), customerId);
+            throw new IllegalStateException("Account is closed and archived");
+        }
+        
         // Verify customer ownership
-        if (!account.getCustomerId().equals(customerId)) {
+        verifyOwner(account.get().getCustomerId(), customerId);
+        return account.get();
+    }
+    
+    private static void verifyOwner(String ownerId, String customerId) {
+        if (!ownerId.equals(customerId)) {
             throw new SecurityException("Access denied: Account does not belong to customer");
         }
-        
-        // Check if account can be closed (no outstanding balance)
-        if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
-            throw new IllegalStateException("Cannot close account with non-zero balance");
+    }
+    
+    /**
+     * The exception for an account missing from the customer's shard: one found on another
+     * shard belongs to someone else
+     */
+    private RuntimeException accountNotFound(String accountId) {
+        if (shardRouter.isSharded() && shardRouter.onEveryShard(shard -> existsOnShard(accountId)).contains(true)) {
+            return new SecurityException("Access denied: Account does not belong to customer");
         }
-        
-        // Mark as closed instead of deleting
-        account.setStatus(AccountStatus.CLOSED);
-        accountRepository.save(account);
-        
-        logger.info("Account closed successfully: {}", accountId);
+        return new EntityNotFoundException("Account not found: " + accountId);
+    }
+    
+    private Optional<AccountResponse> findArchivedAccount(String accountId) {
+        Optional<AccountResponse> archived = accountProjectionRepository.findArchivedAccount(accountId,
+            (rs, rowNum) -> mapToAccountResponse(rs, ALL_FIELDS));
+        archived.ifPresent(account -> addMetadata(true, List.of(account)));
+        return archived;
+    }
+    
+    private boolean existsOnShard(String accountId) {
+        return accountRepository.existsById(accountId) || accountArchiveRepository.existsById(accountId);
+    }
+    
+    private boolean accountNumberExists(String accountNumber) {
+        // Archived accounts keep their numbers
+        return shardRouter.onEveryShard(shard -> accountRepository.existsByAccountNumber(accountNumber)
+            || accountArchiveRepository.existsByAccountNumber(accountNumber)).contains(true);
+    }
+    
+    /**
+     * Record a change on the change feed and in the event outbox, within the current transaction
+     */
+    private void recordChange(AccountChangeType changeType, Account account) {
+        // Flush first so the event carries the timestamps Hibernate generates on write
+        accountRepository.flush();
+        accountChangeFeedService.record(changeType, account);
+        accountOutboxService.enqueue(changeType, mapToAccountResponse(account));
+        // Only new accounts and status changes move accounts between other nodes' cached listings
+        accountCacheService.publishChange(account.getAccountId(), changeType != AccountChangeType.UPDATED);
     }
     
     /**
      * Generate masked account number
      */
-    private String generateAccountNumber() {
+    String generateAccountNumber() {
         // Generate a 10-digit account number
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < 10; i++) {
@@ -182,7 +576,7 @@ public class AccountService {
     /**
      * Mask account number for security
      */
-    private String maskAccountNumber(String accountNumber) {
+    static String maskAccountNumber(String accountNumber) {
         if (accountNumber == null || accountNumber.length() < 4) {
             return "****";
         }
@@ -192,7 +586,7 @@ public class AccountService {
     /**
      * Map Account entity to AccountResponse DTO
      */
-    private AccountResponse mapToAccountResponse(Account account) {
+    AccountResponse mapToAccountResponse(Account account) {
         AccountResponse response = new AccountResponse();
         
         response.setAccountId(account.getAccountId());
@@ -201,8 +595,8 @@ public class AccountService {
         response.setStatus(account.getStatus());
         response.setCurrency(account.getCurrency());
         
-        response.setBalance(new MonetaryAmount(account.getBalance(), account.getCurrency()));
-        response.setAvailableBalance(new MonetaryAmount(account.getAvailableBalance(), account.getCurrency()));
+        response.setBalance(new MonetaryAmount(account.getBalance(), account.getAmountScale(), account.getCurrency()));
+        response.setAvailableBalance(new MonetaryAmount(account.getAvailableBalance(), account.getAmountScale(), account.getCurrency()));
         
         response.setAccountNickname(account.getAccountNickname());
         response.setCustomerId(account.getCustomerId());
@@ -210,17 +604,73 @@ public class AccountService {
         response.setCreatedAt(account.getCreatedAt());
         response.setUpdatedAt(account.getUpdatedAt());
         response.setLastActivityAt(account.getLastActivityAt());
+        // Loaded while the transaction is open; the lazy collection cannot be read during
+        // serialization when open-in-view is off (prod profile)
+        Hibernate.initialize(account.getMetadata());
         response.setMetadata(account.getMetadata());
         
         return response;
     }
     
+    /**
+     * Map an accounts row holding the columns for the given fields to AccountResponse
+     */
+    private AccountResponse mapToAccountResponse(ResultSet rs, Set<AccountField> fields) throws SQLException {
+        AccountResponse response = new AccountResponse();
+        
+        response.setAccountId(rs.getString("account_id"));
+        if (fields.contains(AccountField.ACCOUNT_NUMBER)) {
+            response.setAccountNumber(maskAccountNumber(rs.getString("account_number")));
+        }
+        if (fields.contains(AccountField.ACCOUNT_TYPE)) {
+            response.setAccountType(AccountType.valueOf(rs.getString("account_type")));
+        }
+        if (fields.contains(AccountField.STATUS)) {
+            response.setStatus(AccountStatus.valueOf(rs.getString("status")));
+        }
+        if (fields.contains(AccountField.CURRENCY)) {
+            response.setCurrency(rs.getString("currency"));
+        }
+        if (fields.contains(AccountField.BALANCE)) {
+            response.setBalance(MonetaryAmount.ofMinorUnits(rs.getLong("balance"), rs.getString("currency")));
+        }
+        if (fields.contains(AccountField.AVAILABLE_BALANCE)) {
+            response.setAvailableBalance(MonetaryAmount.ofMinorUnits(rs.getLong("available_balance"), rs.getString("currency")));
+        }
+        if (fields.contains(AccountField.ACCOUNT_NICKNAME)) {
+            response.setAccountNickname(rs.getString("account_nickname"));
+        }
+        if (fields.contains(AccountField.CUSTOMER_ID)) {
+            response.setCustomerId(rs.getString("customer_id"));
+        }
+        if (fields.contains(AccountField.BRANCH_ID)) {
+            response.setBranchId(rs.getString("branch_id"));
+        }
+        if (fields.contains(AccountField.CREATED_AT)) {
+            response.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        }
+        if (fields.contains(AccountField.UPDATED_AT)) {
+            response.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        }
+        if (fields.contains(AccountField.LAST_ACTIVITY_AT)) {
+            response.setLastActivityAt(toLocalDateTime(rs.getTimestamp("last_activity_at")));
+        }
+        
+        return response;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+    
     /**
      * Get active accounts count for customer
      */
     @Transactional(readOnly = true)
     public long getActiveAccountsCount(String customerId) {
-        return accountRepository.findActiveAccountsByCustomerId(customerId).size();
+        try (AccountShardRouter.Scope shard = shardRouter.routeTo(customerId)) {
+            return accountRepository.findActiveAccountsByCustomerId(customerId).size();
+        }
     }
     
     /**
@@ -228,6 +678,6 @@ public class AccountService {
      */
     @Transactional(readOnly = true)
     public boolean accountExists(String accountId) {
-        return accountRepository.existsById(accountId);
+        return shardRouter.onEveryShard(shard -> existsOnShard(accountId)).contains(true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to {@code banking.outbox.http.url}. Any non-2xx response
+ * or I/O error fails the batch, which the relay then retries.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "http")
+public class HttpAccountEventSink implements AccountEventSink {
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public HttpAccountEventSink(RestClient.Builder builder, ObjectMapper objectMapper,
+                                @Value("${banking.outbox.http.url}") String url,
+                                @Value("${banking.outbox.http.timeout:10s}") Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+            HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder.baseUrl(url).requestFactory(requestFactory).build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<AccountOutboxEvent> events) throws IOException {
+        // Sent with a Content-Length rather than chunked, which not every receiver accepts
+        byte[] body = objectMapper.writeValueAsBytes(events);
+        restClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body)
+            .retrieve()
+            .toBodilessEntity();
+    }
+}
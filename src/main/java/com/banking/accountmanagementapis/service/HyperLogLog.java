@@ -0,0 +1,212 @@
+package com.banking.accountmanagementapis.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * HyperLogLog sketch of distinct strings: 2^precision one-byte registers, each holding the
+ * longest run of leading zeros seen among the 64-bit hashes routed to it.
+ *
+ * Estimates use Ertl's improved estimator ("New cardinality estimation algorithms for
+ * HyperLogLog sketches", 2017), which is unbiased from empty sketches to billions of values
+ * without empirical correction tables; the relative standard error is about 1.04 / sqrt(2^precision).
+ * Sketches of the same precision merge losslessly by taking the larger of each register pair.
+ * Thread-safe; the estimate is cached until the registers change.
+ */
+final class HyperLogLog {
+
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+    /** Cached estimate, -1 when the registers changed since it was computed */
+    private long estimate = -1;
+
+    HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between " + MIN_PRECISION +
+                " and " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    int precision() {
+        return precision;
+    }
+
+    /**
+     * Relative standard error of the estimates of sketches with the given precision
+     */
+    static double relativeStandardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Add a value; returns whether the sketch changed
+     */
+    synchronized boolean add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // The sentinel bit caps the rank at 64 - precision + 1 once every remaining bit is zero
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank <= registers[index]) {
+            return false;
+        }
+        registers[index] = (byte) rank;
+        estimate = -1;
+        return true;
+    }
+
+    /**
+     * Fold another sketch of the same precision into this one; returns whether this one changed
+     */
+    boolean merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of precision " +
+                other.precision + " into " + precision);
+        }
+        byte[] theirs;
+        synchronized (other) {
+            theirs = other.registers.clone();
+        }
+        synchronized (this) {
+            boolean changed = false;
+            for (int i = 0; i < registers.length; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                    changed = true;
+                }
+            }
+            if (changed) {
+                estimate = -1;
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * The estimated number of distinct values added
+     */
+    synchronized long estimate() {
+        if (estimate < 0) {
+            estimate = Math.round(computeEstimate());
+        }
+        return estimate;
+    }
+
+    private double computeEstimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return m / (2 * Math.log(2)) * m / z;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * The registers, deflated: a few bytes for a fresh sketch, about five bits per register
+     * for a full one
+     */
+    byte[] toBytes() {
+        byte[] copy;
+        synchronized (this) {
+            copy = registers.clone();
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(copy);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(copy.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static HyperLogLog fromBytes(int precision, byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            int length = inflater.inflate(sketch.registers);
+            if (length != sketch.registers.length || !inflater.finished()) {
+                throw new IllegalArgumentException("Not a HyperLogLog sketch of precision " + precision);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt HyperLogLog sketch", e);
+        } finally {
+            inflater.end();
+        }
+        for (byte register : sketch.registers) {
+            if (register < 0 || register > 64 - precision + 1) {
+                throw new IllegalArgumentException("Corrupt HyperLogLog sketch");
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with MurmurHash3's fmix64 so that every
+     * input bit affects the leading bits used for the register index
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53c23d5L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,6 @@
+-- metadata.<key>=<value> filters on the account listing: each pair selects the matching
+-- account IDs straight from this index, which covers the lookup, instead of scanning all
+-- metadata. The archive gets the same index for archived searches.
+
+CREATE INDEX idx_metadata_key_value ON account_metadata (metadata_key, metadata_value, account_id);
+CREATE INDEX idx_archive_metadata_key_value ON account_metadata_archive (metadata_key, metadata_value, account_id);
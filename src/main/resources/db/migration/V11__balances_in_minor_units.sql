@@ -0,0 +1,53 @@
+-- Balances become integers in minor units of the account's currency (cents for USD, whole yen
+-- for JPY, fils for KWD), as the application holds them, instead of numeric(19,2) major units:
+-- SQLite stored those as REAL, and their declared two decimals did not fit currencies with none
+-- or three. Ledger entries take the currency of their account, hot or archived.
+
+-- Currencies whose minor unit is not a hundredth of the major unit; every other currency takes 100
+CREATE TABLE currency_minor_units (
+    currency varchar(3) not null primary key,
+    factor integer not null
+);
+
+INSERT INTO currency_minor_units (currency, factor) VALUES
+    ('ADP', 1), ('BEF', 1), ('BHD', 1000), ('BIF', 1), ('BYB', 1), ('BYR', 1), ('CLF', 10000),
+    ('CLP', 1), ('DJF', 1), ('ESP', 1), ('GNF', 1), ('GRD', 1), ('IQD', 1000), ('ISK', 1),
+    ('ITL', 1), ('JOD', 1000), ('JPY', 1), ('KMF', 1), ('KRW', 1), ('KWD', 1000), ('LUF', 1),
+    ('LYD', 1000), ('MGF', 1), ('OMR', 1000), ('PTE', 1), ('PYG', 1), ('ROL', 1), ('RWF', 1),
+    ('TND', 1000), ('TPE', 1), ('TRL', 1), ('UGX', 1), ('UYI', 1), ('VND', 1), ('VUV', 1),
+    ('XAF', 1), ('XOF', 1), ('XPF', 1);
+
+ALTER TABLE accounts ADD COLUMN balance_minor integer not null default 0;
+ALTER TABLE accounts ADD COLUMN available_balance_minor integer not null default 0;
+UPDATE accounts SET
+    balance_minor = CAST(round(balance * coalesce(
+        (SELECT factor FROM currency_minor_units f WHERE f.currency = accounts.currency), 100)) AS INTEGER),
+    available_balance_minor = CAST(round(available_balance * coalesce(
+        (SELECT factor FROM currency_minor_units f WHERE f.currency = accounts.currency), 100)) AS INTEGER);
+ALTER TABLE accounts DROP COLUMN balance;
+ALTER TABLE accounts DROP COLUMN available_balance;
+ALTER TABLE accounts RENAME COLUMN balance_minor TO balance;
+ALTER TABLE accounts RENAME COLUMN available_balance_minor TO available_balance;
+
+ALTER TABLE accounts_archive ADD COLUMN balance_minor integer not null default 0;
+ALTER TABLE accounts_archive ADD COLUMN available_balance_minor integer not null default 0;
+UPDATE accounts_archive SET
+    balance_minor = CAST(round(balance * coalesce(
+        (SELECT factor FROM currency_minor_units f WHERE f.currency = accounts_archive.currency), 100)) AS INTEGER),
+    available_balance_minor = CAST(round(available_balance * coalesce(
+        (SELECT factor FROM currency_minor_units f WHERE f.currency = accounts_archive.currency), 100)) AS INTEGER);
+ALTER TABLE accounts_archive DROP COLUMN balance;
+ALTER TABLE accounts_archive DROP COLUMN available_balance;
+ALTER TABLE accounts_archive RENAME COLUMN balance_minor TO balance;
+ALTER TABLE accounts_archive RENAME COLUMN available_balance_minor TO available_balance;
+
+ALTER TABLE interest_accrual ADD COLUMN balance_minor integer not null default 0;
+UPDATE interest_accrual SET balance_minor = CAST(round(balance * coalesce(
+    (SELECT factor FROM currency_minor_units f WHERE f.currency = coalesce(
+        (SELECT a.currency FROM accounts a WHERE a.account_id = interest_accrual.account_id),
+        (SELECT a.currency FROM accounts_archive a WHERE a.account_id = interest_accrual.account_id))),
+    100)) AS INTEGER);
+ALTER TABLE interest_accrual DROP COLUMN balance;
+ALTER TABLE interest_accrual RENAME COLUMN balance_minor TO balance;
+
+DROP TABLE currency_minor_units;
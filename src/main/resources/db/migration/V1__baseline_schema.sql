@@ -0,0 +1,37 @@
+-- Baseline schema, identical to what ddl-auto=update generated from the Account entity.
+-- Databases created before migrations were introduced are baselined at version 0, so
+-- every statement here must be safe to run against an existing schema.
+
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id varchar(36) not null,
+    account_nickname varchar(50),
+    account_number varchar(20) not null unique,
+    account_type varchar(255) not null check (account_type in ('CHECKING','SAVINGS','MONEY_MARKET','CERTIFICATE_DEPOSIT','LOAN','CREDIT_CARD','INVESTMENT')),
+    address varchar(255),
+    available_balance numeric(19,2) not null,
+    balance numeric(19,2) not null,
+    branch_id varchar(10),
+    created_at timestamp not null,
+    currency varchar(3) not null,
+    customer_id varchar(36) not null,
+    email varchar(100),
+    first_name varchar(50) not null,
+    last_activity_at timestamp,
+    last_name varchar(50) not null,
+    phone_number varchar(20),
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE','FROZEN','CLOSED','PENDING_APPROVAL','SUSPENDED')),
+    updated_at timestamp not null,
+    primary key (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS account_metadata (
+    account_id varchar(36) not null,
+    metadata_value varchar(255),
+    metadata_key varchar(255) not null,
+    primary key (account_id, metadata_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_customer_id ON accounts (customer_id);
+CREATE INDEX IF NOT EXISTS idx_account_type ON accounts (account_type);
+CREATE INDEX IF NOT EXISTS idx_status ON accounts (status);
+CREATE INDEX IF NOT EXISTS idx_branch_id ON accounts (branch_id);
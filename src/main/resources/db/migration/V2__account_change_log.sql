@@ -0,0 +1,15 @@
+-- Append-only log of account changes behind the /api/accounts/changes feed.
+-- seq is the event ID clients resume from; AUTOINCREMENT keeps it from ever being reused
+-- after old rows are pruned.
+
+CREATE TABLE account_change_log (
+    seq integer primary key autoincrement,
+    account_id varchar(36) not null,
+    customer_id varchar(36) not null,
+    change_type varchar(20) not null,
+    status varchar(255),
+    occurred_at timestamp not null
+);
+
+CREATE INDEX idx_change_log_customer ON account_change_log (customer_id, seq);
+CREATE INDEX idx_change_log_occurred_at ON account_change_log (occurred_at);
@@ -0,0 +1,11 @@
+-- Transactional outbox for account lifecycle events. Rows are written in the same transaction
+-- as the account change and deleted once the relay has handed them to the event sink.
+
+CREATE TABLE account_outbox (
+    id integer primary key autoincrement,
+    event_type varchar(20) not null,
+    account_id varchar(36) not null,
+    customer_id varchar(36) not null,
+    payload text not null,
+    created_at timestamp not null
+);
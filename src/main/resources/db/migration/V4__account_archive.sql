@@ -0,0 +1,35 @@
+-- Cold tier for closed accounts. The archiver moves accounts that have been closed longer than
+-- the retention period here together with their metadata, so the hot tables and their indexes
+-- only hold accounts that list queries are actually about.
+
+CREATE TABLE accounts_archive (
+    account_id varchar(36) not null,
+    account_nickname varchar(50),
+    account_number varchar(20) not null unique,
+    account_type varchar(255) not null,
+    address varchar(255),
+    available_balance numeric(19,2) not null,
+    balance numeric(19,2) not null,
+    branch_id varchar(10),
+    created_at timestamp not null,
+    currency varchar(3) not null,
+    customer_id varchar(36) not null,
+    email varchar(100),
+    first_name varchar(50) not null,
+    last_activity_at timestamp,
+    last_name varchar(50) not null,
+    phone_number varchar(20),
+    status varchar(255) not null,
+    updated_at timestamp not null,
+    archived_at timestamp not null,
+    primary key (account_id)
+);
+
+CREATE TABLE account_metadata_archive (
+    account_id varchar(36) not null,
+    metadata_value varchar(255),
+    metadata_key varchar(255) not null,
+    primary key (account_id, metadata_key)
+);
+
+CREATE INDEX idx_archive_customer_id ON accounts_archive (customer_id);
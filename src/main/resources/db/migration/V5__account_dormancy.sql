@@ -0,0 +1,14 @@
+-- Dormancy sweep: walks the active accounts in last_activity_at order. With status leading,
+-- the index holds exactly the rows the sweep can still change, and account_id makes the
+-- keyset (last_activity_at, account_id) unique.
+
+CREATE INDEX idx_status_last_activity ON accounts (status, last_activity_at, account_id);
+
+-- Position of an unfinished sweep, at most one row per database
+CREATE TABLE account_dormancy_checkpoint (
+    id integer primary key check (id = 1),
+    cutoff timestamp not null,
+    last_activity_at timestamp not null,
+    account_id varchar(36) not null,
+    updated_at timestamp not null
+);
@@ -0,0 +1,13 @@
+-- Accounts changed by each node, for the other nodes sharing the database file to evict from
+-- their caches. A null account_id only invalidates cached query results. Rows are pruned after
+-- a retention period; AUTOINCREMENT keeps IDs from being reused, so a reader can tell when it
+-- missed rows.
+
+CREATE TABLE account_cache_invalidation (
+    id integer primary key autoincrement,
+    node_id varchar(36) not null,
+    account_id varchar(36),
+    created_at timestamp not null
+);
+
+CREATE INDEX idx_cache_invalidation_created_at ON account_cache_invalidation (created_at);
@@ -0,0 +1,29 @@
+-- Daily interest accrual. Interest is accrued, not posted: accrued_interest on the account is
+-- the running total in units of 10^-8 of the account currency, kept exact as an integer, and
+-- interest_accrued_on the last business date (yyyy-MM-dd) accrued. interest_accrual holds one
+-- ledger entry per account and business date; interest_accrual_run marks completed dates.
+
+ALTER TABLE accounts ADD COLUMN accrued_interest integer not null default 0;
+ALTER TABLE accounts ADD COLUMN interest_accrued_on varchar(10);
+ALTER TABLE accounts_archive ADD COLUMN accrued_interest integer not null default 0;
+ALTER TABLE accounts_archive ADD COLUMN interest_accrued_on varchar(10);
+
+-- Keyset scan of one account type's active accounts in account_id order
+CREATE INDEX idx_type_status_account ON accounts (account_type, status, account_id);
+
+CREATE TABLE interest_accrual (
+    account_id varchar(36) not null,
+    business_date varchar(10) not null,
+    customer_id varchar(36) not null,
+    balance numeric(19,2) not null,
+    annual_rate varchar(20) not null,
+    amount integer not null,
+    created_at timestamp not null,
+    primary key (account_id, business_date)
+);
+
+CREATE TABLE interest_accrual_run (
+    business_date varchar(10) not null primary key,
+    accounts integer not null,
+    completed_at timestamp not null
+);
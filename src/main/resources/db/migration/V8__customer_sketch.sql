@@ -0,0 +1,12 @@
+-- HyperLogLog sketches of the distinct customers who opened an account of each type at each
+-- branch ('' for accounts without one), covering all shards and kept on shard 0. sketch holds
+-- the registers deflated; coarser counts are unions of these sketches and are not stored.
+
+CREATE TABLE customer_sketch (
+    branch_id varchar(10) not null,
+    account_type varchar(30) not null,
+    precision integer not null,
+    sketch blob not null,
+    updated_at timestamp not null,
+    primary key (branch_id, account_type)
+);
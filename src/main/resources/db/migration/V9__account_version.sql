@@ -0,0 +1,6 @@
+-- Optimistic lock version of each account. Hibernate checks and increments it on every update,
+-- metadata changes included, so a write based on a stale copy of the account (one cached by
+-- another instance, say) fails instead of overwriting changes it never saw. JDBC writers of
+-- mapped columns increment it too.
+
+ALTER TABLE accounts ADD COLUMN version integer not null default 0;
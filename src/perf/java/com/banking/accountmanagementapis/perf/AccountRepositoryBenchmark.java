@@ -0,0 +1,122 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.AccountManagementApisApplication;
+import com.banking.accountmanagementapis.dto.AccountField;
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountRepository;
+import com.banking.accountmanagementapis.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository and service reads against a generated SQLite dataset
+ * (target/jmh-dataset.db, created by {@link DatasetGenerator} on first use).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AccountRepositoryBenchmark {
+
+    private static final Path DATASET = Path.of("target/jmh-dataset.db");
+    private static final int DATASET_ACCOUNTS = 100_000;
+    private static final int SAMPLE_SIZE = 5_000;
+    private static final Set<AccountField> SPARSE_FIELDS = AccountField.parse("accountType,status,balance");
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private AccountService accountService;
+    private List<String[]> samples;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        DatasetGenerator.ensureDataset(DATASET, DATASET_ACCOUNTS, 42);
+        context = new SpringApplicationBuilder(AccountManagementApisApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(PerfSupport.arguments(
+                "spring.datasource.url=jdbc:sqlite:" + DATASET,
+                "banking.sample-data.enabled=false"));
+        accountRepository = context.getBean(AccountRepository.class);
+        accountService = context.getBean(AccountService.class);
+        samples = context.getBean(JdbcTemplate.class).query(
+            "SELECT account_id, customer_id FROM accounts ORDER BY random() LIMIT " + SAMPLE_SIZE,
+            (rs, row) -> new String[] {rs.getString(1), rs.getString(2)});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String[] nextSample() {
+        return samples.get(ThreadLocalRandom.current().nextInt(samples.size()));
+    }
+
+    @Benchmark
+    public Account findById() {
+        return accountRepository.findById(nextSample()[0]).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Account> findByCustomerId() {
+        return accountRepository.findByCustomerId(nextSample()[1]);
+    }
+
+    @Benchmark
+    public Page<Account> findAccountsWithFilters() {
+        return accountRepository.findAccountsWithFilters(nextSample()[1], null, AccountStatus.ACTIVE, null,
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    /**
+     * Full read path including the metadata collection and response mapping
+     */
+    @Benchmark
+    public AccountResponse getAccountById() {
+        String[] sample = nextSample();
+        return accountService.getAccountById(sample[0], sample[1]);
+    }
+
+    @Benchmark
+    public Page<AccountResponse> getAccountsWithFilters() {
+        return accountService.getAccountsWithFilters(nextSample()[1], null, null, null,
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    /**
+     * The same page for {@code ?fields=accountType,status,balance}
+     */
+    @Benchmark
+    public Page<AccountResponse> getAccountsWithSparseFields() {
+        return accountService.getAccountsWithFilters(nextSample()[1], null, null, null, Map.of(), SPARSE_FIELDS, false,
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+}
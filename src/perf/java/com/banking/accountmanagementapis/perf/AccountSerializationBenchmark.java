@@ -0,0 +1,100 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.dto.AccountPageResponse;
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of single accounts and listAccounts pages, with the mapper
+ * configured as in application.properties. {@code handWritten=false} swaps
+ * AccountResponseSerializer back out for the reflective bean serializer.
+ *
+ * Values are written the way MappingJackson2HttpMessageConverter writes a response body,
+ * through a generator over the output stream. (ObjectMapper.writeValueAsBytes does not hand
+ * its buffers back to a shared recycler pool in Jackson 2.16, so it would mostly measure that.)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean indent;
+
+    @Param({"true", "false"})
+    public boolean handWritten;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private AccountResponse account;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    @State(Scope.Thread)
+    public static class PageState {
+
+        @Param({"20", "100"})
+        public int pageSize;
+
+        AccountPageResponse page;
+
+        @Setup
+        public void setUp() {
+            page = BenchmarkData.page(pageSize);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkData.applicationObjectMapper(indent);
+        if (!handWritten) {
+            objectMapper.addMixIn(AccountResponse.class, BeanSerialized.class);
+        }
+        writer = objectMapper.writer();
+        account = BenchmarkData.response(7);
+    }
+
+    @Benchmark
+    public int serializeAccount() throws Exception {
+        return write(account);
+    }
+
+    @Benchmark
+    public int serializePage(PageState state) throws Exception {
+        return write(state.page);
+    }
+
+    private int write(Object value) throws IOException {
+        out.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, value);
+        }
+        return out.size();
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialized {
+    }
+}
@@ -0,0 +1,100 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.dto.AccountPageResponse;
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.entity.Account;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representative fixtures shared by the JMH benchmarks
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * An account shaped like the sample data: full customer details and three metadata entries
+     */
+    public static Account account(int i) {
+        Account account = new Account(
+            String.format("%010d", 1_000_000L + i),
+            i % 2 == 0 ? AccountType.CHECKING : AccountType.SAVINGS,
+            "USD",
+            new BigDecimal("1500.50").add(BigDecimal.valueOf(i)),
+            "customer-" + (i % 1000),
+            "John",
+            "Smith",
+            "john.smith@email.com",
+            "+1234567890",
+            "123 Main Street, New York, NY 10001");
+        account.setAccountNickname("Primary Checking");
+        account.setBranchId("NYC-001");
+        account.setCreatedAt(DatasetGenerator.REFERENCE_TIME.minusDays(i % 365).plusNanos(123_000_000));
+        account.setUpdatedAt(DatasetGenerator.REFERENCE_TIME.minusHours(i % 24));
+        account.setLastActivityAt(DatasetGenerator.REFERENCE_TIME.minusMinutes(i % 600).plusNanos(290_000_000));
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("preferredBranch", "NYC-001");
+        metadata.put("accountPurpose", "primary");
+        metadata.put("interestRate", "2.5");
+        account.setMetadata(metadata);
+        return account;
+    }
+
+    /**
+     * The response DTO for {@link #account(int)}, built without going through AccountService
+     */
+    public static AccountResponse response(int i) {
+        Account account = account(i);
+        return new AccountResponse(account.getAccountId(), "****" + account.getAccountNumber().substring(6),
+            account.getAccountType(), AccountStatus.ACTIVE, account.getCurrency(),
+            new MonetaryAmount(account.getBalance(), account.getAmountScale(), account.getCurrency()),
+            new MonetaryAmount(account.getAvailableBalance(), account.getAmountScale(), account.getCurrency()),
+            account.getAccountNickname(), account.getCustomerId(), account.getBranchId(),
+            account.getCreatedAt(), account.getUpdatedAt(), account.getLastActivityAt(), account.getMetadata());
+    }
+
+    /**
+     * A listAccounts page body of the given size
+     */
+    public static AccountPageResponse page(int size) {
+        List<AccountResponse> accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            accounts.add(response(i));
+        }
+        return new AccountPageResponse(accounts, 10_000L, 10_000 / size, 3, size, true, true);
+    }
+
+    /**
+     * An ObjectMapper configured the way application.properties and JacksonConfig configure Spring's
+     */
+    public static ObjectMapper applicationObjectMapper(boolean indent) {
+        return applicationObjectMapper(JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build(), indent);
+    }
+
+    /**
+     * The application's ObjectMapper configuration over another encoding, e.g. a CBORFactory
+     */
+    public static ObjectMapper applicationObjectMapper(JsonFactory factory, boolean indent) {
+        return Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .indentOutput(indent)
+            .build();
+    }
+}
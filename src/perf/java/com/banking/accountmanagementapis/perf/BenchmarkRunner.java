@@ -0,0 +1,36 @@
+package com.banking.accountmanagementapis.perf;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the JMH benchmarks and writes JSON results to target/jmh/ so runs from different
+ * releases can be compared (e.g. with https://jmh.morethan.net). Accepts the usual JMH
+ * command line, e.g. {@code AccountSerialization -prof gc}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResult().hasValue()) {
+            Path results = Path.of("target", "jmh");
+            Files.createDirectories(results);
+            String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.resultFormat(ResultFormatType.JSON)
+                .result(results.resolve((version != null ? version : "dev") + "-" + timestamp + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,326 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.AccountManagementApisApplication;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.MonetaryAmount;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.repository.AccountBatchRepository;
+import net.datafaker.Faker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates realistic, reproducible account datasets for load and capacity testing.
+ *
+ * The dataset is cut into fixed-size chunks and every chunk draws from its own
+ * {@link Random} seeded from the run seed and the chunk index, so the output is identical
+ * for a given seed no matter how many generator threads are used. Chunks are generated in
+ * parallel and written in order through {@link AccountBatchRepository}, one transaction
+ * per chunk.
+ *
+ * Distributions: accounts per customer follow a power law (most customers hold one or two
+ * accounts, a few hold ten), branches are Zipf-distributed, balances are log-normal per
+ * account type, and status and currency are weighted towards ACTIVE and USD.
+ *
+ * Arguments: --db=path --accounts=N [--seed=42] [--chunk=10000] [--threads=cores]
+ */
+public class DatasetGenerator {
+
+    /** Fixed reference point so timestamps do not depend on when the generator runs */
+    static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static final int MAX_ACCOUNTS_PER_CUSTOMER = 10;
+    private static final int BRANCH_COUNT = 50;
+
+    private static final AccountType[] TYPES = {
+        AccountType.CHECKING, AccountType.SAVINGS, AccountType.CREDIT_CARD, AccountType.MONEY_MARKET,
+        AccountType.CERTIFICATE_DEPOSIT, AccountType.INVESTMENT, AccountType.LOAN};
+    private static final double[] TYPE_WEIGHTS = {40, 30, 10, 6, 5, 5, 4};
+
+    private static final AccountStatus[] STATUSES = {
+        AccountStatus.ACTIVE, AccountStatus.INACTIVE, AccountStatus.CLOSED, AccountStatus.FROZEN,
+        AccountStatus.PENDING_APPROVAL, AccountStatus.SUSPENDED};
+    private static final double[] STATUS_WEIGHTS = {85, 8, 4, 1, 1.5, 0.5};
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "CAD", "JPY", "AUD"};
+    private static final double[] CURRENCY_WEIGHTS = {80, 8, 6, 3, 2, 1};
+
+    private static final String[] NICKNAMES = {
+        "Primary Checking", "Emergency Fund", "Vacation Fund", "Rainy Day", "Bills", "House Deposit",
+        "Retirement Portfolio", "College Fund", "Travel", "Business Expenses"};
+
+    private final long seed;
+    private final int chunkSize;
+    private final double[] branchWeights = zipfWeights(BRANCH_COUNT, 1.1);
+    private final double[] customerSizeWeights = zipfWeights(MAX_ACCOUNTS_PER_CUSTOMER, 1.6);
+
+    public DatasetGenerator(long seed, int chunkSize) {
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path database = Path.of(options.getOrDefault("db", "target/perf-dataset.db"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "1000000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int chunk = Integer.parseInt(options.getOrDefault("chunk", "10000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+            Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        Files.deleteIfExists(database);
+        new DatasetGenerator(seed, chunk).generate(database, accounts, threads);
+    }
+
+    /**
+     * Reuse the dataset at the given path if it exists, otherwise generate it.
+     */
+    public static void ensureDataset(Path database, int accounts, long seed) throws Exception {
+        if (!Files.exists(database)) {
+            new DatasetGenerator(seed, 10_000).generate(database, accounts, Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Boot the application without a web server against the given SQLite file, so the
+     * schema is created exactly as the application defines it, then fill it.
+     */
+    public void generate(Path database, int accounts, int threads) throws Exception {
+        Files.createDirectories(database.toAbsolutePath().getParent());
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountManagementApisApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(PerfSupport.arguments(
+                    "spring.datasource.url=jdbc:sqlite:" + database,
+                    "banking.sample-data.enabled=false",
+                    "banking.interest.enabled=false"))) {
+
+            AccountBatchRepository writer = context.getBean(AccountBatchRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            int chunks = (accounts + chunkSize - 1) / chunkSize;
+            ExecutorService generators = Executors.newFixedThreadPool(threads);
+            BlockingQueue<Future<List<Account>>> pending = new ArrayBlockingQueue<>(threads * 2);
+            long start = System.nanoTime();
+            long written = 0;
+
+            Thread producer = Thread.ofPlatform().start(() -> {
+                try {
+                    for (int c = 0; c < chunks; c++) {
+                        int chunkIndex = c;
+                        int size = Math.min(chunkSize, accounts - c * chunkSize);
+                        pending.put(generators.submit(() -> generateChunk(chunkIndex, size)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            try {
+                for (int c = 0; c < chunks; c++) {
+                    List<Account> batch = pending.take().get();
+                    transactionTemplate.executeWithoutResult(status -> writer.insertAccounts(batch));
+                    written += batch.size();
+                    if ((c + 1) % 10 == 0 || c == chunks - 1) {
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        System.out.printf("Generated %,d / %,d accounts (%,.0f rows/s)%n",
+                            written, accounts, written / seconds);
+                    }
+                }
+            } finally {
+                producer.interrupt();
+                generators.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Generate one chunk; the output depends only on the seed and the chunk index
+     */
+    List<Account> generateChunk(int chunkIndex, int size) {
+        Random random = new Random(seed * 1_000_003L + chunkIndex);
+        Faker faker = new Faker(Locale.US, random);
+        List<Account> accounts = new ArrayList<>(size);
+        long baseIndex = (long) chunkIndex * chunkSize;
+
+        int customer = 0;
+        while (accounts.size() < size) {
+            int holdings = 1 + pick(random, customerSizeWeights);
+            String customerId = "cust-" + chunkIndex + "-" + customer++;
+            String firstName = faker.name().firstName();
+            String lastName = faker.name().lastName();
+            String email = (firstName + "." + lastName + "." + customerId + "@example.com").toLowerCase(Locale.ROOT);
+            String phone = "+1" + (2_000_000_000L + (long) (random.nextDouble() * 7_999_999_999L));
+            String address = faker.address().fullAddress();
+            String homeBranch = branchId(pick(random, branchWeights));
+
+            for (int h = 0; h < holdings && accounts.size() < size; h++) {
+                long index = baseIndex + accounts.size();
+                accounts.add(generateAccount(random, index, customerId, firstName, lastName,
+                    truncate(email, 100), phone, truncate(address, 255),
+                    random.nextDouble() < 0.85 ? homeBranch : branchId(pick(random, branchWeights))));
+            }
+        }
+        return accounts;
+    }
+
+    private Account generateAccount(Random random, long index, String customerId, String firstName,
+                                    String lastName, String email, String phone, String address, String branchId) {
+        AccountType type = TYPES[pick(random, TYPE_WEIGHTS)];
+        AccountStatus status = STATUSES[pick(random, STATUS_WEIGHTS)];
+        String currency = CURRENCIES[pick(random, CURRENCY_WEIGHTS)];
+        BigDecimal balance = status == AccountStatus.CLOSED ? BigDecimal.ZERO : balanceFor(random, type, currency);
+
+        Account account = new Account(accountNumber(index), type, currency, balance, customerId,
+            firstName, lastName, email, phone, address);
+        account.setAccountId(UUID.nameUUIDFromBytes(("account:" + seed + ":" + index).getBytes(StandardCharsets.UTF_8)).toString());
+        account.setStatus(status);
+        account.setBranchId(branchId);
+        if (random.nextBoolean()) {
+            account.setAccountNickname(NICKNAMES[random.nextInt(NICKNAMES.length)]);
+        }
+
+        // Opened within the last ten years; dormant accounts last moved one to three years ago
+        LocalDateTime createdAt = REFERENCE_TIME.minusMinutes((long) (random.nextDouble() * 10 * 365 * 24 * 60));
+        long sinceCreated = Duration.between(createdAt, REFERENCE_TIME).toMinutes();
+        LocalDateTime lastActivityAt = status == AccountStatus.INACTIVE
+            ? REFERENCE_TIME.minusDays(365 + random.nextInt(730))
+            : REFERENCE_TIME.minusMinutes((long) (sinceCreated * Math.pow(random.nextDouble(), 4)));
+        if (lastActivityAt.isBefore(createdAt)) {
+            lastActivityAt = createdAt;
+        }
+        account.setCreatedAt(createdAt);
+        account.setUpdatedAt(lastActivityAt);
+        account.setLastActivityAt(lastActivityAt);
+        account.setMetadata(metadataFor(random, type, branchId, createdAt));
+        return account;
+    }
+
+    private BigDecimal balanceFor(Random random, AccountType type, String currency) {
+        double median = switch (type) {
+            case CHECKING -> 2_500;
+            case SAVINGS -> 8_000;
+            case MONEY_MARKET -> 25_000;
+            case CERTIFICATE_DEPOSIT -> 15_000;
+            case INVESTMENT -> 40_000;
+            case CREDIT_CARD -> 1_200;
+            case LOAN -> 20_000;
+        };
+        double amount = median * Math.exp(1.1 * random.nextGaussian());
+        int scale = MonetaryAmount.currencyScale(currency);
+        if (scale == 0) {
+            amount *= 150;
+        }
+        return BigDecimal.valueOf(amount).setScale(scale, RoundingMode.HALF_EVEN);
+    }
+
+    private Map<String, String> metadataFor(Random random, AccountType type, String branchId, LocalDateTime createdAt) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("preferredBranch", branchId);
+        switch (type) {
+            case CHECKING -> metadata.put("accountPurpose", random.nextInt(4) == 0 ? "business" : "primary");
+            case SAVINGS -> {
+                metadata.put("accountPurpose", random.nextBoolean() ? "savings" : "vacation");
+                metadata.put("interestRate", rate(random, 0.5, 3.0));
+                if (random.nextInt(3) == 0) {
+                    metadata.put("targetAmount", Integer.toString(1_000 * (1 + random.nextInt(50))));
+                }
+            }
+            case MONEY_MARKET -> {
+                metadata.put("accountPurpose", "investment");
+                metadata.put("interestRate", rate(random, 2.0, 4.5));
+            }
+            case CERTIFICATE_DEPOSIT -> {
+                metadata.put("accountPurpose", "long-term-savings");
+                metadata.put("interestRate", rate(random, 3.0, 5.0));
+                LocalDate maturity = createdAt.toLocalDate().plusYears(1 + random.nextInt(5));
+                metadata.put("maturityDate", maturity.toString());
+            }
+            case INVESTMENT -> {
+                metadata.put("accountPurpose", "retirement");
+                metadata.put("riskLevel", new String[] {"conservative", "moderate", "aggressive"}[random.nextInt(3)]);
+            }
+            case CREDIT_CARD -> metadata.put("creditLimit", Integer.toString(1_000 * (1 + random.nextInt(25))));
+            case LOAN -> metadata.put("termMonths", Integer.toString(12 * (1 + random.nextInt(30))));
+        }
+        return metadata;
+    }
+
+    private static String rate(Random random, double min, double max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+    }
+
+    /**
+     * Scatter sequential indexes over the 10-digit space; the multiplier is coprime with
+     * 10^10 so the mapping is a bijection and account numbers never collide.
+     */
+    private String accountNumber(long index) {
+        long scattered = Math.floorMod(index * 7_777_777_777L + seed, 10_000_000_000L);
+        return String.format("%010d", scattered);
+    }
+
+    private static String branchId(int branch) {
+        return String.format("BR%03d", branch + 1);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static double[] zipfWeights(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        return weights;
+    }
+
+    private static int pick(Random random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
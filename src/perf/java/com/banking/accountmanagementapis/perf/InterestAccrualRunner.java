@@ -0,0 +1,54 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.AccountManagementApisApplication;
+import com.banking.accountmanagementapis.repository.AccountInterestRepository;
+import com.banking.accountmanagementapis.service.AccountInterestService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Times one nightly interest accrual over a generated dataset, to check it fits the batch
+ * window: about 30% of DatasetGenerator accounts are active SAVINGS or MONEY_MARKET ones.
+ *
+ * Every run accrues the business date after the last one completed on the dataset (the
+ * dataset's reference date on the first run), so runs can be repeated on the same file.
+ *
+ * Arguments: --db=path --accounts=N [--seed=42] [--chunk=5000] [--parallelism=cores]
+ */
+public class InterestAccrualRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DatasetGenerator.parseOptions(args);
+        Path database = Path.of(options.getOrDefault("db", "target/perf-dataset.db"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "1000000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        DatasetGenerator.ensureDataset(database, accounts, seed);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountManagementApisApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(PerfSupport.arguments(
+                    "spring.datasource.url=jdbc:sqlite:" + database,
+                    "banking.sample-data.enabled=false",
+                    "banking.interest.enabled=false",
+                    "banking.archive.enabled=false",
+                    "banking.dormancy.enabled=false",
+                    "banking.interest.chunk-size=" + options.getOrDefault("chunk", "5000"),
+                    "banking.interest.parallelism=" + options.getOrDefault("parallelism", "0")))) {
+
+            LocalDate businessDate = context.getBean(AccountInterestRepository.class).findLastCompletedRun()
+                .map(date -> date.plusDays(1))
+                .orElse(DatasetGenerator.REFERENCE_TIME.toLocalDate());
+
+            long start = System.nanoTime();
+            long accrued = context.getBean(AccountInterestService.class).accrue(businessDate);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Accrued %s for %,d accounts in %.1f s (%,.0f accounts/s, %.1f min per 10M)%n",
+                businessDate, accrued, seconds, accrued / seconds, 10_000_000 / (accrued / seconds) / 60);
+        }
+    }
+}
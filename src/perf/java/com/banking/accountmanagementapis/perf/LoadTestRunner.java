@@ -0,0 +1,289 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.AccountManagementApisApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Offline end-to-end load test for every SimpleAccountController endpoint.
+ *
+ * Boots the application against a copy of a generated SQLite dataset and issues a fixed
+ * mix of requests at a constant arrival rate (an open model). Each request's latency is
+ * measured from the time it was scheduled to start rather than the time it was actually
+ * sent, so a stalled server shows up in the percentiles instead of silently lowering the
+ * request rate (coordinated omission).
+ *
+ * Latencies go into one HDR histogram per endpoint; the report with throughput and
+ * p50/p99/p99.9 per endpoint is printed and written to target/loadtest/.
+ *
+ * Arguments: [--rate=200] [--warmup=15] [--duration=60] [--accounts=200000] [--seed=42]
+ *            [--virtual-threads=false] [--dataset=target/loadtest-dataset.db]
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    enum Endpoint {
+        HEALTH(5), LIST_ACCOUNTS(40), GET_ACCOUNT(35), CREATE_ACCOUNT(7), UPDATE_ACCOUNT(8), CLOSE_ACCOUNT(3), EXPORT_ACCOUNTS(2);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Sample(String accountId, String customerId) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    private final ConcurrentLinkedQueue<Sample> closable = new ConcurrentLinkedQueue<>();
+    private final Random random;
+    private final Endpoint[] schedule;
+    private String baseUrl;
+    private List<Sample> samples;
+
+    LoadTestRunner(long seed) {
+        this.random = new Random(seed);
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            total += endpoint.weight;
+        }
+        this.schedule = new Endpoint[total];
+        int i = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (int w = 0; w < endpoint.weight; w++) {
+                schedule[i++] = endpoint;
+            }
+        }
+        resetHistograms();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DatasetGenerator.parseOptions(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "200000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+        Path dataset = Path.of(options.getOrDefault("dataset", "target/loadtest-dataset.db"));
+
+        // Requests mutate the database, so every run starts from a fresh copy of the dataset
+        DatasetGenerator.ensureDataset(dataset, accounts, seed);
+        Path runDatabase = dataset.resolveSibling("loadtest-run.db");
+        Files.copy(dataset, runDatabase, StandardCopyOption.REPLACE_EXISTING);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountManagementApisApplication.class)
+                .run(PerfSupport.arguments(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:sqlite:" + runDatabase,
+                    "banking.sample-data.enabled=false",
+                    "spring.threads.virtual.enabled=" + virtualThreads))) {
+
+            LoadTestRunner runner = new LoadTestRunner(seed);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            runner.baseUrl = "http://localhost:" + port + "/api/accounts";
+            runner.samples = context.getBean(JdbcTemplate.class).query(
+                "SELECT account_id, customer_id FROM accounts WHERE status = 'ACTIVE' ORDER BY account_id LIMIT 20000",
+                (rs, row) -> new Sample(rs.getString(1), rs.getString(2)));
+
+            // Zero-balance accounts for the close endpoint, which rejects accounts holding funds
+            int closeBudget = (int) Math.ceil(rate * (warmup + duration) * Endpoint.CLOSE_ACCOUNT.weight / 100.0 * 1.2) + 10;
+            System.out.printf("Preparing %d closable accounts...%n", closeBudget);
+            for (int i = 0; i < closeBudget; i++) {
+                runner.createAccount(runner.samples.get(i % runner.samples.size()).customerId(), true);
+            }
+
+            System.out.printf("Warming up for %ds at %d req/s...%n", warmup, rate);
+            runner.run(rate, warmup);
+            runner.resetHistograms();
+
+            System.out.printf("Measuring for %ds at %d req/s...%n", duration, rate);
+            runner.run(rate, duration);
+            runner.report(rate, duration, virtualThreads);
+        }
+    }
+
+    private void resetHistograms() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    /**
+     * Issue requests at a fixed rate for the given duration; the scheduler never waits for
+     * responses, each request runs on its own virtual thread.
+     */
+    private void run(int rate, int seconds) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+                Sample sample = samples.get(random.nextInt(samples.size()));
+                requests.submit(() -> {
+                    boolean success;
+                    try {
+                        success = execute(endpoint, sample);
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    long latency = Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS);
+                    histograms.get(endpoint).recordValue(latency);
+                    if (!success) {
+                        errors.get(endpoint).incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private boolean execute(Endpoint endpoint, Sample sample) throws Exception {
+        return switch (endpoint) {
+            case HEALTH -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/health")).GET());
+            case LIST_ACCOUNTS -> send(withCustomer(HttpRequest.newBuilder(URI.create(baseUrl + "?page=0&size=20")), sample).GET());
+            case GET_ACCOUNT -> send(withCustomer(HttpRequest.newBuilder(URI.create(baseUrl + "/" + sample.accountId())), sample).GET());
+            case CREATE_ACCOUNT -> createAccount(sample.customerId(), false);
+            case UPDATE_ACCOUNT -> send(withCustomer(HttpRequest.newBuilder(URI.create(baseUrl + "/" + sample.accountId())), sample)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                    "{\"accountNickname\":\"Load Test\",\"metadata\":{\"preferredBranch\":\"BR001\",\"accountPurpose\":\"primary\"}}")));
+            case CLOSE_ACCOUNT -> {
+                Sample target = closable.poll();
+                yield target != null
+                    && send(withCustomer(HttpRequest.newBuilder(URI.create(baseUrl + "/" + target.accountId())), target).DELETE());
+            }
+            case EXPORT_ACCOUNTS -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/export?customerId=" + sample.customerId())).GET());
+        };
+    }
+
+    private boolean createAccount(String customerId, boolean zeroBalance) throws Exception {
+        String body = """
+            {"accountType":"SAVINGS","currency":"USD","initialDeposit":%s,
+             "customerDetails":{"firstName":"Load","lastName":"Test","email":"load.test@example.com"}}
+            """.formatted(zeroBalance ? "0" : "250.00");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+            .header("Content-Type", "application/json")
+            .header("X-Customer-ID", customerId)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        if (zeroBalance) {
+            JsonNode created = MAPPER.readTree(response.body());
+            closable.add(new Sample(created.get("accountId").asText(), customerId));
+        }
+        return true;
+    }
+
+    private HttpRequest.Builder withCustomer(HttpRequest.Builder builder, Sample sample) {
+        return builder.header("X-Customer-ID", sample.customerId());
+    }
+
+    private boolean send(HttpRequest.Builder builder) throws Exception {
+        HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 300;
+    }
+
+    private void report(int rate, int seconds, boolean virtualThreads) throws Exception {
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+        String name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("targetRate", rate);
+        json.put("durationSeconds", seconds);
+        json.put("virtualThreads", virtualThreads);
+        ArrayNode endpoints = json.putArray("endpoints");
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("Target rate %d req/s for %ds (virtual threads: %s)%n", rate, seconds, virtualThreads));
+        table.append(String.format("%-16s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            long count = histogram.getTotalCount();
+            double throughput = (double) count / seconds;
+            table.append(String.format("%-16s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, count, errors.get(endpoint).get(), throughput,
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1e6));
+
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.name());
+            node.put("count", count);
+            node.put("errors", errors.get(endpoint).get());
+            node.put("throughput", throughput);
+            node.put("p50Millis", millis(histogram, 50.0));
+            node.put("p99Millis", millis(histogram, 99.0));
+            node.put("p999Millis", millis(histogram, 99.9));
+            node.put("maxMillis", histogram.getMaxValue() / 1e6);
+
+            try (PrintStream out = new PrintStream(directory.resolve(name + "-" + endpoint.name().toLowerCase() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+
+        Files.writeString(directory.resolve(name + ".txt"), table);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(directory.resolve(name + ".json").toFile(), json);
+        System.out.println();
+        System.out.print(table);
+        System.out.println("Report written to " + directory.resolve(name + ".txt"));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.dto.MonetaryAmountSerializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one balance from the SQLite column value to JSON: the BigDecimal path the entity
+ * used to take from the numeric(19,2) column (the driver builds it from the column text for
+ * REAL values) against the minor-units path from the INTEGER column. Balances are USD, a mix
+ * of whole and fractional amounts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonetaryAmountBenchmark {
+
+    private static final int VALUES = 1024;
+    private static final int SCALE = 2;
+
+    private final long[] minorUnitValues = new long[VALUES];
+    private final byte[][] columnTexts = new byte[VALUES][];
+    private final boolean[] wholeAmounts = new boolean[VALUES];
+    private JsonGenerator generator;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < VALUES; i++) {
+            long minorUnits = (long) (250_000 * Math.exp(random.nextGaussian()));
+            if (i % 4 == 0) {
+                minorUnits -= minorUnits % 100;
+            }
+            BigDecimal amount = BigDecimal.valueOf(minorUnits, SCALE).stripTrailingZeros();
+            minorUnitValues[i] = minorUnits;
+            columnTexts[i] = amount.toPlainString().getBytes(StandardCharsets.US_ASCII);
+            wholeAmounts[i] = amount.scale() <= 0;
+        }
+        generator = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+        generator.writeStartArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    @Benchmark
+    public void bigDecimal() throws IOException {
+        int i = nextIndex();
+        BigDecimal amount = wholeAmounts[i]
+            ? BigDecimal.valueOf(minorUnitValues[i] / 100)
+            : new BigDecimal(new String(columnTexts[i], StandardCharsets.US_ASCII));
+        generator.writeNumber(amount);
+    }
+
+    @Benchmark
+    public void minorUnits() throws IOException {
+        int i = nextIndex();
+        MonetaryAmountSerializer.writeAmount(generator, minorUnitValues[i], SCALE);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (VALUES - 1);
+        return next;
+    }
+}
@@ -0,0 +1,35 @@
+package com.banking.accountmanagementapis.perf;
+
+/**
+ * Shared settings for harnesses that boot the application in-process.
+ */
+final class PerfSupport {
+
+    private static final String[] QUIET = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.com.banking=WARN",
+        "logging.level.com.banking.accountmanagementapis=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.file.name=target/perf-app.log"
+    };
+
+    private PerfSupport() {
+    }
+
+    /**
+     * Command-line arguments (which take precedence over application.properties) that
+     * silence per-request and per-statement logging, plus any extra settings.
+     */
+    static String[] arguments(String... properties) {
+        String[] args = new String[QUIET.length + properties.length];
+        for (int i = 0; i < QUIET.length; i++) {
+            args[i] = "--" + QUIET[i];
+        }
+        for (int i = 0; i < properties.length; i++) {
+            args[QUIET.length + i] = "--" + properties[i];
+        }
+        return args;
+    }
+}
@@ -0,0 +1,177 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.AccountManagementApisApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares throughput and p99 latency of listAccounts and getAccount with request
+ * handling on platform threads versus virtual threads.
+ *
+ * Each mode boots the application on a random port against a fresh SQLite file and is
+ * driven by a fixed number of concurrent clients for a fixed duration.
+ *
+ * Arguments: [concurrency] [warmupSeconds] [measureSeconds] [accounts]
+ */
+public class ThreadingModeBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CUSTOMER_ID = "bench-customer";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int warmupSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int measureSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int accounts = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            report.addAll(runMode(virtual, concurrency, warmupSeconds, measureSeconds, accounts));
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %-13s %12s %10s %10s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms");
+        report.forEach(System.out::println);
+    }
+
+    private static List<String> runMode(boolean virtual, int concurrency, int warmupSeconds,
+                                        int measureSeconds, int accounts) throws Exception {
+        Path database = Files.createTempFile("threading-bench-", ".db");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountManagementApisApplication.class)
+                .run(PerfSupport.arguments(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:sqlite:" + database,
+                    "spring.threads.virtual.enabled=" + virtual))) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/accounts";
+            HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+            List<String> accountIds = seedAccounts(client, baseUrl, accounts);
+
+            drive(client, baseUrl, accountIds, concurrency, warmupSeconds);
+            Result result = drive(client, baseUrl, accountIds, concurrency, measureSeconds);
+
+            String mode = virtual ? "virtual" : "platform";
+            return List.of(
+                result.list().format(mode, "listAccounts", measureSeconds),
+                result.get().format(mode, "getAccount", measureSeconds));
+        } finally {
+            Files.deleteIfExists(database);
+        }
+    }
+
+    private static List<String> seedAccounts(HttpClient client, String baseUrl, int count) throws Exception {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String body = """
+                {"accountType":"CHECKING","currency":"USD","initialDeposit":%d.00,
+                 "customerDetails":{"firstName":"Bench","lastName":"User%d","email":"bench%d@example.com"}}
+                """.formatted(100 + i, i, i);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .header("X-Customer-ID", CUSTOMER_ID)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+            JsonNode created = MAPPER.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            ids.add(created.get("accountId").asText());
+        }
+        return ids;
+    }
+
+    private static Result drive(HttpClient client, String baseUrl, List<String> accountIds,
+                                int concurrency, int seconds) throws InterruptedException {
+        LatencyRecorder list = new LatencyRecorder();
+        LatencyRecorder get = new LatencyRecorder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        boolean listCall = random.nextBoolean();
+                        URI uri = listCall
+                            ? URI.create(baseUrl + "?page=" + random.nextInt(10) + "&size=20")
+                            : URI.create(baseUrl + "/" + accountIds.get(random.nextInt(accountIds.size())));
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("X-Customer-ID", CUSTOMER_ID)
+                            .GET()
+                            .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            long elapsed = System.nanoTime() - start;
+                            (listCall ? list : get).record(elapsed, response.statusCode() < 400);
+                        } catch (Exception e) {
+                            (listCall ? list : get).record(System.nanoTime() - start, false);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(list, get);
+    }
+
+    private record Result(LatencyRecorder list, LatencyRecorder get) {
+    }
+
+    /**
+     * Thread-safe append-only latency buffer; percentiles are computed by sorting at the end.
+     */
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1 << 16];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos, boolean success) {
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized String format(String mode, String endpoint, int seconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return String.format("%-9s %-13s %12.1f %10.2f %10.2f%s",
+                mode, endpoint, (double) size / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                errors.get() > 0 ? "  (" + errors.get() + " errors)" : "");
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
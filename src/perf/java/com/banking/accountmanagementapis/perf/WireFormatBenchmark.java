@@ -0,0 +1,95 @@
+package com.banking.accountmanagementapis.perf;
+
+import com.banking.accountmanagementapis.dto.AccountPageResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a listAccounts page as JSON, CBOR and Smile, the encodings the
+ * controller negotiates. Encoded sizes are printed at setup; every format must decode
+ * back to the same page it encoded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private AccountPageResponse page;
+    private byte[] encoded;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkData.applicationObjectMapper(factory(format), false);
+        writer = objectMapper.writer();
+        reader = objectMapper.readerFor(AccountPageResponse.class);
+        page = BenchmarkData.page(pageSize);
+        encode();
+        encoded = out.toByteArray();
+
+        ObjectMapper json = BenchmarkData.applicationObjectMapper(false);
+        String expected = json.writeValueAsString(page);
+        String roundTripped = json.writeValueAsString(reader.readValue(encoded));
+        if (!expected.equals(roundTripped)) {
+            throw new IllegalStateException(format + " does not round-trip:\n" + expected + "\n" + roundTripped);
+        }
+        System.out.printf("%s page of %d: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build();
+            case "cbor" -> CBORFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build();
+            case "smile" -> SmileFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, page);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public AccountPageResponse decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.entity.Account;
+import com.banking.accountmanagementapis.perf.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account costs on the response path of every AccountService read.
+ * Lives in the service package to reach the package-private helpers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountMappingBenchmark {
+
+    private AccountService accountService;
+    private Account account;
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        accountService = new AccountService();
+        account = BenchmarkData.account(42);
+        accountNumber = account.getAccountNumber();
+    }
+
+    @Benchmark
+    public AccountResponse mapToAccountResponse() {
+        return accountService.mapToAccountResponse(account);
+    }
+
+    @Benchmark
+    public String maskAccountNumber() {
+        return AccountService.maskAccountNumber(accountNumber);
+    }
+
+    @Benchmark
+    public String generateAccountNumber() {
+        return accountService.generateAccountNumber();
+    }
+}
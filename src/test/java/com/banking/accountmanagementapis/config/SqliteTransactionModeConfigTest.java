@@ -0,0 +1,177 @@
+package com.banking.accountmanagementapis.config;
+
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqliteTransactionModeConfigTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readThenWriteSurvivesConcurrentWriter() {
+        DataSource dataSource = new SqliteTransactionModeConfig.TransactionModeDataSource(pool("accounts"));
+        createAccount(dataSource);
+
+        readThenWriteRacingBackgroundWriter(dataSource);
+
+        assertEquals(115, balance(dataSource));
+    }
+
+    @Test
+    void readThenWriteFailsWithoutTransactionMode() {
+        DataSource dataSource = pool("accounts");
+        createAccount(dataSource);
+
+        DataAccessException e = assertThrows(DataAccessException.class,
+            () -> readThenWriteRacingBackgroundWriter(dataSource));
+        assertTrue(NestedExceptionUtils.getMostSpecificCause(e).getMessage().contains("SQLITE_BUSY"));
+    }
+
+    @Test
+    void readOnlyTransactionDoesNotTakeWriteLock() throws Exception {
+        DataSource dataSource = new SqliteTransactionModeConfig.TransactionModeDataSource(pool("accounts"));
+        createAccount(dataSource);
+
+        try (Connection reader = dataSource.getConnection()) {
+            reader.setReadOnly(true);
+            reader.setAutoCommit(false);
+            try (Statement statement = reader.createStatement()) {
+                statement.executeQuery("SELECT balance FROM accounts").close();
+            }
+            assertDoesNotThrow(() -> writeWithoutWaiting(dataSource));
+            reader.commit();
+            reader.setAutoCommit(true);
+        }
+    }
+
+    @Test
+    void commitDoesNotHoldWriteLockUntilAutoCommitIsRestored() throws Exception {
+        DataSource dataSource = new SqliteTransactionModeConfig.TransactionModeDataSource(pool("accounts"));
+        createAccount(dataSource);
+
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.executeUpdate("UPDATE accounts SET balance = balance + 1");
+            }
+            writer.commit();
+            // The driver has already begun the next transaction on this connection
+            assertDoesNotThrow(() -> writeWithoutWaiting(dataSource));
+            writer.setAutoCommit(true);
+        }
+    }
+
+    @Test
+    void shardConnectionsSurviveConcurrentWriter() {
+        List<HikariDataSource> shards = List.of(pool("shard-0"), pool("shard-1"));
+        DataSource dataSource = new ShardingConfig().dataSource(new ShardingConfig.ShardDataSources(shards));
+        AccountShardRouter router = new AccountShardRouter();
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            createAccount(shards.get(shard));
+            int target = shard;
+            try (AccountShardRouter.Scope scope = router.routeToShard(target)) {
+                readThenWriteRacingBackgroundWriter(dataSource, () -> router.routeToShard(target));
+            }
+            assertEquals(115, balance(shards.get(shard)));
+        }
+    }
+
+    private void readThenWriteRacingBackgroundWriter(DataSource dataSource) {
+        readThenWriteRacingBackgroundWriter(dataSource, () -> () -> {});
+    }
+
+    /**
+     * Reads the balance in a read-write transaction, lets a background writer commit if it can,
+     * then writes in the same transaction - findById followed by save
+     */
+    private void readThenWriteRacingBackgroundWriter(DataSource dataSource, Supplier<AutoCloseable> backgroundScope) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        CompletableFuture<Void> background = new CompletableFuture<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Long balance = jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_id = 'A'", Long.class);
+            Thread.ofPlatform().daemon().start(() -> {
+                try (AutoCloseable scope = backgroundScope.get()) {
+                    jdbcTemplate.update("UPDATE accounts SET balance = balance + 5 WHERE account_id = 'A'");
+                    background.complete(null);
+                } catch (Throwable e) {
+                    background.completeExceptionally(e);
+                }
+            });
+            try {
+                // Deferred: the background write commits now; immediate: it waits for this transaction
+                background.get(500, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Still waiting on the write lock
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE account_id = 'A'", balance + 10);
+        });
+        background.join();
+    }
+
+    private static void writeWithoutWaiting(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = 0");
+            try {
+                statement.executeUpdate("UPDATE accounts SET balance = balance + 1");
+            } finally {
+                statement.execute("PRAGMA busy_timeout = 5000");
+            }
+        }
+    }
+
+    private static void createAccount(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (account_id text primary key, balance integer not null)");
+        jdbcTemplate.update("INSERT INTO accounts VALUES ('A', 100)");
+    }
+
+    private static long balance(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT balance FROM accounts WHERE account_id = 'A'", Long.class);
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:sqlite:" + directory.resolve(name + ".db"));
+        dataSource.setMaximumPoolSize(2);
+        dataSource.addDataSourceProperty("busy_timeout", "5000");
+        dataSource.addDataSourceProperty("journal_mode", "WAL");
+        pools.add(dataSource);
+        return dataSource;
+    }
+}
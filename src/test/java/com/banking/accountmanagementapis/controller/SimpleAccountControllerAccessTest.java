@@ -0,0 +1,135 @@
+package com.banking.accountmanagementapis.controller;
+
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.CreateAccountRequest;
+import com.banking.accountmanagementapis.dto.CustomerDetails;
+import com.banking.accountmanagementapis.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reads across customers need X-Admin-Token; the test profile sets it to test-admin-token
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SimpleAccountControllerAccessTest {
+
+    private static final String ADMIN_TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    private String customerId;
+    private String accountId;
+    private String otherCustomerId;
+    private String otherAccountId;
+
+    @BeforeEach
+    void createAccounts() {
+        customerId = "CUST-" + UUID.randomUUID();
+        accountId = createAccount(customerId);
+        otherCustomerId = "CUST-" + UUID.randomUUID();
+        otherAccountId = createAccount(otherCustomerId);
+    }
+
+    @Test
+    void exportWithoutCustomerOrAdminIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/accounts/export")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts/export").param("customerId", otherCustomerId))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts/export").header("X-Admin-Token", "wrong"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void exportIsScopedToTheCustomer() throws Exception {
+        String export = export(get("/api/accounts/export").header("X-Customer-ID", customerId));
+
+        assertTrue(export.contains(accountId));
+        assertFalse(export.contains(otherAccountId));
+    }
+
+    @Test
+    void exportOfAnotherCustomerIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/accounts/export").header("X-Customer-ID", customerId)
+                .param("customerId", otherCustomerId))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminExportsAnyCustomer() throws Exception {
+        String export = export(get("/api/accounts/export").header("X-Admin-Token", ADMIN_TOKEN)
+            .param("customerId", otherCustomerId));
+
+        assertTrue(export.contains(otherAccountId));
+        assertFalse(export.contains(accountId));
+    }
+
+    @Test
+    void changeFeedWithoutCustomerOrAdminIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/accounts/changes")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts/changes").param("customerId", otherCustomerId))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void changeFeedOfAnotherCustomerIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/accounts/changes").header("X-Customer-ID", customerId)
+                .param("customerId", otherCustomerId))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void changeFeedOpensForTheCustomerOrAdmin() throws Exception {
+        mockMvc.perform(get("/api/accounts/changes").header("X-Customer-ID", customerId))
+            .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/accounts/changes").header("X-Admin-Token", ADMIN_TOKEN))
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void leaderboardNeedsAdmin() throws Exception {
+        mockMvc.perform(get("/api/accounts/leaderboard")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts/leaderboard").header("X-Customer-ID", customerId))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/accounts/leaderboard").header("X-Admin-Token", "wrong"))
+            .andExpect(status().isUnauthorized());
+        int status = mockMvc.perform(get("/api/accounts/leaderboard").header("X-Admin-Token", ADMIN_TOKEN))
+            .andReturn().getResponse().getStatus();
+        // 503 until the leaderboards are first built
+        assertTrue(status == 200 || status == 503, "status " + status);
+    }
+
+    private String export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private String createAccount(String customerId) {
+        return accountService.createAccount(new CreateAccountRequest(AccountType.SAVINGS, "USD",
+            new BigDecimal("75.00"), new CustomerDetails("Eve", "Kim", "eve@example.com", null, null), null, null),
+            customerId).getAccountId();
+    }
+}
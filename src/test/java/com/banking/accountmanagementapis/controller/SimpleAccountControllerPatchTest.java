@@ -0,0 +1,193 @@
+package com.banking.accountmanagementapis.controller;
+
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.CreateAccountRequest;
+import com.banking.accountmanagementapis.dto.CustomerDetails;
+import com.banking.accountmanagementapis.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SimpleAccountControllerPatchTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private String customerId;
+    private String accountId;
+
+    @BeforeEach
+    void createAccount() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Logs every metadata row written, to check that patches write only what they change
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS test_metadata_writes " +
+            "(id INTEGER PRIMARY KEY, operation TEXT, account_id TEXT, metadata_key TEXT)");
+        for (String operation : List.of("INSERT", "UPDATE", "DELETE")) {
+            String row = operation.equals("DELETE") ? "OLD" : "NEW";
+            jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS test_metadata_" + operation.toLowerCase() +
+                " AFTER " + operation + " ON account_metadata BEGIN INSERT INTO test_metadata_writes " +
+                "(operation, account_id, metadata_key) VALUES ('" + operation + "', " + row + ".account_id, " +
+                row + ".metadata_key); END");
+        }
+        customerId = "CUST-" + UUID.randomUUID();
+        AccountResponse account = accountService.createAccount(new CreateAccountRequest(AccountType.SAVINGS, "USD",
+            new BigDecimal("10.00"), new CustomerDetails("Cy", "Ray", "cy@example.com", null, null), "Rainy day",
+            Map.of("tier", "gold", "channel", "web", "segment", "retail")), customerId);
+        accountId = account.getAccountId();
+        // Only writes made by the request under test count
+        jdbcTemplate.update("DELETE FROM test_metadata_writes WHERE account_id = ?", accountId);
+    }
+
+    @Test
+    void nullRemovesOnlyItsKey() throws Exception {
+        long version = version();
+
+        mergePatch("{\"metadata\": {\"channel\": null}}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.metadata.tier").value("gold"))
+            .andExpect(jsonPath("$.metadata.segment").value("retail"))
+            .andExpect(jsonPath("$.metadata.channel").doesNotExist())
+            .andExpect(jsonPath("$.accountNickname").value("Rainy day"));
+
+        assertEquals(Map.of("tier", "gold", "segment", "retail"), metadata());
+        assertEquals(List.of("DELETE channel"), writes());
+        assertEquals(version + 1, version());
+    }
+
+    @Test
+    void nullForAbsentKeyChangesNothing() throws Exception {
+        long version = version();
+
+        mergePatch("{\"metadata\": {\"missing\": null}}").andExpect(status().isOk());
+
+        assertEquals(List.of(), writes());
+        assertEquals(version, version());
+    }
+
+    @Test
+    void writesOnlyChangedRows() throws Exception {
+        long version = version();
+
+        mergePatch("{\"metadata\": {\"tier\": \"platinum\", \"channel\": \"web\", \"region\": \"emea\"}}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.metadata.tier").value("platinum"))
+            .andExpect(jsonPath("$.metadata.region").value("emea"));
+
+        assertEquals(Map.of("tier", "platinum", "channel", "web", "segment", "retail", "region", "emea"), metadata());
+        assertEquals(List.of("INSERT region", "UPDATE tier"), writes().stream().sorted().toList());
+        assertEquals(version + 1, version());
+    }
+
+    @Test
+    void unchangedPatchWritesNothing() throws Exception {
+        long version = version();
+
+        mergePatch("{\"accountNickname\": \"Rainy day\", \"metadata\": {\"tier\": \"gold\"}}").andExpect(status().isOk());
+
+        assertEquals(List.of(), writes());
+        assertEquals(version, version());
+    }
+
+    @Test
+    void replaceWritesOnlyChangedRows() throws Exception {
+        long version = version();
+
+        mockMvc.perform(put("/api/accounts/" + accountId).header("X-Customer-ID", customerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"metadata\": {\"tier\": \"gold\", \"channel\": \"branch\", \"region\": \"emea\"}}"))
+            .andExpect(status().isOk());
+
+        assertEquals(Map.of("tier", "gold", "channel", "branch", "region", "emea"), metadata());
+        assertEquals(List.of("DELETE segment", "INSERT region", "UPDATE channel"), writes().stream().sorted().toList());
+        assertEquals(version + 1, version());
+    }
+
+    @Test
+    void nestedObjectIsRejected() throws Exception {
+        long version = version();
+
+        mergePatch("{\"metadata\": {\"tier\": {\"level\": \"gold\"}}}").andExpect(status().isBadRequest());
+        mergePatch("{\"metadata\": {\"tier\": [\"gold\"]}}").andExpect(status().isBadRequest());
+
+        assertEquals(Map.of("tier", "gold", "channel", "web", "segment", "retail"), metadata());
+        assertEquals(List.of(), writes());
+        assertEquals(version, version());
+    }
+
+    @Test
+    void unknownFieldsAreIgnored() throws Exception {
+        mergePatch("{\"balance\": 1000000, \"status\": \"CLOSED\", \"metadata\": {\"tier\": \"silver\"}}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance.amount").value(10.0))
+            .andExpect(jsonPath("$.status").value("ACTIVE"))
+            .andExpect(jsonPath("$.metadata.tier").value("silver"));
+
+        assertEquals(List.of("UPDATE tier"), writes());
+    }
+
+    @Test
+    void absentMetadataLeavesItAlone() throws Exception {
+        mergePatch("{\"accountNickname\": \"Sunny day\"}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accountNickname").value("Sunny day"))
+            .andExpect(jsonPath("$.metadata.tier").value("gold"));
+
+        assertEquals(List.of(), writes());
+    }
+
+    private ResultActions mergePatch(String body) throws Exception {
+        return mockMvc.perform(patch("/api/accounts/" + accountId).header("X-Customer-ID", customerId)
+            .contentType(MERGE_PATCH).content(body));
+    }
+
+    private List<String> writes() {
+        return jdbcTemplate.queryForList("SELECT operation || ' ' || metadata_key FROM test_metadata_writes " +
+            "WHERE account_id = ? ORDER BY id", String.class, accountId);
+    }
+
+    private Map<String, String> metadata() {
+        Map<String, String> metadata = new HashMap<>();
+        jdbcTemplate.query("SELECT metadata_key, metadata_value FROM account_metadata WHERE account_id = ?",
+            rs -> {
+                metadata.put(rs.getString(1), rs.getString(2));
+            }, accountId);
+        return metadata;
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject("SELECT version FROM accounts WHERE account_id = ?", Long.class, accountId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountResponseSerializerTest {
+
+    @Test
+    void writesNullMetadataValues() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        String json = objectMapper.writeValueAsString(account(metadata("purpose", null, "tier", "gold")));
+
+        assertEquals("{\"purpose\":null,\"tier\":\"gold\"}",
+            objectMapper.readTree(json).get("metadata").toString());
+    }
+
+    @Test
+    void matchesBeanSerializerUnderApplicationSettings() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL);
+        AccountResponse account = account(metadata("purpose", null, "tier", "gold"));
+        account.setAccountNickname(null);
+
+        assertEquals(beanSerialized(builder, account), builder.build().writeValueAsString(account));
+    }
+
+    private static String beanSerialized(Jackson2ObjectMapperBuilder builder, AccountResponse account) throws Exception {
+        return builder.build().addMixIn(AccountResponse.class, BeanSerialized.class).writeValueAsString(account);
+    }
+
+    private static AccountResponse account(Map<String, String> metadata) {
+        return new AccountResponse("ACC1", "1234567890", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD",
+            MonetaryAmount.ofMinorUnits(150_050, "USD"), MonetaryAmount.ofMinorUnits(100_000, "USD"), "Holiday fund",
+            "CUST1", "BR1", LocalDateTime.of(2024, 1, 15, 10, 30, 0, 120_000_000),
+            LocalDateTime.of(2024, 2, 1, 9, 0), null, metadata);
+    }
+
+    private static Map<String, String> metadata(String... keysAndValues) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            metadata.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return metadata;
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialized {
+    }
+}
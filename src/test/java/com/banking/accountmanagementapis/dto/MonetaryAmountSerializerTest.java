@@ -0,0 +1,76 @@
+package com.banking.accountmanagementapis.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MonetaryAmountSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesTwoDecimalCurrencyWithTwoDecimalPlaces() throws Exception {
+        assertEquals("{\"amount\":100.00,\"currency\":\"USD\"}", write(MonetaryAmount.ofMinorUnits(10_000, "USD")));
+        assertEquals("{\"amount\":1500.50,\"currency\":\"EUR\"}", write(MonetaryAmount.ofMinorUnits(150_050, "EUR")));
+        assertEquals("{\"amount\":0.05,\"currency\":\"USD\"}", write(MonetaryAmount.ofMinorUnits(5, "USD")));
+        assertEquals("{\"amount\":-12.30,\"currency\":\"GBP\"}", write(MonetaryAmount.ofMinorUnits(-1_230, "GBP")));
+    }
+
+    @Test
+    void writesZeroDecimalCurrencyAsWholeNumber() throws Exception {
+        assertEquals("{\"amount\":100,\"currency\":\"JPY\"}", write(MonetaryAmount.ofMinorUnits(100, "JPY")));
+        assertEquals("{\"amount\":0,\"currency\":\"JPY\"}", write(MonetaryAmount.ofMinorUnits(0, "JPY")));
+    }
+
+    @Test
+    void writesThreeDecimalCurrencyWithThreeDecimalPlaces() throws Exception {
+        assertEquals("{\"amount\":100.000,\"currency\":\"KWD\"}", write(MonetaryAmount.ofMinorUnits(100_000, "KWD")));
+        assertEquals("{\"amount\":1.234,\"currency\":\"BHD\"}", write(MonetaryAmount.ofMinorUnits(1_234, "BHD")));
+        assertEquals("{\"amount\":0.001,\"currency\":\"KWD\"}", write(MonetaryAmount.ofMinorUnits(1, "KWD")));
+    }
+
+    @Test
+    void keepsScaleThroughTokenBuffers() throws Exception {
+        assertEquals(new BigDecimal("100.00"), bufferedAmount(MonetaryAmount.ofMinorUnits(10_000, "USD")));
+        assertEquals(new BigDecimal("100.000"), bufferedAmount(MonetaryAmount.ofMinorUnits(100_000, "KWD")));
+    }
+
+    @Test
+    void formatsLongBoundaries() {
+        char[] buffer = new char[MonetaryAmountSerializer.MAX_LENGTH];
+
+        int length = MonetaryAmountSerializer.formatDecimal(Long.MIN_VALUE, 2, buffer);
+        assertEquals("-92233720368547758.08", new String(buffer, 0, length));
+        length = MonetaryAmountSerializer.formatDecimal(Long.MAX_VALUE, 0, buffer);
+        assertEquals("9223372036854775807", new String(buffer, 0, length));
+    }
+
+    @Test
+    void readsAmountAtItsOwnScale() throws Exception {
+        MonetaryAmount amount = objectMapper.readValue("{\"amount\":1500.5,\"currency\":\"USD\"}", MonetaryAmount.class);
+
+        assertEquals(15_005, amount.getMinorUnits());
+        assertEquals(1, amount.getScale());
+    }
+
+    private String write(MonetaryAmount amount) throws Exception {
+        return objectMapper.writeValueAsString(amount);
+    }
+
+    private BigDecimal bufferedAmount(MonetaryAmount amount) throws Exception {
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(buffer, amount);
+        try (JsonParser parser = buffer.asParser()) {
+            while (parser.nextToken() != JsonToken.VALUE_NUMBER_FLOAT) {
+                // Skip to the amount
+            }
+            return parser.getDecimalValue();
+        }
+    }
+}
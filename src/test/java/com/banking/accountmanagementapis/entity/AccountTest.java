@@ -0,0 +1,21 @@
+package com.banking.accountmanagementapis.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountTest {
+
+    @Test
+    void balancesUseCurrencyScale() {
+        Account yen = new Account("1000000001", null, "JPY", new BigDecimal("1500"), "c1", "A", "B", null, null, null);
+        Account dinar = new Account("1000000002", null, "KWD", new BigDecimal("1.234"), "c1", "A", "B", null, null, null);
+
+        assertEquals(1_500, yen.getBalance());
+        assertEquals(0, yen.getAmountScale());
+        assertEquals(1_234, dinar.getAvailableBalance());
+        assertEquals(3, dinar.getAmountScale());
+    }
+}
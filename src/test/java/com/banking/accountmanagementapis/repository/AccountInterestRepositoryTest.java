@@ -0,0 +1,105 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.repository.AccountInterestRepository.Accrual;
+import com.banking.accountmanagementapis.repository.AccountInterestRepository.Candidate;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountInterestRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountInterestRepository repository;
+
+    @BeforeEach
+    void migrate() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new AccountInterestRepository(dataSource);
+    }
+
+    @Test
+    void findsActiveAccountsOfTheTypeWithARateInKeysetOrder() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "JPY", 1_500, "2.5");
+        insert("ACC2", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 10_000, "1");
+        insert("ACC3", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 20_000, "1");
+        insert("ACC4", AccountType.SAVINGS, AccountStatus.FROZEN, "USD", 10_000, "1");
+        insert("ACC5", AccountType.CHECKING, AccountStatus.ACTIVE, "USD", 10_000, "1");
+        insert("ACC6", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 10_000, null);
+
+        List<Candidate> first = repository.findCandidates(AccountType.SAVINGS, null, DATE, 2);
+        List<Candidate> rest = repository.findCandidates(AccountType.SAVINGS, "ACC2", DATE, 2);
+
+        assertEquals(List.of(new Candidate("ACC1", "CUST1", "JPY", 1_500, "2.5"),
+            new Candidate("ACC2", "CUST1", "USD", 10_000, "1")), first);
+        assertEquals(List.of(new Candidate("ACC3", "CUST1", "USD", 20_000, "1")), rest);
+        assertEquals(0, first.get(0).balanceScale());
+    }
+
+    @Test
+    void accruesOncePerDateAndWritesTheLedger() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 10_000, "1");
+        Candidate candidate = repository.findCandidates(AccountType.SAVINGS, null, DATE, 10).get(0);
+        List<Accrual> accruals = List.of(new Accrual(candidate, 273_224));
+
+        assertEquals(accruals, repository.accrue(accruals, DATE, LocalDateTime.now()));
+        assertEquals(List.of(), repository.accrue(accruals, DATE, LocalDateTime.now()));
+        assertEquals(List.of(), repository.findCandidates(AccountType.SAVINGS, null, DATE, 10));
+
+        assertEquals(273_224L, jdbcTemplate.queryForObject(
+            "SELECT accrued_interest FROM accounts WHERE account_id = 'ACC1'", Long.class));
+        assertEquals("2024-03-01", jdbcTemplate.queryForObject(
+            "SELECT interest_accrued_on FROM accounts WHERE account_id = 'ACC1'", String.class));
+        assertEquals(List.of("2024-03-01|10000|1|273224"), jdbcTemplate.queryForList(
+            "SELECT business_date || '|' || balance || '|' || annual_rate || '|' || amount FROM interest_accrual",
+            String.class));
+
+        // The next date accrues again
+        assertEquals(1, repository.findCandidates(AccountType.SAVINGS, null, DATE.plusDays(1), 10).size());
+    }
+
+    @Test
+    void findsTheLatestCompletedRun() {
+        assertTrue(repository.findLastCompletedRun().isEmpty());
+
+        repository.completeRun(DATE, 3, LocalDateTime.now());
+        repository.completeRun(DATE.minusDays(1), 3, LocalDateTime.now());
+
+        assertEquals(Optional.of(DATE), repository.findLastCompletedRun());
+    }
+
+    private void insert(String accountId, AccountType accountType, AccountStatus status, String currency, long balance,
+                        String annualRate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO accounts (account_id, account_number, account_type, available_balance, " +
+            "balance, created_at, currency, customer_id, first_name, last_name, status, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'CUST1', 'Di', 'Fox', ?, ?)",
+            accountId, "N" + accountId, accountType.name(), balance, balance, now, currency, status.name(), now);
+        if (annualRate != null) {
+            jdbcTemplate.update("INSERT INTO account_metadata (account_id, metadata_key, metadata_value) " +
+                "VALUES (?, 'interestRate', ?)", accountId, annualRate);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.banking.accountmanagementapis.repository;
+
+import com.banking.accountmanagementapis.dto.AccountField;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountProjectionRepositoryTest {
+
+    private static final Pageable BY_ID = PageRequest.of(0, 10, Sort.by("accountId"));
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountProjectionRepository repository;
+    /** SQL the repository prepared, in order */
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    void migrate() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new AccountProjectionRepository(recording(dataSource));
+
+        insert("accounts", "ACC1", "CUST1", AccountStatus.ACTIVE, Map.of("tier", "gold", "channel", "web"));
+        insert("accounts", "ACC2", "CUST1", AccountStatus.ACTIVE, Map.of("tier", "gold", "channel", "branch"));
+        insert("accounts", "ACC3", "CUST2", AccountStatus.ACTIVE, Map.of("tier", "silver", "channel", "web"));
+        insert("accounts", "ACC4", "CUST2", AccountStatus.FROZEN, Map.of("tier", "gold", "channel", "web"));
+        insert("accounts", "ACC5", "CUST2", AccountStatus.ACTIVE, Map.of());
+        insert("accounts_archive", "ACC6", "CUST1", AccountStatus.CLOSED, Map.of("tier", "gold", "channel", "web"));
+        insert("accounts_archive", "ACC7", "CUST1", AccountStatus.CLOSED, Map.of("tier", "gold"));
+    }
+
+    @Test
+    void metadataFilterUsesKeyValueIndex() {
+        findIds(false, null, null, Map.of("tier", "gold"));
+        repository.countAccounts(false, null, null, null, null, Map.of("tier", "gold"));
+
+        assertEquals(2, statements.size());
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertTrue(plan.contains("COVERING INDEX idx_metadata_key_value (metadata_key=? AND metadata_value=?)"), plan);
+            assertFalse(plan.contains("SCAN account_metadata"), plan);
+        }
+    }
+
+    @Test
+    void metadataFiltersWithOtherFiltersUseKeyValueIndex() {
+        findIds(false, "CUST1", AccountStatus.ACTIVE, metadata("tier", "gold", "channel", "web"));
+
+        String plan = explain(statements.get(0));
+        assertEquals(2, plan.split("COVERING INDEX idx_metadata_key_value", -1).length - 1, plan);
+    }
+
+    @Test
+    void archivedMetadataFilterUsesArchiveKeyValueIndex() {
+        findIds(true, null, null, metadata("tier", "gold", "channel", "web"));
+
+        String plan = explain(statements.get(0));
+        assertTrue(plan.contains("COVERING INDEX idx_archive_metadata_key_value (metadata_key=? AND metadata_value=?)"), plan);
+        assertFalse(plan.contains("SCAN account_metadata_archive"), plan);
+    }
+
+    @Test
+    void everyMetadataFilterMustMatch() {
+        assertEquals(List.of("ACC1", "ACC2", "ACC4"), findIds(false, null, null, Map.of("tier", "gold")));
+        assertEquals(List.of("ACC1", "ACC4"), findIds(false, null, null, metadata("tier", "gold", "channel", "web")));
+        assertEquals(List.of(), findIds(false, null, null, metadata("tier", "silver", "channel", "branch")));
+        assertEquals(2, repository.countAccounts(false, null, null, null, null, metadata("tier", "gold", "channel", "web")));
+    }
+
+    @Test
+    void metadataFiltersCombineWithColumnFilters() {
+        assertEquals(List.of("ACC1"), findIds(false, "CUST1", null, metadata("tier", "gold", "channel", "web")));
+        assertEquals(List.of("ACC4"), findIds(false, null, AccountStatus.FROZEN, metadata("tier", "gold", "channel", "web")));
+        assertEquals(List.of(), findIds(false, "CUST2", AccountStatus.ACTIVE, Map.of("tier", "gold")));
+    }
+
+    @Test
+    void archivedFilterReadsArchivedMetadataOnly() {
+        assertEquals(List.of("ACC6", "ACC7"), findIds(true, null, null, Map.of("tier", "gold")));
+        assertEquals(List.of("ACC6"), findIds(true, "CUST1", AccountStatus.CLOSED, metadata("tier", "gold", "channel", "web")));
+        assertEquals(1, repository.countAccounts(true, null, null, null, null, metadata("tier", "gold", "channel", "web")));
+        // Current accounts with the same metadata are not archived accounts
+        assertEquals(List.of(), findIds(true, "CUST2", null, Map.of("tier", "gold")));
+        assertEquals(List.of("ACC1"), findIds(false, "CUST1", null, metadata("tier", "gold", "channel", "web")));
+    }
+
+    @Test
+    void noMetadataFilterReturnsAccountsWithoutMetadata() {
+        assertEquals(List.of("ACC3", "ACC4", "ACC5"), findIds(false, "CUST2", null, Map.of()));
+    }
+
+    private List<String> findIds(boolean archived, String customerId, AccountStatus status, Map<String, String> metadata) {
+        return repository.findAccounts(archived, customerId, null, status, null, metadata,
+            Set.of(AccountField.ACCOUNT_ID), BY_ID, (rs, rowNum) -> rs.getString("account_id"));
+    }
+
+    private static Map<String, String> metadata(String key1, String value1, String key2, String value2) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(key1, value1);
+        metadata.put(key2, value2);
+        return metadata;
+    }
+
+    /**
+     * The query plan's details, one per line; parameters are left unbound, which SQLite plans
+     * the same as bound ones without sqlite_stat4
+     */
+    private String explain(String sql) {
+        Object[] args = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return String.join("\n",
+            jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, (rs, rowNum) -> rs.getString("detail"), args));
+    }
+
+    private void insert(String table, String accountId, String customerId, AccountStatus status,
+                        Map<String, String> metadata) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean archived = table.equals("accounts_archive");
+        jdbcTemplate.update("INSERT INTO " + table + " (account_id, account_number, account_type, available_balance, " +
+            "balance, created_at, currency, customer_id, first_name, last_name, status, updated_at" +
+            (archived ? ", archived_at" : "") + ") VALUES (?, ?, ?, 0, 0, ?, 'USD', ?, 'Di', 'Fox', ?, ?" +
+            (archived ? ", ?" : "") + ")", archived
+            ? new Object[] {accountId, "N" + accountId, AccountType.SAVINGS.name(), now, customerId, status.name(), now, now}
+            : new Object[] {accountId, "N" + accountId, AccountType.SAVINGS.name(), now, customerId, status.name(), now});
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            jdbcTemplate.update("INSERT INTO " + (archived ? "account_metadata_archive" : "account_metadata") +
+                " (account_id, metadata_key, metadata_value) VALUES (?, ?, ?)", accountId, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * The data source with every statement prepared on it recorded
+     */
+    private DataSource recording(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            statements.add((String) args[0]);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+            }
+        };
+    }
+}
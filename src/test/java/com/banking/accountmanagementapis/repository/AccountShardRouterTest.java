@@ -0,0 +1,78 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountShardRouterTest {
+
+    private static final int CUSTOMERS = 100_000;
+
+    /**
+     * Computed with an independent FNV-1a 64 and jump consistent hash; a change here moves
+     * customers between shard files that already exist
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "CUST001, 0, 0, 2, 2, 6, 6, 83",
+        "CUST002, 0, 1, 1, 1, 6, 8, 892",
+        "CUST003, 0, 1, 1, 1, 5, 9, 505",
+        "CUST900, 0, 0, 0, 0, 4, 4, 970",
+        "customer-42, 0, 1, 1, 1, 1, 1, 478",
+        "c1, 0, 1, 2, 3, 3, 3, 568",
+        "8f14e45f-ceea-467f-a8d9-1e8b0e5c3f3b, 0, 1, 2, 2, 4, 9, 67"
+    })
+    void matchesKnownVectors(String customerId, int of1, int of2, int of3, int of4, int of8, int of16, int of1000) {
+        assertEquals(of1, AccountShardRouter.shardFor(customerId, 1));
+        assertEquals(of2, AccountShardRouter.shardFor(customerId, 2));
+        assertEquals(of3, AccountShardRouter.shardFor(customerId, 3));
+        assertEquals(of4, AccountShardRouter.shardFor(customerId, 4));
+        assertEquals(of8, AccountShardRouter.shardFor(customerId, 8));
+        assertEquals(of16, AccountShardRouter.shardFor(customerId, 16));
+        assertEquals(of1000, AccountShardRouter.shardFor(customerId, 1000));
+    }
+
+    @Test
+    void singleDatabaseWhenShardingIsDisabled() {
+        AccountShardRouter router = new AccountShardRouter();
+
+        assertEquals(1, router.getShardCount());
+        assertEquals(0, router.shardFor("CUST002"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 7, 8, 15})
+    void growingMovesOnlyItsShareToTheNewShard(int shards) {
+        int moved = 0;
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String customerId = String.format("CUST%06d", i);
+            int before = AccountShardRouter.shardFor(customerId, shards);
+            int after = AccountShardRouter.shardFor(customerId, shards + 1);
+            if (before != after) {
+                assertEquals(shards, after, customerId + " moved between existing shards");
+                moved++;
+            }
+        }
+        double expected = (double) CUSTOMERS / (shards + 1);
+        assertTrue(Math.abs(moved - expected) < expected * 0.05,
+            moved + " of " + CUSTOMERS + " customers moved, expected about " + Math.round(expected));
+    }
+
+    @Test
+    void spreadsCustomersEvenly() {
+        int shards = 8;
+        int[] counts = new int[shards];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            counts[AccountShardRouter.shardFor(String.format("CUST%06d", i), shards)]++;
+        }
+        double expected = (double) CUSTOMERS / shards;
+        for (int shard = 0; shard < shards; shard++) {
+            assertTrue(Math.abs(counts[shard] - expected) < expected * 0.05,
+                "shard " + shard + " holds " + counts[shard] + " customers, expected about " + Math.round(expected));
+        }
+    }
+}
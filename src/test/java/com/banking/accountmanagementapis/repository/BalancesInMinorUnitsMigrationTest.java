@@ -0,0 +1,102 @@
+package com.banking.accountmanagementapis.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * V11 turns balances held as numeric(19,2) major units into INTEGER minor units of each row's currency
+ */
+class BalancesInMinorUnitsMigrationTest {
+
+    @TempDir
+    Path directory;
+
+    private SQLiteDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void migrateToMajorUnits() {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).target("10").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void convertsBalancesAtEachCurrencyScale() {
+        insert("accounts", "USD1", "USD", 0.1 + 0.2, 0.3);
+        insert("accounts", "USD2", "USD", 1234.56, 1000.0);
+        insert("accounts", "JPY1", "JPY", 1500.0, 1500.0);
+        insert("accounts", "KWD1", "KWD", 1.234, 0.001);
+        insert("accounts", "XXX1", "XXX", 2.5, 2.5);
+        insert("accounts_archive", "KWD2", "KWD", 2.5, 2.5);
+
+        migrate();
+
+        assertBalances("accounts", Map.of("USD1", 30L, "USD2", 123_456L, "JPY1", 1_500L, "KWD1", 1_234L, "XXX1", 250L),
+            Map.of("USD1", 30L, "USD2", 100_000L, "JPY1", 1_500L, "KWD1", 1L, "XXX1", 250L));
+        assertBalances("accounts_archive", Map.of("KWD2", 2_500L), Map.of("KWD2", 2_500L));
+        assertEquals("integer", jdbcTemplate.queryForObject("SELECT typeof(balance) FROM accounts WHERE account_id = 'USD2'",
+            String.class));
+    }
+
+    @Test
+    void convertsLedgerBalancesAtTheirAccountsScale() {
+        insert("accounts", "JPY1", "JPY", 1500.0, 1500.0);
+        insert("accounts_archive", "KWD1", "KWD", 1.234, 1.234);
+        insertAccrual("JPY1", 1500.0);
+        insertAccrual("KWD1", 1.234);
+        insertAccrual("GONE1", 12.34);
+
+        migrate();
+
+        assertEquals(Map.of("JPY1", 1_500L, "KWD1", 1_234L, "GONE1", 1_234L), Map.copyOf(jdbcTemplate.query(
+            "SELECT account_id, balance FROM interest_accrual", rs -> {
+                Map<String, Long> balances = new HashMap<>();
+                while (rs.next()) {
+                    balances.put(rs.getString(1), rs.getLong(2));
+                }
+                return balances;
+            })));
+    }
+
+    private void migrate() {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+    }
+
+    private void assertBalances(String table, Map<String, Long> balances, Map<String, Long> availableBalances) {
+        balances.forEach((accountId, balance) -> assertEquals(balance, jdbcTemplate.queryForObject(
+            "SELECT balance FROM " + table + " WHERE account_id = ?", Long.class, accountId), accountId));
+        availableBalances.forEach((accountId, balance) -> assertEquals(balance, jdbcTemplate.queryForObject(
+            "SELECT available_balance FROM " + table + " WHERE account_id = ?", Long.class, accountId), accountId));
+    }
+
+    private void insert(String table, String accountId, String currency, double balance, double availableBalance) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean archived = table.equals("accounts_archive");
+        jdbcTemplate.update("INSERT INTO " + table + " (account_id, account_number, account_type, available_balance, " +
+            "balance, created_at, currency, customer_id, first_name, last_name, status, updated_at" +
+            (archived ? ", archived_at" : "") + ") VALUES (?, ?, 'SAVINGS', ?, ?, ?, ?, 'CUST1', 'Di', 'Fox', 'ACTIVE', ?" +
+            (archived ? ", ?" : "") + ")", archived
+            ? new Object[] {accountId, "N" + accountId, availableBalance, balance, now, currency, now, now}
+            : new Object[] {accountId, "N" + accountId, availableBalance, balance, now, currency, now});
+    }
+
+    private void insertAccrual(String accountId, double balance) {
+        jdbcTemplate.update("INSERT INTO interest_accrual (account_id, business_date, customer_id, balance, annual_rate, " +
+            "amount, created_at) VALUES (?, '2024-01-01', 'CUST1', ?, '0.05', 0, ?)", accountId, balance,
+            Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,122 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.CreateAccountRequest;
+import com.banking.accountmanagementapis.dto.CustomerDetails;
+import com.banking.accountmanagementapis.dto.UpdateAccountRequest;
+import com.banking.accountmanagementapis.entity.Account;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountActivityTrackerTest {
+
+    private static final String METADATA_ROLE = Account.class.getName() + ".metadata";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountActivityTracker activityTracker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String customerId;
+    private String accountId;
+
+    @BeforeEach
+    void createAccount() {
+        customerId = "CUST-" + UUID.randomUUID();
+        AccountResponse account = accountService.createAccount(new CreateAccountRequest(AccountType.SAVINGS, "USD",
+            new BigDecimal("100.00"), new CustomerDetails("Ann", "Lee", "ann@example.com", null, null), null,
+            Map.of("tier", "gold")), customerId);
+        accountId = account.getAccountId();
+    }
+
+    @Test
+    void flushKeepsVersionMetadataAndCachedQueries() {
+        // Caches the account, its metadata and the query, and counts as activity
+        accountService.getAccountById(accountId, customerId);
+        accountService.getAccountsForCustomer(customerId, PageRequest.of(0, 10));
+        long version = version();
+        Timestamp lastActivity = lastActivity();
+
+        activityTracker.flush();
+
+        assertTrue(lastActivity().after(lastActivity));
+        assertEquals(version, version());
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertFalse(cache.containsEntity(Account.class, accountId));
+        assertTrue(cache.containsCollection(METADATA_ROLE, accountId));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long queryCacheHits = statistics.getQueryCacheHitCount();
+        accountService.getAccountsForCustomer(customerId, PageRequest.of(0, 10));
+        assertTrue(statistics.getQueryCacheHitCount() > queryCacheHits);
+    }
+
+    @Test
+    void updateCountsAsActivity() {
+        activityTracker.flush();
+        Timestamp lastActivity = lastActivity();
+        long version = version();
+
+        accountService.patchAccount(accountId, new UpdateAccountRequest("Holiday fund", null), customerId);
+        activityTracker.flush();
+
+        assertTrue(lastActivity().after(lastActivity));
+        assertEquals(version + 1, version());
+    }
+
+    @Test
+    void closeCountsAsActivity() {
+        String emptyAccountId = accountService.createAccount(new CreateAccountRequest(AccountType.CHECKING, "USD",
+            BigDecimal.ZERO, new CustomerDetails("Ann", "Lee", "ann@example.com", null, null), null, null),
+            customerId).getAccountId();
+        activityTracker.flush();
+        Timestamp lastActivity = lastActivity(emptyAccountId);
+
+        accountService.closeAccount(emptyAccountId, customerId, "Not needed");
+        activityTracker.flush();
+
+        assertTrue(lastActivity(emptyAccountId).after(lastActivity));
+    }
+
+    private long version() {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "SELECT version FROM accounts WHERE account_id = ?", Long.class, accountId);
+    }
+
+    private Timestamp lastActivity() {
+        return lastActivity(accountId);
+    }
+
+    private Timestamp lastActivity(String accountId) {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "SELECT last_activity_at FROM accounts WHERE account_id = ?", Timestamp.class, accountId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountResponse;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.CreateAccountRequest;
+import com.banking.accountmanagementapis.dto.CustomerDetails;
+import com.banking.accountmanagementapis.entity.Account;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountCacheServiceTest {
+
+    private static final String METADATA_ROLE = Account.class.getName() + ".metadata";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountCacheService cacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+    private Statistics statistics;
+    private String customerId;
+    private String accountId;
+
+    @BeforeEach
+    void cacheAccountAndQuery() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+        customerId = "CUST-" + UUID.randomUUID();
+        AccountResponse account = accountService.createAccount(new CreateAccountRequest(AccountType.CHECKING, "EUR",
+            new BigDecimal("50.00"), new CustomerDetails("Bo", "Ng", "bo@example.com", null, null), null,
+            Map.of("channel", "web")), customerId);
+        accountId = account.getAccountId();
+        accountService.getAccountById(accountId, customerId);
+        accountService.getAccountsForCustomer(customerId, PageRequest.of(0, 10));
+        assertTrue(cache.containsEntity(Account.class, accountId));
+        assertTrue(cache.containsCollection(METADATA_ROLE, accountId));
+    }
+
+    @Test
+    void evictingAccountsKeepsCachedQueries() {
+        cacheService.evictNow(List.of(accountId));
+
+        assertFalse(cache.containsEntity(Account.class, accountId));
+        assertFalse(cache.containsCollection(METADATA_ROLE, accountId));
+        assertEquals(1, queryCacheHitsOfListing());
+    }
+
+    @Test
+    void evictingWithNullEvictsCachedQueries() {
+        cacheService.evictNow(Arrays.asList(accountId, null));
+
+        assertFalse(cache.containsEntity(Account.class, accountId));
+        assertEquals(0, queryCacheHitsOfListing());
+    }
+
+    @Test
+    void evictingAccountsAndQueriesEvictsBoth() {
+        cacheService.evictAccountsAndQueries(List.of(accountId));
+
+        assertFalse(cache.containsEntity(Account.class, accountId));
+        assertFalse(cache.containsCollection(METADATA_ROLE, accountId));
+        assertEquals(0, queryCacheHitsOfListing());
+    }
+
+    @Test
+    void evictingAnotherAccountKeepsThisOne() {
+        cacheService.evictNow(List.of("ACC-" + UUID.randomUUID()));
+
+        assertTrue(cache.containsEntity(Account.class, accountId));
+        assertTrue(cache.containsCollection(METADATA_ROLE, accountId));
+        assertEquals(1, queryCacheHitsOfListing());
+    }
+
+    /**
+     * Query cache hits of listing the customer's accounts again
+     */
+    private long queryCacheHitsOfListing() {
+        long hits = statistics.getQueryCacheHitCount();
+        accountService.getAccountsForCustomer(customerId, PageRequest.of(0, 10));
+        return statistics.getQueryCacheHitCount() - hits;
+    }
+}
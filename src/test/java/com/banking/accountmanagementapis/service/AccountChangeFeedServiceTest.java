@@ -0,0 +1,197 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.repository.AccountChangeLogRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountChangeFeedServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+    private static final int BATCH_SIZE = 3;
+    private static final int SUBSCRIBER_BUFFER = 5;
+
+    @TempDir
+    Path directory;
+
+    private AccountChangeLogRepository changeLogRepository;
+    private AccountChangeFeedService feed;
+    /** Emitters handed out to the next subscriptions, in order */
+    private final Queue<SseEmitter> emitters = new ArrayDeque<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @BeforeEach
+    void createFeed() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        changeLogRepository = new AccountChangeLogRepository(dataSource);
+
+        // Driven by calling dispatch() directly rather than through the dispatcher thread
+        feed = new AccountChangeFeedService() {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return emitters.remove();
+            }
+        };
+        ReflectionTestUtils.setField(feed, "changeLogRepository", changeLogRepository);
+        ReflectionTestUtils.setField(feed, "shardRouter", new AccountShardRouter());
+        ReflectionTestUtils.setField(feed, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(feed, "emitterTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(feed, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(feed, "subscriberBuffer", SUBSCRIBER_BUFFER);
+        ReflectionTestUtils.setField(feed, "lastDispatched", new long[] {0});
+    }
+
+    @AfterEach
+    void releaseStuckClients() {
+        unblock.countDown();
+    }
+
+    @Test
+    void stuckSubscriberDoesNotHoldUpOthers() throws InterruptedException {
+        StuckEmitter stuck = subscribe(new StuckEmitter());
+        RecordingEmitter fast = subscribe(new RecordingEmitter());
+        append(3);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> feed.dispatch());
+
+        assertEquals(List.of("1", "2", "3"), fast.take(3));
+        assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+        assertEquals(2, feed.getSubscriberCount());
+    }
+
+    @Test
+    void overflowingSubscriberIsDroppedWithoutHoldingUpOthers() throws InterruptedException {
+        StuckEmitter stuck = subscribe(new StuckEmitter());
+        RecordingEmitter fast = subscribe(new RecordingEmitter());
+        append(9);
+
+        // One event being written and a full buffer behind it leave no room for the seventh
+        List<String> received = new ArrayList<>();
+        for (int pass = 0; pass < 3; pass++) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> feed.dispatch());
+            received.addAll(fast.take(BATCH_SIZE));
+        }
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9"), received);
+        assertEquals(1, feed.getSubscriberCount());
+        unblock.countDown();
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void droppedSubscriberResumesFromItsLastEventId() throws InterruptedException {
+        append(9);
+        feed.dispatch();
+        RecordingEmitter resumed = subscribe(new RecordingEmitter(), "2");
+
+        // Replayed no faster than the buffer empties
+        List<String> received = new ArrayList<>();
+        while (received.size() < 7) {
+            feed.dispatch();
+            received.addAll(resumed.take(Math.min(BATCH_SIZE, 7 - received.size())));
+        }
+
+        assertEquals(List.of("3", "4", "5", "6", "7", "8", "9"), received);
+    }
+
+    private <T extends SseEmitter> T subscribe(T emitter) {
+        return subscribe(emitter, null);
+    }
+
+    private <T extends SseEmitter> T subscribe(T emitter, String lastEventId) {
+        emitters.add(emitter);
+        assertNotNull(feed.subscribe(null, lastEventId));
+        return emitter;
+    }
+
+    private void append(int events) {
+        for (int i = 0; i < events; i++) {
+            changeLogRepository.append(AccountChangeType.UPDATED, "ACC" + i, "CUST" + i, AccountStatus.ACTIVE,
+                LocalDateTime.now());
+        }
+    }
+
+    /**
+     * A client that stops reading: its first write never returns until the test ends
+     */
+    private final class StuckEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * A client that reads everything, recording the event IDs
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<String> eventIds = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                event.append(data.getData());
+            }
+            Matcher id = EVENT_ID.matcher(event);
+            if (id.find()) {
+                eventIds.add(id.group(1));
+            }
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String eventId = eventIds.poll(5, TimeUnit.SECONDS);
+                assertNotNull(eventId, "event " + (taken.size() + 1) + " of " + count + " not sent");
+                taken.add(eventId);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.dto.CreateAccountRequest;
+import com.banking.accountmanagementapis.dto.CustomerDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scheduled sweeps are disabled in the test profile; these call sweep() directly
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountDormancyServiceTest {
+
+    @Autowired
+    private AccountDormancyService dormancyService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountActivityTracker activityTracker;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private String customerId;
+
+    @BeforeEach
+    void createCustomer() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        customerId = "CUST-" + UUID.randomUUID();
+    }
+
+    @Test
+    void sweepMarksLongInactiveAccountsWhenSchedulingIsDisabled() {
+        String dormant = createAccountLastActive(LocalDateTime.now().minusYears(1));
+        String recent = createAccountLastActive(LocalDateTime.now().minusDays(1));
+
+        assertTrue(dormancyService.sweep() >= 1);
+
+        assertEquals("INACTIVE", status(dormant));
+        assertEquals("ACTIVE", status(recent));
+    }
+
+    @Test
+    void sweepCountsActivityNotYetWritten() {
+        String touched = createAccountLastActive(LocalDateTime.now().minusYears(1));
+        // The test profile writes touches behind by an hour
+        activityTracker.touch(touched, customerId);
+
+        dormancyService.sweep();
+
+        assertEquals("ACTIVE", status(touched));
+        assertTrue(jdbcTemplate.queryForObject("SELECT last_activity_at FROM accounts WHERE account_id = ?",
+            Timestamp.class, touched).toLocalDateTime().isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    private String createAccountLastActive(LocalDateTime lastActivityAt) {
+        String accountId = accountService.createAccount(new CreateAccountRequest(AccountType.SAVINGS, "USD",
+            new BigDecimal("75.00"), new CustomerDetails("Eve", "Kim", "eve@example.com", null, null), null, null),
+            customerId).getAccountId();
+        jdbcTemplate.update("UPDATE accounts SET last_activity_at = ? WHERE account_id = ?",
+            Timestamp.valueOf(lastActivityAt), accountId);
+        return accountId;
+    }
+
+    private String status(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM accounts WHERE account_id = ?", String.class, accountId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.accountmanagementapis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountImportServiceTest {
+
+    private static final String HEADER = "accountNumber,accountType,currency,balance,customerId,firstName,lastName";
+
+    @Autowired
+    private AccountImportService importService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    private Object chunkSize;
+    private Object parallelism;
+    private Object readBufferBytes;
+    private String customerId;
+
+    @BeforeEach
+    void useSmallChunks() {
+        // One line per chunk and a queue of two, so that the reader runs ahead and fills the queue;
+        // reading a character at a time, so that a decoding failure loses none of the lines before it
+        chunkSize = ReflectionTestUtils.getField(importService, "chunkSize");
+        parallelism = ReflectionTestUtils.getField(importService, "parallelism");
+        readBufferBytes = ReflectionTestUtils.getField(importService, "readBufferBytes");
+        ReflectionTestUtils.setField(importService, "chunkSize", 1);
+        ReflectionTestUtils.setField(importService, "parallelism", 1);
+        ReflectionTestUtils.setField(importService, "readBufferBytes", 1);
+        customerId = "CUST-" + UUID.randomUUID().toString().substring(0, 18);
+    }
+
+    @AfterEach
+    void restoreChunks() {
+        ReflectionTestUtils.setField(importService, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(importService, "parallelism", parallelism);
+        ReflectionTestUtils.setField(importService, "readBufferBytes", readBufferBytes);
+    }
+
+    @Test
+    void readFailureMidFileFailsImportAfterEarlierChunks() throws IOException {
+        Path file = directory.resolve("accounts.csv");
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.writeBytes(lines(0, 100));
+        // Not UTF-8
+        content.writeBytes(new byte[] {(byte) 0xC3, (byte) 0x28, '\n'});
+        content.writeBytes(lines(100, 200));
+        Files.write(file, content.toByteArray());
+
+        IOException failure = assertTimeoutPreemptively(Duration.ofSeconds(60),
+            () -> assertThrows(IOException.class, () -> importService.importFile(file)));
+
+        assertInstanceOf(MalformedInputException.class, failure.getCause());
+        // The lines before the bad one were committed and checkpointed, so a fixed file resumes after them;
+        // the decoder reads a character ahead, which can take the last line's end with it
+        long checkpoint = Long.parseLong(Files.readString(file.resolveSibling("accounts.csv.checkpoint")).trim());
+        assertTrue(checkpoint == 99 || checkpoint == 100, "checkpoint " + checkpoint);
+        assertEquals(checkpoint, new JdbcTemplate(dataSource).queryForObject(
+            "SELECT count(*) FROM accounts WHERE customer_id = ?", Long.class, customerId));
+    }
+
+    @Test
+    void missingHeaderFailsImport() throws IOException {
+        Path file = directory.resolve("empty.csv");
+        Files.writeString(file, "");
+
+        IOException failure = assertTimeoutPreemptively(Duration.ofSeconds(60),
+            () -> assertThrows(IOException.class, () -> importService.importFile(file)));
+
+        assertEquals("CSV file is empty; a header row is required", failure.getCause().getMessage());
+    }
+
+    @Test
+    void accountNumberOfAnArchivedAccountIsSkipped() throws IOException {
+        String archived = customerId.substring(5, 17) + "0";
+        new JdbcTemplate(dataSource).update("INSERT INTO accounts_archive (account_id, account_number, account_type, " +
+            "available_balance, balance, created_at, currency, customer_id, first_name, last_name, status, updated_at, " +
+            "archived_at) VALUES (?, ?, 'SAVINGS', 0, 0, CURRENT_TIMESTAMP, 'USD', ?, 'Ed', 'Park', 'CLOSED', " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", UUID.randomUUID().toString(), archived, customerId);
+        Path file = directory.resolve("accounts.csv");
+        Files.write(file, lines(0, 2));
+
+        AccountImportService.ImportResult result = importService.importFile(file);
+
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.duplicates());
+        assertEquals(0, new JdbcTemplate(dataSource).queryForObject(
+            "SELECT count(*) FROM accounts WHERE account_number = ?", Long.class, archived));
+    }
+
+    private byte[] lines(int from, int to) {
+        StringBuilder lines = new StringBuilder(from == 0 ? HEADER + "\n" : "");
+        for (int i = from; i < to; i++) {
+            lines.append(customerId.substring(5, 17)).append(i).append(",SAVINGS,USD,10.00,")
+                .append(customerId).append(",Ed,Park\n");
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
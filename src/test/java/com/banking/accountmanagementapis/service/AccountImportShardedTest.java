@@ -0,0 +1,101 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports into two shards: an account number is unique across them, not only within each
+ */
+@SpringBootTest(properties = {
+    "banking.sharding.enabled=true",
+    "banking.sharding.shards=2",
+    "banking.sharding.url=jdbc:sqlite:target/test-accounts.shard{shard}.db"
+})
+@ActiveProfiles("test")
+class AccountImportShardedTest {
+
+    private static final String HEADER = "accountNumber,accountType,currency,balance,customerId,firstName,lastName";
+
+    @Autowired
+    private AccountImportService importService;
+
+    @Autowired
+    private AccountShardRouter shardRouter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    private String customerId;
+    private String otherShardCustomerId;
+    private String prefix;
+
+    @BeforeEach
+    void pickCustomersOnBothShards() {
+        customerId = "CUST-" + UUID.randomUUID().toString().substring(0, 18);
+        do {
+            otherShardCustomerId = "CUST-" + UUID.randomUUID().toString().substring(0, 18);
+        } while (shardRouter.shardFor(otherShardCustomerId) == shardRouter.shardFor(customerId));
+        prefix = customerId.substring(5, 17);
+    }
+
+    @Test
+    void accountNumberRepeatedForCustomersOnDifferentShardsIsImportedOnce() throws IOException {
+        AccountImportService.ImportResult result = importFile("first.csv",
+            line(prefix + "1", customerId), line(prefix + "1", otherShardCustomerId), line(prefix + "2", otherShardCustomerId));
+
+        assertEquals(2, result.inserted());
+        assertEquals(1, result.duplicates());
+        assertEquals(List.of(customerId), holders(prefix + "1"));
+    }
+
+    @Test
+    void accountNumberHeldOnAnotherShardIsSkipped() throws IOException {
+        importFile("first.csv", line(prefix + "1", customerId));
+
+        AccountImportService.ImportResult result = importFile("second.csv",
+            line(prefix + "1", otherShardCustomerId), line(prefix + "2", otherShardCustomerId));
+
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.duplicates());
+        assertEquals(List.of(customerId), holders(prefix + "1"));
+        assertEquals(List.of(otherShardCustomerId), holders(prefix + "2"));
+    }
+
+    private AccountImportService.ImportResult importFile(String name, String... lines) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, HEADER + "\n" + String.join("\n", lines) + "\n");
+        return importService.importFile(file);
+    }
+
+    private static String line(String accountNumber, String customerId) {
+        return accountNumber + ",SAVINGS,USD,10.00," + customerId + ",Ed,Park";
+    }
+
+    /**
+     * The customers holding the account number, across all shards
+     */
+    private List<String> holders(String accountNumber) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return shardRouter.onEveryShard(shard -> jdbcTemplate.queryForList(
+                "SELECT customer_id FROM accounts WHERE account_number = ?", String.class, accountNumber))
+            .stream().flatMap(List::stream).toList();
+    }
+}
@@ -0,0 +1,173 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.repository.AccountInterestRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AccountInterestServiceTest {
+
+    /** 365 days */
+    private static final LocalDate DATE = LocalDate.of(2023, 6, 1);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountInterestRepository interestRepository;
+    private final AccountInterestService interestService = new AccountInterestService();
+
+    @BeforeEach
+    void createService() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        interestRepository = new AccountInterestRepository(dataSource);
+
+        ReflectionTestUtils.setField(interestService, "interestRepository", interestRepository);
+        ReflectionTestUtils.setField(interestService, "shardRouter", new AccountShardRouter());
+        ReflectionTestUtils.setField(interestService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(interestService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interestService, "accountTypes", List.of(AccountType.SAVINGS, AccountType.MONEY_MARKET));
+        // Small chunks so that a run spans several
+        ReflectionTestUtils.setField(interestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(interestService, "parallelism", 2);
+        interestService.start();
+    }
+
+    @AfterEach
+    void stopService() throws InterruptedException {
+        interestService.stop();
+    }
+
+    @Test
+    void accruesADaysInterestOnEachBalance() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.65");
+        insert("ACC2", AccountType.MONEY_MARKET, AccountStatus.ACTIVE, "JPY", 1_000_000, "3.65");
+        insert("ACC3", AccountType.SAVINGS, AccountStatus.ACTIVE, "KWD", 1_234, " 5 ");
+        insert("ACC4", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 0, "5");
+        insert("ACC5", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "n/a");
+        insert("ACC6", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "-1");
+        insert("ACC7", AccountType.CHECKING, AccountStatus.ACTIVE, "USD", 100_000, "5");
+        insert("ACC8", AccountType.SAVINGS, AccountStatus.FROZEN, "USD", 100_000, "5");
+
+        assertEquals(4, interestService.accrue(DATE));
+
+        // 1000.00 * 3.65% / 365 = 0.10
+        assertEquals(10_000_000L, accruedInterest("ACC1"));
+        // 1000000 * 3.65% / 365 = 100
+        assertEquals(10_000_000_000L, accruedInterest("ACC2"));
+        // 1.234 * 5% / 365 = 0.000169041..., to 10^-8
+        assertEquals(16_904L, accruedInterest("ACC3"));
+        assertEquals(0L, accruedInterest("ACC4"));
+        for (String unaccrued : List.of("ACC5", "ACC6", "ACC7", "ACC8")) {
+            assertEquals(0L, accruedInterest(unaccrued));
+            assertNull(accruedOn(unaccrued), unaccrued);
+        }
+        assertEquals(List.of("ACC1|100000|3.65|10000000", "ACC2|1000000|3.65|10000000000", "ACC3|1234| 5 |16904",
+            "ACC4|0|5|0"), ledger());
+        assertEquals(Optional.of(DATE), interestRepository.findLastCompletedRun());
+    }
+
+    @Test
+    void dividesByTheDaysInALeapYear() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.66");
+
+        interestService.accrue(LocalDate.of(2024, 6, 1));
+
+        assertEquals(10_000_000L, accruedInterest("ACC1"));
+    }
+
+    @Test
+    void accruesADateOnlyOnce() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.65");
+        insert("ACC2", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 200_000, "3.65");
+        insert("ACC3", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 300_000, "3.65");
+
+        assertEquals(3, interestService.accrue(DATE));
+        assertEquals(0, interestService.accrue(DATE));
+
+        assertEquals(10_000_000L, accruedInterest("ACC1"));
+        assertEquals(30_000_000L, accruedInterest("ACC3"));
+        assertEquals(3, ledger().size());
+
+        // Accounts the run did not reach are accrued by the next run for the date
+        insert("ACC4", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.65");
+        assertEquals(1, interestService.accrue(DATE));
+        assertEquals(10_000_000L, accruedInterest("ACC4"));
+    }
+
+    @Test
+    void catchesUpOnMissedDates() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.65");
+        insert("ACC2", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 200_000, "3.65");
+        interestRepository.completeRun(yesterday.minusDays(3), 2, LocalDateTime.now());
+
+        assertEquals(6, interestService.accrueDue());
+
+        assertEquals(List.of(yesterday.minusDays(2).toString(), yesterday.minusDays(1).toString(), yesterday.toString()),
+            jdbcTemplate.queryForList("SELECT business_date FROM interest_accrual WHERE account_id = 'ACC1' " +
+                "ORDER BY business_date", String.class));
+        assertEquals(yesterday.toString(), accruedOn("ACC2"));
+        assertEquals(Optional.of(yesterday), interestRepository.findLastCompletedRun());
+        assertEquals(0, interestService.accrueDue());
+    }
+
+    @Test
+    void firstRunAccruesOnlyYesterday() {
+        insert("ACC1", AccountType.SAVINGS, AccountStatus.ACTIVE, "USD", 100_000, "3.65");
+
+        assertEquals(1, interestService.accrueDue());
+
+        assertEquals(LocalDate.now().minusDays(1).toString(), accruedOn("ACC1"));
+        assertEquals(1, ledger().size());
+    }
+
+    private long accruedInterest(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT accrued_interest FROM accounts WHERE account_id = ?", Long.class,
+            accountId);
+    }
+
+    private String accruedOn(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT interest_accrued_on FROM accounts WHERE account_id = ?", String.class,
+            accountId);
+    }
+
+    private List<String> ledger() {
+        return jdbcTemplate.queryForList("SELECT account_id || '|' || balance || '|' || annual_rate || '|' || amount " +
+            "FROM interest_accrual ORDER BY account_id, business_date", String.class);
+    }
+
+    private void insert(String accountId, AccountType accountType, AccountStatus status, String currency, long balance,
+                        String annualRate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO accounts (account_id, account_number, account_type, available_balance, " +
+            "balance, created_at, currency, customer_id, first_name, last_name, status, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'CUST1', 'Di', 'Fox', ?, ?)",
+            accountId, "N" + accountId, accountType.name(), balance, balance, now, currency, status.name(), now);
+        jdbcTemplate.update("INSERT INTO account_metadata (account_id, metadata_key, metadata_value) " +
+            "VALUES (?, 'interestRate', ?)", accountId, annualRate);
+    }
+}
@@ -0,0 +1,231 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountLeaderboardEntry;
+import com.banking.accountmanagementapis.dto.AccountStatus;
+import com.banking.accountmanagementapis.dto.AccountType;
+import com.banking.accountmanagementapis.repository.AccountLeaderboardRepository;
+import com.banking.accountmanagementapis.repository.AccountLeaderboardRepository.RankedAccount;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import com.banking.accountmanagementapis.service.AccountLeaderboardService.Board;
+import com.banking.accountmanagementapis.service.AccountLeaderboardService.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.sqlite.SQLiteDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountLeaderboardServiceTest {
+
+    private static final int SIZE = 2;
+    private static final int CAPACITY = 2 * SIZE;
+
+    private final InMemoryAccounts accounts = new InMemoryAccounts();
+    private final AccountLeaderboardService leaderboards = new AccountLeaderboardService();
+
+    AccountLeaderboardServiceTest() {
+        ReflectionTestUtils.setField(leaderboards, "leaderboardRepository", accounts);
+        ReflectionTestUtils.setField(leaderboards, "shardRouter", new AccountShardRouter());
+        ReflectionTestUtils.setField(leaderboards, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(leaderboards, "size", SIZE);
+        ReflectionTestUtils.setField(leaderboards, "rebuildInterval", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (ReflectionTestUtils.getField(leaderboards, "maintainer") != null) {
+            leaderboards.stop();
+        }
+    }
+
+    @Test
+    void putKeepsTheHighestBalancesUpToCapacity() {
+        Board board = new Board();
+        for (int balance = 100; balance <= 600; balance += 100) {
+            board.put(entry("ACC" + balance, balance), CAPACITY);
+        }
+
+        assertEquals(List.of("ACC600", "ACC500", "ACC400", "ACC300"), ids(board));
+        assertFalse(board.complete);
+    }
+
+    @Test
+    void putOrdersEqualBalancesByAccountIdAndMovesAnAccount() {
+        Board board = new Board();
+        board.put(entry("ACC2", 100), CAPACITY);
+        board.put(entry("ACC1", 100), CAPACITY);
+        board.put(entry("ACC3", 50), CAPACITY);
+
+        board.put(entry("ACC3", 200), CAPACITY);
+
+        assertEquals(List.of("ACC3", "ACC1", "ACC2"), ids(board));
+        assertTrue(board.complete);
+    }
+
+    @Test
+    void putBelowTheLastEntryOfAnIncompleteBoardDropsTheAccount() {
+        Board board = new Board();
+        for (int balance = 100; balance <= 500; balance += 100) {
+            board.put(entry("ACC" + balance, balance), CAPACITY);
+        }
+
+        // Accounts between 200 and 100 are not held, so ACC400 now at 100 has no known place
+        board.put(entry("ACC400", 100), CAPACITY);
+        board.put(entry("ACC600", 50), CAPACITY);
+
+        assertEquals(List.of("ACC500", "ACC300", "ACC200"), ids(board));
+        assertFalse(board.complete);
+    }
+
+    @Test
+    void mergeOfCompleteShardsKeepsEveryAccount() {
+        Board board = board("A", 500, 300);
+        Board merged = leaderboards.merge(board, board("B", 400, 100));
+
+        assertEquals(List.of("A500", "B400", "A300", "B100"), ids(merged));
+        assertTrue(merged.complete);
+    }
+
+    @Test
+    void mergeOfAnIncompleteShardDropsAccountsBelowItsLastEntry() {
+        // Shard B held its top four, then B500 closed; it has accounts below B600 that are not held
+        Board incomplete = board("B", 800, 700, 600, 500, 400);
+        incomplete.remove("B500");
+        assertFalse(incomplete.complete);
+        Board merged = leaderboards.merge(board("A", 650), incomplete);
+        assertEquals(List.of("B800", "B700", "A650", "B600"), ids(merged));
+
+        // Four accounts fit, but A550 may rank below accounts of B that are not held
+        incomplete = board("B", 800, 700, 600, 500, 400);
+        incomplete.remove("B500");
+        merged = leaderboards.merge(board("A", 550), incomplete);
+        assertEquals(List.of("B800", "B700", "B600"), ids(merged));
+        assertFalse(merged.complete);
+    }
+
+    @Test
+    void mergeIntoAnIncompleteShardKeepsItsLastEntry() {
+        Board incomplete = board("A", 900, 800, 700, 600, 100);
+        Board merged = leaderboards.merge(incomplete, board("B", 650, 50));
+
+        // B650 displaces A600; B50 may rank below accounts of A that are not held
+        assertEquals(List.of("A900", "A800", "A700", "B650"), ids(merged));
+        assertFalse(merged.complete);
+    }
+
+    @Test
+    void closedAccountsDropOffAndTheLeaderboardIsRefilled() throws InterruptedException {
+        for (int balance = 100; balance <= 600; balance += 100) {
+            accounts.open("ACC" + balance, balance);
+        }
+        leaderboards.start();
+        assertEquals(List.of("ACC600", "ACC500"), awaitTop(top -> top.size() == SIZE));
+
+        // Three of the four held accounts close, leaving one: less than served while more are not held
+        accounts.close("ACC600", "ACC500", "ACC400");
+        leaderboards.changed(List.of("ACC600", "ACC500", "ACC400"));
+
+        assertEquals(List.of("ACC300", "ACC200"), awaitTop(top -> top.size() == SIZE));
+    }
+
+    private List<String> awaitTop(Predicate<List<String>> ready) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<String> top = List.of();
+        while (System.nanoTime() < deadline) {
+            top = leaderboards.getLeaderboard("BR001", AccountType.SAVINGS, "USD", SIZE)
+                .map(response -> response.getAccounts().stream().map(AccountLeaderboardEntry::getAccountId).toList())
+                .orElse(List.of());
+            for (String accountId : top) {
+                assertFalse(accounts.isClosed(accountId), accountId + " is closed but still ranked");
+            }
+            if (ready.test(top)) {
+                return top;
+            }
+            Thread.sleep(20);
+        }
+        return top;
+    }
+
+    private Board board(String prefix, long... balances) {
+        Board board = new Board();
+        for (long balance : balances) {
+            board.put(entry(prefix + balance, balance), CAPACITY);
+        }
+        return board;
+    }
+
+    private static Entry entry(String accountId, long balance) {
+        return new Entry(accountId, "CUST1", balance, AccountStatus.ACTIVE);
+    }
+
+    private static List<String> ids(Board board) {
+        return board.ranked.stream().map(Entry::accountId).toList();
+    }
+
+    /**
+     * Accounts of one branch, type and currency, read as the repository would
+     */
+    private static final class InMemoryAccounts extends AccountLeaderboardRepository {
+
+        private final Map<String, RankedAccount> byId = new ConcurrentHashMap<>();
+
+        InMemoryAccounts() {
+            super(new SQLiteDataSource());
+        }
+
+        void open(String accountId, long balance) {
+            byId.put(accountId, new RankedAccount(accountId, "CUST1", "BR001", AccountType.SAVINGS, "USD", balance,
+                AccountStatus.ACTIVE));
+        }
+
+        void close(String... accountIds) {
+            for (String accountId : accountIds) {
+                RankedAccount account = byId.get(accountId);
+                byId.put(accountId, new RankedAccount(accountId, account.customerId(), account.branchId(),
+                    account.accountType(), account.currency(), account.balance(), AccountStatus.CLOSED));
+            }
+        }
+
+        boolean isClosed(String accountId) {
+            return byId.get(accountId).status() == AccountStatus.CLOSED;
+        }
+
+        @Override
+        public void forEachRanked(Consumer<RankedAccount> handler) {
+            byId.values().stream().filter(account -> account.status() != AccountStatus.CLOSED).forEach(handler);
+        }
+
+        @Override
+        public List<RankedAccount> findTop(boolean byBranch, String branchId, boolean byAccountType,
+                                           AccountType accountType, String currency, int limit) {
+            return byId.values().stream()
+                .filter(account -> account.status() != AccountStatus.CLOSED)
+                .sorted(Comparator.comparingLong(RankedAccount::balance).reversed()
+                    .thenComparing(RankedAccount::accountId))
+                .limit(limit)
+                .toList();
+        }
+
+        @Override
+        public List<RankedAccount> findAccounts(Collection<String> accountIds) {
+            List<RankedAccount> found = new ArrayList<>();
+            for (String accountId : accountIds) {
+                found.add(byId.get(accountId));
+            }
+            return found;
+        }
+    }
+}
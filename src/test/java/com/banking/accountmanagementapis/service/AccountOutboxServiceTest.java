@@ -0,0 +1,125 @@
+package com.banking.accountmanagementapis.service;
+
+import com.banking.accountmanagementapis.dto.AccountChangeType;
+import com.banking.accountmanagementapis.dto.AccountOutboxEvent;
+import com.banking.accountmanagementapis.repository.AccountOutboxRepository;
+import com.banking.accountmanagementapis.repository.AccountShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountOutboxServiceTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(150);
+
+    @TempDir
+    Path directory;
+
+    private AccountOutboxRepository outboxRepository;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FlakySink sink = new FlakySink(2);
+    private final AccountOutboxService outboxService = new AccountOutboxService();
+
+    @BeforeEach
+    void createService() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("accounts.db"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        outboxRepository = new AccountOutboxRepository(dataSource);
+
+        ReflectionTestUtils.setField(outboxService, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(outboxService, "eventSink", sink);
+        ReflectionTestUtils.setField(outboxService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(outboxService, "shardRouter", new AccountShardRouter());
+        ReflectionTestUtils.setField(outboxService, "relayEnabled", true);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxService, "pollInterval", POLL_INTERVAL);
+        ReflectionTestUtils.setField(outboxService, "maxBackoff", MAX_BACKOFF);
+    }
+
+    @AfterEach
+    void stopRelay() throws InterruptedException {
+        outboxService.stop();
+    }
+
+    @Test
+    void failedBatchIsKeptAndRetriedWithBackoffUntilTheSinkAcceptsIt() throws InterruptedException {
+        for (int i = 1; i <= 3; i++) {
+            outboxRepository.append(AccountChangeType.CREATED, "ACC" + i, "CUST1", "{}", LocalDateTime.now());
+        }
+
+        outboxService.start();
+
+        assertTrue(sink.accepted.await(10, TimeUnit.SECONDS), "sink never accepted the batch");
+        assertEquals(3, sink.calls.size());
+        for (Call call : sink.calls) {
+            // The whole batch every time, still in the outbox while the sink has it
+            assertEquals(List.of("ACC1", "ACC2", "ACC3"), call.accountIds());
+            assertEquals(3, call.pending());
+        }
+        assertEquals(sink.calls.get(0).eventIds(), sink.calls.get(2).eventIds());
+        awaitEmptyOutbox();
+
+        // Retried after the poll interval, then after the (capped) doubled backoff
+        long firstRetry = sink.calls.get(1).at() - sink.calls.get(0).at();
+        long secondRetry = sink.calls.get(2).at() - sink.calls.get(1).at();
+        assertTrue(firstRetry >= POLL_INTERVAL.toNanos(), "first retry after " + firstRetry + " ns");
+        assertTrue(secondRetry >= MAX_BACKOFF.toNanos(), "second retry after " + secondRetry + " ns");
+        assertEquals(2.0, meterRegistry.get("banking.outbox.publish.failures").counter().count());
+        assertEquals(3.0, meterRegistry.get("banking.outbox.published").counter().count());
+    }
+
+    private void awaitEmptyOutbox() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outboxRepository.countPending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, outboxRepository.countPending());
+    }
+
+    private record Call(long at, List<String> accountIds, List<Long> eventIds, long pending) {
+    }
+
+    /**
+     * Rejects the first batches it is handed, then accepts
+     */
+    private final class FlakySink implements AccountEventSink {
+
+        final List<Call> calls = new ArrayList<>();
+        final CountDownLatch accepted = new CountDownLatch(1);
+        private int failures;
+
+        FlakySink(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void publish(List<AccountOutboxEvent> events) throws IOException {
+            calls.add(new Call(System.nanoTime(), events.stream().map(AccountOutboxEvent::getAccountId).toList(),
+                events.stream().map(AccountOutboxEvent::getEventId).toList(), outboxRepository.countPending()));
+            if (failures > 0) {
+                failures--;
+                throw new IOException("sink unavailable");
+            }
+            accepted.countDown();
+        }
+    }
+}
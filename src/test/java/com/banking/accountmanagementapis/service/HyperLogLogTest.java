@@ -0,0 +1,157 @@
+package com.banking.accountmanagementapis.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static final int PRECISION = 14;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000})
+    void estimateIsWithinThreeStandardErrors(int distinct) {
+        HyperLogLog sketch = sketchOf("CUST", 0, distinct);
+
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertTrue(error <= 3 * HyperLogLog.relativeStandardError(PRECISION),
+            distinct + " distinct values estimated as " + sketch.estimate());
+    }
+
+    @Test
+    void errorAcrossSketchesMatchesStandardError() {
+        int sketches = 20;
+        int distinct = 50_000;
+        double squaredErrors = 0;
+        double errors = 0;
+        for (int i = 0; i < sketches; i++) {
+            double error = (sketchOf("RUN" + i + "-", 0, distinct).estimate() - distinct) / (double) distinct;
+            errors += error;
+            squaredErrors += error * error;
+        }
+        double standardError = HyperLogLog.relativeStandardError(PRECISION);
+        assertTrue(Math.sqrt(squaredErrors / sketches) <= 1.5 * standardError);
+        // No bias: the mean of 20 errors has a standard error of sigma / sqrt(20)
+        assertTrue(Math.abs(errors / sketches) <= 3 * standardError / Math.sqrt(sketches));
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog(PRECISION).estimate());
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheSketch() {
+        HyperLogLog sketch = sketchOf("CUST", 0, 1_000);
+        byte[] before = sketch.toBytes();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(sketch.add("CUST" + i));
+        }
+        assertArrayEquals(before, sketch.toBytes());
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnion() {
+        HyperLogLog left = sketchOf("CUST", 0, 60_000);
+        HyperLogLog right = sketchOf("CUST", 40_000, 100_000);
+
+        assertTrue(left.merge(right));
+
+        HyperLogLog union = sketchOf("CUST", 0, 100_000);
+        assertArrayEquals(union.toBytes(), left.toBytes());
+        assertEquals(union.estimate(), left.estimate());
+    }
+
+    @Test
+    void mergeIsCommutativeAndIdempotent() {
+        HyperLogLog a = sketchOf("A", 0, 5_000);
+        HyperLogLog b = sketchOf("B", 0, 7_000);
+        HyperLogLog ab = HyperLogLog.fromBytes(PRECISION, a.toBytes());
+        HyperLogLog ba = HyperLogLog.fromBytes(PRECISION, b.toBytes());
+
+        ab.merge(b);
+        ba.merge(a);
+
+        assertArrayEquals(ab.toBytes(), ba.toBytes());
+        assertFalse(ab.merge(b));
+        assertFalse(ab.merge(ab));
+    }
+
+    @Test
+    void mergeRejectsOtherPrecision() {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new HyperLogLog(PRECISION - 1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 1_000, 200_000})
+    void bytesRoundTrip(int distinct) {
+        HyperLogLog sketch = sketchOf("CUST", 0, distinct);
+
+        HyperLogLog copy = HyperLogLog.fromBytes(PRECISION, sketch.toBytes());
+
+        assertEquals(PRECISION, copy.precision());
+        assertEquals(sketch.estimate(), copy.estimate());
+        assertArrayEquals(sketch.toBytes(), copy.toBytes());
+        // The copy keeps counting where the original left off
+        assertEquals(sketch.add("CUST" + distinct), copy.add("CUST" + distinct));
+        assertEquals(sketch.estimate(), copy.estimate());
+    }
+
+    @Test
+    void fromBytesRejectsOtherPrecision() {
+        byte[] bytes = sketchOf("CUST", 0, 1_000).toBytes();
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(PRECISION + 1, bytes));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(PRECISION - 1, bytes));
+    }
+
+    @Test
+    void fromBytesRejectsCorruptBytes() {
+        byte[] bytes = sketchOf("CUST", 0, 1_000).toBytes();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> HyperLogLog.fromBytes(PRECISION, Arrays.copyOf(bytes, bytes.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(PRECISION, new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void fromBytesRejectsImpossibleRegisters() {
+        // No 64-bit hash has a run of zeros past the sentinel bit
+        byte[] registers = new byte[1 << PRECISION];
+        registers[7] = 64 - PRECISION + 2;
+        Deflater deflater = new Deflater();
+        deflater.setInput(registers);
+        deflater.finish();
+        byte[] buffer = new byte[registers.length];
+        byte[] bytes = Arrays.copyOf(buffer, deflater.deflate(buffer));
+        deflater.end();
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(PRECISION, bytes));
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MIN_PRECISION - 1));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+    }
+
+    private static HyperLogLog sketchOf(String prefix, int from, int to) {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (int i = from; i < to; i++) {
+            sketch.add(prefix + i);
+        }
+        return sketch;
+    }
+}